@@ -0,0 +1,124 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.ProductManagementApplication;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks the product use cases end to end through the Spring context: transactions, repository adapter,
+ * cache and the in-memory H2 database. Besides the time per call, each benchmark reports the number of JDBC
+ * statements it prepared per call (the "statements" counter divided by the "calls" counter).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private Statistics statistics;
+    private String existingSku;
+
+    /**
+     * Per-thread counters reported next to the timing results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounter {
+
+        public long calls;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            calls = 0;
+            statements = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductManagementApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "product.cache.enabled=" + cacheEnabled)
+                .run();
+        productService = context.getBean(ProductService.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Product product = productService.createProduct("Seed Product " + i, 1000, null, 5);
+            if (i == CATALOG_SIZE / 2) {
+                existingSku = product.getSku();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product createProduct(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        Product product = productService.createProduct("Benchmark Product " + sequence.incrementAndGet(), 1000, null, 5);
+        count(counter, before);
+        return product;
+    }
+
+    @Benchmark
+    public Product getProductBySku(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        Product product = productService.getProductBySku(existingSku);
+        count(counter, before);
+        return product;
+    }
+
+    @Benchmark
+    public Product updateProduct(StatementCounter counter) {
+        long before = statistics.getPrepareStatementCount();
+        Product product = productService.updateProduct(existingSku, "Updated Product " + sequence.incrementAndGet(), 1200, null);
+        count(counter, before);
+        return product;
+    }
+
+    private void count(StatementCounter counter, long statementsBefore) {
+        counter.calls++;
+        counter.statements += statistics.getPrepareStatementCount() - statementsBefore;
+    }
+}
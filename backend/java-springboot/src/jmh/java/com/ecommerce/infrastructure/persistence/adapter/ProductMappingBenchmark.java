@@ -0,0 +1,67 @@
+package com.ecommerce.infrastructure.persistence.adapter;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.infrastructure.persistence.entity.ProductEntity;
+import com.ecommerce.infrastructure.rest.dto.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-row object mappings between the persistence, domain and REST models.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductMappingBenchmark {
+
+    private ProductRepositoryAdapter adapter;
+    private Product product;
+    private ProductEntity entity;
+
+    @Setup
+    public void setUp() {
+        // The mappings do not touch the JPA repository or the entity manager
+        adapter = new ProductRepositoryAdapter(null, null, null, null);
+        product = Product.builder()
+                .sku("BEN-0123456789")
+                .name("Benchmark Product")
+                .price(1999)
+                .stock(42)
+                .enabled(true)
+                .build();
+        entity = adapter.mapToEntity(product);
+    }
+
+    @Benchmark
+    public ProductEntity mapToEntity() {
+        return adapter.mapToEntity(product);
+    }
+
+    @Benchmark
+    public Product mapToDomain() {
+        return adapter.mapToDomain(entity);
+    }
+
+    @Benchmark
+    public ProductResponse responseFromDomain() {
+        return ProductResponse.fromDomain(product);
+    }
+
+    @Benchmark
+    public ProductResponse entityToResponse() {
+        return ProductResponse.fromDomain(adapter.mapToDomain(entity));
+    }
+}
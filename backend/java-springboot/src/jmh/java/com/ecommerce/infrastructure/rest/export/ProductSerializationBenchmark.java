@@ -0,0 +1,82 @@
+package com.ecommerce.infrastructure.rest.export;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.infrastructure.rest.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks serialisation of large product lists: the JSON array built for a full listing versus the
+ * streaming NDJSON and CSV export writers. Output is discarded so only serialisation is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProductSerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(Product.builder()
+                    .sku(String.format("BEN-%08d", i))
+                    .name("Benchmark Product " + i)
+                    .price(100 + i % 1000 * 10)
+                    .stock(i % 100)
+                    .enabled(i % 2 == 0)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void jsonArray() throws IOException {
+        List<ProductResponse> responses = products.stream()
+                .map(ProductResponse::fromDomain)
+                .collect(Collectors.toList());
+        objectMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    public void ndjsonExport() throws IOException {
+        export(ProductExportFormat.NDJSON);
+    }
+
+    @Benchmark
+    public void csvExport() throws IOException {
+        export(ProductExportFormat.CSV);
+    }
+
+    private void export(ProductExportFormat format) throws IOException {
+        ProductExportWriter writer = format.createWriter(OutputStream.nullOutputStream(), objectMapper);
+        products.forEach(writer);
+        writer.finish();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductSearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks typeahead queries against an index of one million synthetic product names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProductSearchIndexBenchmark {
+
+    private static final String[] ADJECTIVES = {"Classic", "Deluxe", "Compact", "Wireless", "Organic", "Vintage",
+            "Portable", "Premium", "Smart", "Crème", "Ergonomic", "Rustic", "Heavy-Duty", "Mini", "Ultra"};
+    private static final String[] MATERIALS = {"Steel", "Oak", "Cotton", "Leather", "Bamboo", "Ceramic", "Glass",
+            "Copper", "Wool", "Carbon", "Marble", "Silicone"};
+    private static final String[] NOUNS = {"Chair", "Lamp", "Kettle", "Backpack", "Headphones", "Table", "Torch",
+            "Mug", "Blender", "Jacket", "Speaker", "Notebook", "Watch", "Pillow", "Skillet", "Drill"};
+
+    @Param("1000000")
+    private int products;
+
+    @Param({"l", "lam", "oak la", "wireless copper spe", "premium marble chair 12"})
+    private String query;
+
+    private InMemoryProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new InMemoryProductSearchIndex();
+        index.rebuild(IntStream.range(0, products).mapToObj(i -> {
+            Product product = Product.builder()
+                    .sku("BEN-" + i)
+                    .name(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                            + MATERIALS[random.nextInt(MATERIALS.length)] + " "
+                            + NOUNS[random.nextInt(NOUNS.length)] + " " + random.nextInt(1_000))
+                    .price(100)
+                    .stock(1)
+                    .enabled(random.nextInt(10) > 0)
+                    .build();
+            product.setChangeSequence(i + 1);
+            return product;
+        }));
+    }
+
+    @Benchmark
+    public List<ProductSearchHit> suggest() {
+        return index.search(query, true, 10);
+    }
+}
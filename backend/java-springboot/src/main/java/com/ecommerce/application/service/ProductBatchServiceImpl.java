@@ -0,0 +1,274 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBatchOutcome;
+import com.ecommerce.domain.model.ProductBatchProgress;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductRepricingProgress;
+import com.ecommerce.domain.port.ProductBatchService;
+import com.ecommerce.domain.port.ProductEventPublisher;
+import com.ecommerce.domain.port.ProductRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ProductBatchService interface.
+ * Every chunk runs in its own transaction: it reads the next SKUs matching the filter, changes them with one
+ * set-based statement and publishes their changes once committed.
+ */
+@Service
+@Timed("product.service")
+public class ProductBatchServiceImpl implements ProductBatchService {
+
+    static final int MAX_FILTER_SKUS = 10_000;
+    // -100% would make every price zero; with prices of at most Product.MAX_PRICE, +1000% keeps price * factor
+    // within a BIGINT, and amounts of at most Product.MAX_PRICE keep price + amount within it too
+    static final long MIN_PERCENTAGE = -10_000;
+    static final long MAX_PERCENTAGE = 100_000;
+
+    private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductBatchServiceImpl(ProductRepository productRepository, ProductEventPublisher productEventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${product.batch.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+        this.productRepository = productRepository;
+        this.productEventPublisher = productEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ProductRepricingProgress repriceProducts(PriceRule rule, ProductFilter filter, String afterSku,
+                                                    Consumer<ProductRepricingProgress> progressListener) {
+        validateRule(rule);
+        ProductFilter criteria = validateFilter(filter);
+        if (rule.isAmount() && criteria.getCurrency() == null) {
+            throw new IllegalArgumentException("A " + rule.getType() + " rule needs a currency filter, "
+                    + "since its amount is in minor units of that currency");
+        }
+
+        long matched = 0;
+        long repriced = 0;
+        String lastSku = afterSku;
+        while (true) {
+            String position = lastSku;
+            Chunk chunk = transactionTemplate.execute(status -> {
+                List<String> skus = productRepository.findSkus(criteria, position, chunkSize);
+                List<Product> products = productRepository.reprice(skus, rule);
+                if (!products.isEmpty()) {
+                    productEventPublisher.publish(products.stream()
+                            .map(ProductChange::upsert)
+                            .collect(Collectors.toList()));
+                }
+                return new Chunk(skus, products.size());
+            });
+
+            matched += chunk.skus().size();
+            repriced += chunk.repriced();
+            if (!chunk.skus().isEmpty()) {
+                lastSku = chunk.skus().get(chunk.skus().size() - 1);
+            }
+            // A short chunk is the last one, which saves a final query returning nothing
+            boolean complete = chunk.skus().size() < chunkSize;
+            ProductRepricingProgress progress = new ProductRepricingProgress(matched, repriced, matched - repriced,
+                    lastSku, complete);
+            progressListener.accept(progress);
+            if (complete) {
+                return progress;
+            }
+        }
+    }
+
+    @Override
+    public ProductBatchProgress enableProducts(ProductFilter filter, String afterSku,
+                                               Consumer<ProductBatchProgress> progressListener) {
+        return applyToProducts(filter, afterSku, progressListener, ProductBatchOutcome.Status.UNCHANGED,
+                skus -> publishUpserts(productRepository.updateEnabled(skus, true)));
+    }
+
+    @Override
+    public ProductBatchProgress disableProducts(ProductFilter filter, String afterSku,
+                                                Consumer<ProductBatchProgress> progressListener) {
+        return applyToProducts(filter, afterSku, progressListener, ProductBatchOutcome.Status.UNCHANGED,
+                skus -> publishUpserts(productRepository.updateEnabled(skus, false)));
+    }
+
+    @Override
+    public ProductBatchProgress deleteProducts(ProductFilter filter, String afterSku,
+                                               Consumer<ProductBatchProgress> progressListener) {
+        return applyToProducts(filter, afterSku, progressListener, ProductBatchOutcome.Status.REJECTED, skus -> {
+            List<ProductChange> tombstones = productRepository.deleteAllDeletable(skus);
+            if (!tombstones.isEmpty()) {
+                productEventPublisher.publish(tombstones);
+            }
+            return tombstones.stream().map(ProductChange::getSku).collect(Collectors.toSet());
+        });
+    }
+
+    /**
+     * Publishes the changes of products that were just written.
+     * @param products the written products
+     * @return the SKUs of the products
+     */
+    private Set<String> publishUpserts(List<Product> products) {
+        if (!products.isEmpty()) {
+            productEventPublisher.publish(products.stream()
+                    .map(ProductChange::upsert)
+                    .collect(Collectors.toList()));
+        }
+        return products.stream().map(Product::getSku).collect(Collectors.toSet());
+    }
+
+    /**
+     * Applies a set-based operation to the products matching a filter, chunk by chunk.
+     * @param filter the criteria the products must match
+     * @param afterSku the SKU to resume after, or null to start from the beginning
+     * @param progressListener receives the progress after every chunk
+     * @param notChanged the status of the matching products the operation left as they were
+     * @param operation changes the products of a chunk and returns the SKUs it changed
+     * @return the final progress
+     */
+    private ProductBatchProgress applyToProducts(ProductFilter filter, String afterSku,
+                                                 Consumer<ProductBatchProgress> progressListener,
+                                                 ProductBatchOutcome.Status notChanged,
+                                                 Function<List<String>, Set<String>> operation) {
+        ProductFilter criteria = validateFilter(filter);
+        // Listed SKUs that the chunks skip over do not match any product
+        NavigableSet<String> listed = criteria.getSkus() != null ? new TreeSet<>(criteria.getSkus()) : new TreeSet<>();
+
+        ProductBatchProgress progress = new ProductBatchProgress(0, 0, 0, 0, afterSku, false, List.of());
+        while (!progress.isComplete()) {
+            String position = progress.getLastSku();
+            ChunkChanges chunk = transactionTemplate.execute(status -> {
+                List<String> skus = productRepository.findSkus(criteria, position, chunkSize);
+                return new ChunkChanges(skus, operation.apply(skus));
+            });
+            List<String> skus = chunk.skus();
+
+            boolean complete = skus.size() < chunkSize;
+            List<ProductBatchOutcome> outcomes = new ArrayList<>(skus.size());
+            for (String sku : skus) {
+                outcomes.add(new ProductBatchOutcome(sku,
+                        chunk.changed().contains(sku) ? ProductBatchOutcome.Status.CHANGED : notChanged));
+            }
+            Set<String> found = new HashSet<>(skus);
+            NavigableSet<String> passed = position == null ? listed : listed.tailSet(position, false);
+            if (!complete) {
+                passed = passed.headSet(skus.get(skus.size() - 1), true);
+            }
+            for (String sku : passed) {
+                if (!found.contains(sku)) {
+                    outcomes.add(new ProductBatchOutcome(sku, ProductBatchOutcome.Status.NOT_FOUND));
+                }
+            }
+            outcomes.sort(Comparator.comparing(ProductBatchOutcome::getSku));
+
+            long changed = chunk.changed().size();
+            long unchanged = notChanged == ProductBatchOutcome.Status.UNCHANGED ? skus.size() - changed : 0;
+            long rejected = notChanged == ProductBatchOutcome.Status.REJECTED ? skus.size() - changed : 0;
+            progress = new ProductBatchProgress(
+                    progress.getChanged() + changed,
+                    progress.getUnchanged() + unchanged,
+                    progress.getRejected() + rejected,
+                    progress.getNotFound() + outcomes.size() - skus.size(),
+                    outcomes.isEmpty() ? position : outcomes.get(outcomes.size() - 1).getSku(),
+                    complete,
+                    outcomes);
+            progressListener.accept(progress);
+        }
+        return progress;
+    }
+
+    /**
+     * Validates that a price rule can be applied and changes prices.
+     * @param rule the rule to validate
+     */
+    private void validateRule(PriceRule rule) {
+        if (rule == null || rule.getType() == null) {
+            throw new IllegalArgumentException("Price rule type is required");
+        }
+        switch (rule.getType()) {
+            case PERCENTAGE -> {
+                if (rule.getValue() <= MIN_PERCENTAGE || rule.getValue() > MAX_PERCENTAGE || rule.getValue() == 0) {
+                    throw new IllegalArgumentException("Percentage must be non-zero, greater than -100% and at most 1000%");
+                }
+            }
+            case ABSOLUTE -> {
+                if (rule.getValue() == 0) {
+                    throw new IllegalArgumentException("Amount cannot be zero");
+                }
+                if (rule.getValue() < -Product.MAX_PRICE || rule.getValue() > Product.MAX_PRICE) {
+                    throw new IllegalArgumentException("Amount cannot exceed " + Product.MAX_PRICE + " either way");
+                }
+            }
+            case SET -> {
+                if (rule.getValue() <= 0) {
+                    throw new IllegalArgumentException("Product price must be greater than zero");
+                }
+                if (rule.getValue() > Product.MAX_PRICE) {
+                    throw new IllegalArgumentException("Product price cannot exceed " + Product.MAX_PRICE);
+                }
+            }
+        }
+    }
+
+    /**
+     * Validates a filter and normalizes its currency.
+     * @param filter the filter to validate, or null to match every product
+     * @return the filter to apply
+     */
+    private ProductFilter validateFilter(ProductFilter filter) {
+        ProductFilter criteria = filter != null ? filter : ProductFilter.none();
+        criteria.validate();
+        if (criteria.getSkus() != null) {
+            if (criteria.getSkus().isEmpty()) {
+                throw new IllegalArgumentException("SKU list cannot be empty");
+            }
+            if (criteria.getSkus().size() > MAX_FILTER_SKUS) {
+                throw new IllegalArgumentException("A SKU list cannot contain more than " + MAX_FILTER_SKUS + " SKUs");
+            }
+        }
+        if (criteria.getCurrency() != null) {
+            criteria.setCurrency(Product.currencyCode(criteria.getCurrency()));
+        }
+        return criteria;
+    }
+
+    /**
+     * Outcome of one committed chunk.
+     * @param skus the SKUs matched by the chunk, in ascending order
+     * @param repriced the number of products the chunk changed
+     */
+    private record Chunk(List<String> skus, int repriced) {
+    }
+
+    /**
+     * Outcome of one committed chunk of a batch enable, disable or delete.
+     * @param skus the SKUs matched by the chunk, in ascending order
+     * @param changed the SKUs the chunk changed
+     */
+    private record ChunkChanges(List<String> skus, Set<String> changed) {
+    }
+}
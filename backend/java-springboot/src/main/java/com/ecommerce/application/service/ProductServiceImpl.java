@@ -1,43 +1,74 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.domain.exception.ProductVersionConflictException;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBulkItem;
+import com.ecommerce.domain.model.ProductBulkResult;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductChangePage;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductPage;
+import com.ecommerce.domain.model.ProductSearchHit;
+import com.ecommerce.domain.port.ProductEventPublisher;
 import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.domain.port.ProductSearchIndex;
 import com.ecommerce.domain.port.ProductService;
+import com.ecommerce.domain.port.SkuGenerator;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the ProductService interface.
  * This class implements the use cases defined in the ProductService interface.
  */
 @Service
+@Timed("product.service")
 public class ProductServiceImpl implements ProductService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_ITEMS = 10_000;
+    static final int BULK_CHUNK_SIZE = 500;
+    static final int DEFAULT_CHANGE_LIMIT = 500;
+    static final int MAX_CHANGE_LIMIT = 5_000;
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+
     private final ProductRepository productRepository;
+    private final ProductEventPublisher productEventPublisher;
+    private final ProductSearchIndex productSearchIndex;
+    private final SkuGenerator skuGenerator;
+    private final TransactionTemplate transactionTemplate;
 
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductEventPublisher productEventPublisher,
+                              ProductSearchIndex productSearchIndex, SkuGenerator skuGenerator,
+                              PlatformTransactionManager transactionManager) {
         this.productRepository = productRepository;
-    }
-
-    /**
-     * Generates a unique SKU for a product.
-     * The SKU is generated by taking the first 3 characters of the product name (uppercase)
-     * and appending a random UUID.
-     * @param name the name of the product
-     * @return the generated SKU
-     */
-    private String generateSku(String name) {
-        String prefix = name.substring(0, Math.min(3, name.length())).toUpperCase();
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-        return prefix + "-" + uuid;
+        this.productEventPublisher = productEventPublisher;
+        this.productSearchIndex = productSearchIndex;
+        this.skuGenerator = skuGenerator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     @Transactional
-    public Product createProduct(String name, double price, int initialStock) {
+    public Product createProduct(String name, long price, String currency, int initialStock) {
         // Validate input
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Product name cannot be empty");
@@ -45,30 +76,49 @@ public class ProductServiceImpl implements ProductService {
         if (price <= 0) {
             throw new IllegalArgumentException("Product price must be greater than zero");
         }
+        if (price > Product.MAX_PRICE) {
+            throw new IllegalArgumentException("Product price cannot exceed " + Product.MAX_PRICE);
+        }
         if (initialStock < 0) {
             throw new IllegalArgumentException("Initial stock cannot be negative");
         }
+        String currencyCode = currency != null ? Product.currencyCode(currency) : Product.DEFAULT_CURRENCY;
 
-        // Check if product with same name already exists
-        if (productRepository.existsByName(name)) {
-            throw new IllegalArgumentException("A product with name '" + name + "' already exists");
-        }
-
-        // Create and save the product
+        // Create and insert the product; the repository rejects a name that is already taken
         Product product = Product.builder()
-                .sku(generateSku(name))
+                .sku(skuGenerator.generate(name))
                 .name(name)
                 .price(price)
+                .currency(currencyCode)
                 .stock(initialStock)
                 .enabled(true)
                 .build();
 
-        return productRepository.save(product);
+        return publishChange(productRepository.insert(product));
     }
 
     @Override
     @Transactional
-    public Product updateProduct(String sku, String name, double price) {
+    public Product updateProduct(String sku, String name, long price, String currency) {
+        return applyUpdate(sku, name, price, currency, null);
+    }
+
+    @Override
+    @Transactional
+    public Product updateProduct(String sku, String name, long price, String currency, long expectedVersion) {
+        return applyUpdate(sku, name, price, currency, expectedVersion);
+    }
+
+    /**
+     * Updates a product, optionally checking that it still has the version the caller read.
+     * @param sku the SKU of the product to update
+     * @param name the new name of the product
+     * @param price the new price of the product, in minor units of the currency
+     * @param currency the currency of the new price, or null to keep the current currency
+     * @param expectedVersion the version the change is based on, or null to update unconditionally
+     * @return the updated product
+     */
+    private Product applyUpdate(String sku, String name, long price, String currency, Long expectedVersion) {
         // Validate input
         if (sku == null || sku.trim().isEmpty()) {
             throw new IllegalArgumentException("SKU cannot be empty");
@@ -79,21 +129,166 @@ public class ProductServiceImpl implements ProductService {
         if (price <= 0) {
             throw new IllegalArgumentException("Product price must be greater than zero");
         }
+        if (price > Product.MAX_PRICE) {
+            throw new IllegalArgumentException("Product price cannot exceed " + Product.MAX_PRICE);
+        }
+        String currencyCode = currency != null ? Product.currencyCode(currency) : null;
 
         // Find the product
         Product product = productRepository.findBySku(sku)
                 .orElseThrow(() -> new IllegalArgumentException("Product with SKU '" + sku + "' not found"));
-
-        // Check if the new name is already taken by another product
-        if (!product.getName().equals(name) && productRepository.existsByName(name)) {
-            throw new IllegalArgumentException("A product with name '" + name + "' already exists");
+        // The version only counts catalog changes: reservations since the caller's read do not fail the update
+        if (expectedVersion != null && product.getVersion() != expectedVersion) {
+            throw new ProductVersionConflictException(sku);
         }
 
-        // Update the product
+        // Update the product; the repository rejects a new name that is already taken by another product
         product.setName(name);
         product.setPrice(price);
+        if (currencyCode != null) {
+            product.setCurrency(currencyCode);
+        }
+
+        return publishChange(productRepository.save(product));
+    }
+
+    /**
+     * Each chunk is committed on its own: catalog writes hold the change counter lock until they commit,
+     * so one transaction over the whole request would block every other catalog write for the entire import.
+     */
+    @Override
+    public List<ProductBulkResult> bulkUpsertProducts(List<ProductBulkItem> items) {
+        if (items.size() > MAX_BULK_ITEMS) {
+            throw new IllegalArgumentException("A bulk request cannot contain more than " + MAX_BULK_ITEMS + " products");
+        }
+
+        ProductBulkResult[] results = new ProductBulkResult[items.size()];
+        for (int from = 0; from < items.size(); from += BULK_CHUNK_SIZE) {
+            int chunkStart = from;
+            transactionTemplate.executeWithoutResult(status -> processBulkChunk(
+                    items, chunkStart, Math.min(chunkStart + BULK_CHUNK_SIZE, items.size()), results));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Processes a chunk of bulk entries with a constant number of queries:
+     * one to load the products being updated, one to check name uniqueness and one batched write.
+     * @param items all the bulk entries
+     * @param from the index of the first entry of the chunk (inclusive)
+     * @param to the index of the last entry of the chunk (exclusive)
+     * @param results the array receiving the outcome of each entry
+     */
+    private void processBulkChunk(List<ProductBulkItem> items, int from, int to, ProductBulkResult[] results) {
+        // Validate the entries in one pass, collecting the SKUs and names the chunk refers to
+        Set<String> skus = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        Set<String> normalizedNames = new HashSet<>();
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            ProductBulkItem item = items.get(i);
+            String error = validateBulkItem(item);
+            if (error == null && !normalizedNames.add(Product.normalizeName(item.getName()))) {
+                error = "Name '" + item.getName() + "' appears more than once in the request";
+            }
+            if (error == null && item.getSku() != null && !skus.add(item.getSku())) {
+                error = "SKU '" + item.getSku() + "' appears more than once in the request";
+            }
+            if (error != null) {
+                results[i] = ProductBulkResult.failed(i, item.getSku(), error);
+            } else {
+                names.add(item.getName());
+                validIndexes.add(i);
+            }
+        }
+        if (validIndexes.isEmpty()) {
+            return;
+        }
+
+        Map<String, Product> existingProducts = skus.isEmpty() ? Map.of() : productRepository.findAllBySkus(skus).stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+        Set<String> takenNames = productRepository.findExistingNames(names);
 
-        return productRepository.save(product);
+        List<Product> newProducts = new ArrayList<>();
+        List<Product> changedProducts = new ArrayList<>();
+        for (int i : validIndexes) {
+            ProductBulkItem item = items.get(i);
+            if (item.getSku() == null) {
+                if (takenNames.contains(item.getName())) {
+                    results[i] = ProductBulkResult.failed(i, null, "A product with name '" + item.getName() + "' already exists");
+                    continue;
+                }
+                Product product = Product.builder()
+                        .sku(skuGenerator.generate(item.getName()))
+                        .name(item.getName())
+                        .price(item.getPrice())
+                        .currency(item.getCurrency() != null ? Product.currencyCode(item.getCurrency()) : Product.DEFAULT_CURRENCY)
+                        .stock(item.getInitialStock())
+                        .enabled(true)
+                        .build();
+                newProducts.add(product);
+                results[i] = ProductBulkResult.created(i, product.getSku());
+            } else {
+                Product product = existingProducts.get(item.getSku());
+                if (product == null) {
+                    results[i] = ProductBulkResult.failed(i, item.getSku(), "Product with SKU '" + item.getSku() + "' not found");
+                    continue;
+                }
+                // Renaming a product to another spelling of its own name is not a conflict
+                boolean renamed = !Product.normalizeName(product.getName()).equals(Product.normalizeName(item.getName()));
+                if (renamed && takenNames.contains(item.getName())) {
+                    results[i] = ProductBulkResult.failed(i, item.getSku(), "A product with name '" + item.getName() + "' already exists");
+                    continue;
+                }
+                product.setName(item.getName());
+                product.setPrice(item.getPrice());
+                if (item.getCurrency() != null) {
+                    product.setCurrency(Product.currencyCode(item.getCurrency()));
+                }
+                changedProducts.add(product);
+                results[i] = ProductBulkResult.updated(i, item.getSku());
+            }
+        }
+
+        productRepository.saveBatch(newProducts, changedProducts);
+
+        List<ProductChange> changes = Stream.concat(changedProducts.stream(), newProducts.stream())
+                .map(ProductChange::upsert)
+                .collect(Collectors.toList());
+        if (!changes.isEmpty()) {
+            productEventPublisher.publish(changes);
+        }
+    }
+
+    /**
+     * Validates a bulk entry with the same rules as createProduct and updateProduct.
+     * @param item the entry to validate
+     * @return the validation error, or null if the entry is valid
+     */
+    private String validateBulkItem(ProductBulkItem item) {
+        if (item.getSku() != null && item.getSku().trim().isEmpty()) {
+            return "SKU cannot be empty";
+        }
+        if (item.getName() == null || item.getName().trim().isEmpty()) {
+            return "Product name cannot be empty";
+        }
+        if (item.getPrice() <= 0) {
+            return "Product price must be greater than zero";
+        }
+        if (item.getPrice() > Product.MAX_PRICE) {
+            return "Product price cannot exceed " + Product.MAX_PRICE;
+        }
+        if (item.getInitialStock() < 0) {
+            return "Initial stock cannot be negative";
+        }
+        if (item.getCurrency() != null) {
+            try {
+                Product.currencyCode(item.getCurrency());
+            } catch (IllegalArgumentException e) {
+                return e.getMessage();
+            }
+        }
+        return null;
     }
 
     @Override
@@ -106,7 +301,7 @@ public class ProductServiceImpl implements ProductService {
         // Enable the product
         product.enable();
 
-        return productRepository.save(product);
+        return publishChange(productRepository.save(product));
     }
 
     @Override
@@ -119,7 +314,7 @@ public class ProductServiceImpl implements ProductService {
         // Disable the product
         product.disable();
 
-        return productRepository.save(product);
+        return publishChange(productRepository.save(product));
     }
 
     @Override
@@ -136,6 +331,86 @@ public class ProductServiceImpl implements ProductService {
 
         // Delete the product
         productRepository.delete(product);
+        productEventPublisher.publish(List.of(ProductChange.tombstone(sku, product.getChangeSequence())));
+    }
+
+    /**
+     * Publishes the change of a product that was just written.
+     * @param product the written product
+     * @return the same product
+     */
+    private Product publishChange(Product product) {
+        productEventPublisher.publish(List.of(ProductChange.upsert(product)));
+        return product;
+    }
+
+    @Override
+    @Transactional
+    public Product reserveStock(String sku, int quantity) {
+        validateStockQuantity(quantity);
+        if (!productRepository.reserveStock(sku, quantity)) {
+            throw stockAdjustmentFailure(sku, product -> "Insufficient available stock for product with SKU '" + sku
+                    + "': requested " + quantity + ", available " + product.getAvailableStock());
+        }
+        return getProductBySku(sku);
+    }
+
+    @Override
+    @Transactional
+    public Product releaseStock(String sku, int quantity) {
+        validateStockQuantity(quantity);
+        if (!productRepository.releaseStock(sku, quantity)) {
+            throw stockAdjustmentFailure(sku, product -> "Insufficient reserved stock for product with SKU '" + sku
+                    + "': requested " + quantity + ", reserved " + product.getReserved());
+        }
+        return getProductBySku(sku);
+    }
+
+    @Override
+    @Transactional
+    public Product decrementStock(String sku, int quantity, boolean fromReservation) {
+        validateStockQuantity(quantity);
+        if (!productRepository.decrementStock(sku, quantity, fromReservation)) {
+            throw stockAdjustmentFailure(sku, product -> fromReservation
+                    ? "Insufficient reserved stock for product with SKU '" + sku
+                            + "': requested " + quantity + ", reserved " + product.getReserved()
+                    : "Insufficient available stock for product with SKU '" + sku
+                            + "': requested " + quantity + ", available " + product.getAvailableStock());
+        }
+        return getProductBySku(sku);
+    }
+
+    @Override
+    @Transactional
+    public Product incrementStock(String sku, int quantity) {
+        validateStockQuantity(quantity);
+        if (!productRepository.incrementStock(sku, quantity)) {
+            throw stockAdjustmentFailure(sku, product -> "Stock of product with SKU '" + sku + "' could not be increased");
+        }
+        return getProductBySku(sku);
+    }
+
+    /**
+     * Validates the quantity of a stock adjustment.
+     * @param quantity the quantity to validate
+     */
+    private void validateStockQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be greater than zero");
+        }
+    }
+
+    /**
+     * Builds the error for a conditional stock update that matched no row.
+     * The product is only read on this failure path, so successful adjustments never read it before updating.
+     * @param sku the SKU of the product
+     * @param message builds the error message from the current state of the product
+     * @return the exception to throw
+     */
+    private IllegalArgumentException stockAdjustmentFailure(String sku, Function<Product, String> message) {
+        Product product = productRepository.findBySku(sku)
+                .orElseThrow(() -> new IllegalArgumentException("Product with SKU '" + sku + "' not found"));
+        return new IllegalArgumentException(message.apply(product));
     }
 
     @Override
@@ -147,7 +422,106 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public ProductPage getProducts(ProductFilter filter, String pageToken, Integer pageSize) {
+        ProductFilter criteria = filter != null ? filter : ProductFilter.none();
+        criteria.validate();
+
+        int size = pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        // Fetch one extra row to find out whether there is a next page without a count query
+        List<Product> products = productRepository.findPage(criteria, decodePageToken(pageToken), size + 1);
+        if (products.size() <= size) {
+            return new ProductPage(products, null);
+        }
+
+        List<Product> items = products.subList(0, size);
+        return new ProductPage(items, encodePageToken(items.get(size - 1).getSku()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportProducts(Consumer<Product> consumer) {
+        try (Stream<Product> products = productRepository.streamAll()) {
+            products.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductChangePage getChanges(long since, Integer limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Watermark cannot be negative");
+        }
+        int size = limit != null ? limit : DEFAULT_CHANGE_LIMIT;
+        if (size < 1 || size > MAX_CHANGE_LIMIT) {
+            throw new IllegalArgumentException("Change limit must be between 1 and " + MAX_CHANGE_LIMIT);
+        }
+
+        // Fetch one extra change to find out whether the consumer should poll again right away
+        List<ProductChange> changes = productRepository.findChangesSince(since, size + 1);
+        boolean hasMore = changes.size() > size;
+        if (hasMore) {
+            changes = changes.subList(0, size);
+        }
+        long watermark = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new ProductChangePage(changes, watermark, hasMore);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> searchProducts(String query, Boolean enabled, Integer limit) {
+        List<ProductSearchHit> hits = suggestProducts(query, enabled, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        // Load the hits with one query and restore the ranking; products deleted since they were indexed are skipped
+        Map<String, Product> products = productRepository.findAllBySkus(hits.stream().map(ProductSearchHit::getSku).toList())
+                .stream()
+                .collect(Collectors.toMap(Product::getSku, Function.identity()));
+        return hits.stream()
+                .map(hit -> products.get(hit.getSku()))
+                .filter(product -> product != null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductSearchHit> suggestProducts(String query, Boolean enabled, Integer limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        int size = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (size < 1 || size > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return productSearchIndex.search(query, enabled, size);
+    }
+
+    /**
+     * Encodes the last SKU of a page into an opaque page token.
+     * @param sku the last SKU of the page
+     * @return the page token
+     */
+    private String encodePageToken(String sku) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sku.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a page token back into the SKU the next page starts after.
+     * @param pageToken the page token, or null for the first page
+     * @return the SKU to start after, or null for the first page
+     */
+    private String decodePageToken(String pageToken) {
+        if (pageToken == null || pageToken.isEmpty()) {
+            return null;
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(pageToken), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page token");
+        }
     }
 }
\ No newline at end of file
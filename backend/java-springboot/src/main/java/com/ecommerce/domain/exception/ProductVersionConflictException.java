@@ -0,0 +1,12 @@
+package com.ecommerce.domain.exception;
+
+/**
+ * Thrown when a product was modified by someone else since the version the caller based its change on.
+ * It extends IllegalArgumentException so callers handling the general contract of the product ports keep working.
+ */
+public class ProductVersionConflictException extends IllegalArgumentException {
+
+    public ProductVersionConflictException(String sku) {
+        super("Product with SKU '" + sku + "' was modified concurrently");
+    }
+}
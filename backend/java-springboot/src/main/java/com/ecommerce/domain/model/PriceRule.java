@@ -0,0 +1,70 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rule computing the new price of a product from its current price, applied by bulk repricing.
+ * All arithmetic is done on integers, in minor units of the product's currency:
+ * <ul>
+ *   <li>PERCENTAGE: the value is in basis points (1050 is +10.5%) and the result is rounded half up,
+ *   i.e. {@code (price * (10000 + value) + 5000) / 10000};</li>
+ *   <li>ABSOLUTE: the value is added to the price (use a negative value for a discount);</li>
+ *   <li>SET: the value replaces the price.</li>
+ * </ul>
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRule {
+
+    /**
+     * How the value of a rule is applied to the price.
+     */
+    public enum Type {
+        PERCENTAGE,
+        ABSOLUTE,
+        SET
+    }
+
+    private Type type;
+    private long value;
+
+    /**
+     * Creates a rule changing prices by a percentage.
+     * @param basisPoints the change in hundredths of a percent
+     * @return the rule
+     */
+    public static PriceRule percentage(long basisPoints) {
+        return new PriceRule(Type.PERCENTAGE, basisPoints);
+    }
+
+    /**
+     * Creates a rule adding a fixed amount to prices.
+     * @param amount the amount to add, in minor units
+     * @return the rule
+     */
+    public static PriceRule absolute(long amount) {
+        return new PriceRule(Type.ABSOLUTE, amount);
+    }
+
+    /**
+     * Creates a rule setting prices to a fixed amount.
+     * @param amount the new price, in minor units
+     * @return the rule
+     */
+    public static PriceRule set(long amount) {
+        return new PriceRule(Type.SET, amount);
+    }
+
+    /**
+     * Checks if the value of the rule is an amount of money, which only makes sense for products of one currency.
+     * @return true for ABSOLUTE and SET rules, false for PERCENTAGE rules
+     */
+    public boolean isAmount() {
+        return this.type != Type.PERCENTAGE;
+    }
+}
@@ -5,20 +5,77 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.text.Normalizer;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 /**
  * Product domain entity representing a product in the e-commerce system.
+ * The price is an exact amount in the minor unit of its currency (cents for USD, yen for JPY),
+ * so it is compared, summed and stored without rounding.
+ * The stock is the quantity on hand, of which the reserved quantity is held for pending orders.
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
     
+    public static final String DEFAULT_CURRENCY = "USD";
+    // 100 billion in a two-decimal currency; bounded so that repricing arithmetic cannot overflow a BIGINT
+    public static final long MAX_PRICE = 10_000_000_000_000L;
+    
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    
     private String sku;
     private String name;
-    private double price;
+    private long price;
+    @Builder.Default
+    private String currency = DEFAULT_CURRENCY;
     private int stock;
+    private int reserved;
     private boolean enabled;
+    private long version;
+    private long changeSequence;
+    
+    /**
+     * Returns the form of a product name under which it must be unique.
+     * The name is NFKC-normalized, trimmed, reduced to single spaces between words and case-folded,
+     * so "Widget", "widget " and "ＷＩＤＧＥＴ" are the same name.
+     * @param name the product name
+     * @return the normalized name, or null if the name is null
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).strip();
+        // Upper-casing first folds characters whose lower case is not their canonical form, such as 'ß' to "ss"
+        return WHITESPACE.matcher(normalized).replaceAll(" ").toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Returns the ISO 4217 code of a currency, checking that it exists.
+     * @param currency the currency code, in any case
+     * @return the upper-case currency code
+     * @throws IllegalArgumentException if the currency is unknown
+     */
+    public static String currencyCode(String currency) {
+        try {
+            return Currency.getInstance(currency.trim().toUpperCase(Locale.ROOT)).getCurrencyCode();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown currency '" + currency + "'");
+        }
+    }
+    
+    /**
+     * Returns the quantity that can still be reserved or sold.
+     * @return the stock on hand minus the reserved quantity
+     */
+    public int getAvailableStock() {
+        return this.stock - this.reserved;
+    }
     
     /**
      * Enables the product if it's currently disabled.
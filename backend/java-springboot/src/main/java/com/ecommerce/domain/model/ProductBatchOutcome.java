@@ -0,0 +1,41 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a batch enable, disable or delete for a single SKU.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchOutcome {
+
+    /**
+     * Status of a SKU in a batch operation.
+     */
+    public enum Status {
+        /**
+         * The product was enabled, disabled or deleted.
+         */
+        CHANGED,
+        /**
+         * The product was already enabled or disabled.
+         */
+        UNCHANGED,
+        /**
+         * The product cannot be deleted because it is enabled or has stock.
+         */
+        REJECTED,
+        /**
+         * The SKU was listed but no matching product exists.
+         */
+        NOT_FOUND
+    }
+
+    private String sku;
+    private Status status;
+}
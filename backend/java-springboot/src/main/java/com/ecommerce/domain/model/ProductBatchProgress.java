@@ -0,0 +1,40 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress of a batch enable, disable or delete, reported after every chunk of SKUs.
+ * Counts are running totals; the outcomes are those of the SKUs of the chunk.
+ * Each chunk is committed on its own, so an interrupted operation can be resumed after the last reported SKU.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchProgress {
+
+    private long changed;
+    private long unchanged;
+    private long rejected;
+    private long notFound;
+
+    /**
+     * Last SKU processed, in SKU order, or null if no SKU was processed yet.
+     */
+    private String lastSku;
+
+    /**
+     * Whether every SKU has been processed.
+     */
+    private boolean complete;
+
+    /**
+     * Outcome of each SKU of the chunk, in SKU order.
+     */
+    private List<ProductBatchOutcome> outcomes;
+}
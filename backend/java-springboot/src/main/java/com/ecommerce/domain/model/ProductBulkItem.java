@@ -0,0 +1,25 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single entry of a bulk create/update request.
+ * Entries without a SKU create a new product; entries with a SKU update the existing product.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkItem {
+
+    private String sku;
+    private String name;
+    // In minor units of the currency
+    private long price;
+    // ISO 4217 code; null keeps the current currency of an updated product, or uses the default for a new one
+    private String currency;
+    private int initialStock;
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single entry of a bulk create/update request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkResult {
+
+    /**
+     * Status of a bulk entry.
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    /**
+     * Position of the entry in the request.
+     */
+    private int index;
+    private String sku;
+    private Status status;
+
+    /**
+     * Reason of the failure, or null if the entry succeeded.
+     */
+    private String error;
+
+    public static ProductBulkResult created(int index, String sku) {
+        return new ProductBulkResult(index, sku, Status.CREATED, null);
+    }
+
+    public static ProductBulkResult updated(int index, String sku) {
+        return new ProductBulkResult(index, sku, Status.UPDATED, null);
+    }
+
+    public static ProductBulkResult failed(int index, String sku, String error) {
+        return new ProductBulkResult(index, sku, Status.FAILED, error);
+    }
+}
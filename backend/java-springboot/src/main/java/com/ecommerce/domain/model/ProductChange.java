@@ -0,0 +1,54 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The latest catalog change of a product: its current state, or a tombstone if it was deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChange {
+
+    /**
+     * Position of the change in the change feed.
+     */
+    private long sequence;
+    private String sku;
+
+    /**
+     * Current state of the product, or null if the product was deleted.
+     */
+    private Product product;
+
+    /**
+     * Creates the change of a product that still exists.
+     * @param product the product
+     * @return the change
+     */
+    public static ProductChange upsert(Product product) {
+        return new ProductChange(product.getChangeSequence(), product.getSku(), product);
+    }
+
+    /**
+     * Creates the tombstone of a deleted product.
+     * @param sku the SKU of the deleted product
+     * @param sequence the change sequence of the deletion
+     * @return the change
+     */
+    public static ProductChange tombstone(String sku, long sequence) {
+        return new ProductChange(sequence, sku, null);
+    }
+
+    /**
+     * Checks if the change is a deletion.
+     * @return true if the product was deleted, false otherwise
+     */
+    public boolean isDeleted() {
+        return this.product == null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed: the products changed since a watermark, one entry per SKU.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangePage {
+
+    private List<ProductChange> changes;
+
+    /**
+     * Watermark to request the following changes with: the sequence of the last change, or the requested
+     * watermark if there were no changes.
+     */
+    private long watermark;
+
+    /**
+     * Whether more changes are already available after the watermark.
+     */
+    private boolean hasMore;
+}
@@ -0,0 +1,52 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collection;
+
+/**
+ * Criteria used to narrow down product listings and bulk operations.
+ * Every field is optional; a null field means the criterion is not applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilter {
+
+    // Exact SKUs to restrict to, and/or a SKU prefix
+    private Collection<String> skus;
+    private String skuPrefix;
+    private Boolean enabled;
+    // Price bounds in minor units, whatever the currency of the product
+    private Long minPrice;
+    private Long maxPrice;
+    private Integer minStock;
+    private Integer maxStock;
+    // ISO 4217 code of the currency of the products
+    private String currency;
+
+    /**
+     * Returns a filter that matches every product.
+     * @return an empty filter
+     */
+    public static ProductFilter none() {
+        return new ProductFilter();
+    }
+
+    /**
+     * Validates that the ranges of the filter are consistent.
+     * @throws IllegalArgumentException if a minimum is greater than its maximum
+     */
+    public void validate() {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
+        }
+        if (minStock != null && maxStock != null && minStock > maxStock) {
+            throw new IllegalArgumentException("Minimum stock cannot be greater than maximum stock");
+        }
+    }
+}
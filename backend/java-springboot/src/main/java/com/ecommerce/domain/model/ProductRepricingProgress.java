@@ -0,0 +1,42 @@
+package com.ecommerce.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a bulk repricing, reported after every chunk of products.
+ * Each chunk is committed on its own, so an interrupted repricing can be resumed after the last reported SKU.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRepricingProgress {
+
+    /**
+     * Number of products matching the filter that were processed so far.
+     */
+    private long matched;
+
+    /**
+     * Number of products whose price was changed so far.
+     */
+    private long repriced;
+
+    /**
+     * Number of matching products left unchanged because their new price would not be positive.
+     */
+    private long skipped;
+
+    /**
+     * Last SKU processed, in SKU order, or null if no product was processed yet.
+     */
+    private String lastSku;
+
+    /**
+     * Whether every matching product has been processed.
+     */
+    private boolean complete;
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.domain.port;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.ProductBatchProgress;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductRepricingProgress;
+import java.util.function.Consumer;
+
+/**
+ * Service port for operations applied to every product matching a filter.
+ * This is an input port in the hexagonal architecture that will be implemented
+ * by a service in the application layer.
+ * Matching products are processed in chunks, each committed in its own transaction, so a run over the whole
+ * catalog never holds locks for long; a failed run is resumed after the last SKU it reported.
+ */
+public interface ProductBatchService {
+
+    /**
+     * Applies a price rule to every product matching a filter, in SKU order.
+     * @param rule the rule computing the new prices
+     * @param filter the criteria the products must match; ABSOLUTE and SET rules need its currency to be set
+     * @param afterSku the SKU to resume after, or null to start from the beginning
+     * @param progressListener receives the progress after every chunk, the last one being complete
+     * @return the final progress
+     * @throws IllegalArgumentException if the rule or the filter is invalid
+     */
+    ProductRepricingProgress repriceProducts(PriceRule rule, ProductFilter filter, String afterSku,
+                                             Consumer<ProductRepricingProgress> progressListener);
+    
+    /**
+     * Enables every product matching a filter, in SKU order.
+     * @param filter the criteria the products must match; listed SKUs that match no product are reported as NOT_FOUND
+     * @param afterSku the SKU to resume after, or null to start from the beginning
+     * @param progressListener receives the progress after every chunk, the last one being complete
+     * @return the final progress
+     * @throws IllegalArgumentException if the filter is invalid
+     */
+    ProductBatchProgress enableProducts(ProductFilter filter, String afterSku,
+                                        Consumer<ProductBatchProgress> progressListener);
+    
+    /**
+     * Disables every product matching a filter, in SKU order.
+     * @param filter the criteria the products must match; listed SKUs that match no product are reported as NOT_FOUND
+     * @param afterSku the SKU to resume after, or null to start from the beginning
+     * @param progressListener receives the progress after every chunk, the last one being complete
+     * @return the final progress
+     * @throws IllegalArgumentException if the filter is invalid
+     */
+    ProductBatchProgress disableProducts(ProductFilter filter, String afterSku,
+                                         Consumer<ProductBatchProgress> progressListener);
+    
+    /**
+     * Deletes every product matching a filter that can be deleted (see Product.canBeDeleted), in SKU order.
+     * The others are reported as REJECTED.
+     * @param filter the criteria the products must match; listed SKUs that match no product are reported as NOT_FOUND
+     * @param afterSku the SKU to resume after, or null to start from the beginning
+     * @param progressListener receives the progress after every chunk, the last one being complete
+     * @return the final progress
+     * @throws IllegalArgumentException if the filter is invalid
+     */
+    ProductBatchProgress deleteProducts(ProductFilter filter, String afterSku,
+                                        Consumer<ProductBatchProgress> progressListener);
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.domain.port;
+
+import com.ecommerce.domain.model.ProductChange;
+import java.util.List;
+
+/**
+ * Publisher port for catalog change events.
+ * This is an output port that will be implemented by an adapter in the infrastructure layer.
+ * Changes published inside a transaction are only delivered once it commits, and are discarded if it rolls back.
+ */
+public interface ProductEventPublisher {
+    
+    /**
+     * Publishes the changes made by a catalog write.
+     * @param changes the changes, in ascending sequence order
+     */
+    void publish(List<ProductChange> changes);
+}
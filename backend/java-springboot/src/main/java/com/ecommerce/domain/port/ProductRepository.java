@@ -1,22 +1,48 @@
 package com.ecommerce.domain.port;
 
+import com.ecommerce.domain.model.PriceRule;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Repository port for Product entity.
  * This is an output port that will be implemented by an adapter in the infrastructure layer.
+ * Every insert, save, saveBatch, reprice, updateEnabled and delete records a new catalog change sequence on the product, or on its
+ * tombstone, within the current transaction; stock adjustments do not.
  */
 public interface ProductRepository {
     
     /**
-     * Saves a product to the repository.
+     * Inserts a new product without checking first whether its SKU or name is taken.
+     * @param product the product to insert
+     * @return the inserted product
+     * @throws IllegalArgumentException if a product with the same SKU or normalized name already exists
+     */
+    Product insert(Product product);
+    
+    /**
+     * Saves the changes of a product read earlier in the same transaction, updating the stored product in place.
      * @param product the product to save
      * @return the saved product
+     * @throws IllegalArgumentException if the product no longer exists or another product already has the same name
      */
     Product save(Product product);
     
+    /**
+     * Saves a batch of products in as few round trips as possible.
+     * New products are inserted without a prior existence check, so their SKUs must not exist yet.
+     * The given products are updated in place with their new version and change sequence.
+     * @param newProducts the products to insert
+     * @param changedProducts the existing products to update
+     */
+    void saveBatch(List<Product> newProducts, List<Product> changedProducts);
+    
     /**
      * Finds a product by its SKU.
      * @param sku the SKU to search for
@@ -25,7 +51,14 @@ public interface ProductRepository {
     Optional<Product> findBySku(String sku);
     
     /**
-     * Finds a product by its name.
+     * Finds all products whose SKU is in the given collection, using a single query.
+     * @param skus the SKUs to search for
+     * @return the products found, in no particular order
+     */
+    List<Product> findAllBySkus(Collection<String> skus);
+    
+    /**
+     * Finds a product by its name, compared in its normalized form (see Product.normalizeName).
      * @param name the name to search for
      * @return an Optional containing the product if found, or empty if not found
      */
@@ -38,11 +71,72 @@ public interface ProductRepository {
     List<Product> findAll();
     
     /**
-     * Deletes a product from the repository.
+     * Retrieves a slice of products ordered by SKU, starting right after the given SKU (keyset pagination).
+     * @param filter the criteria the products must match
+     * @param afterSku the last SKU of the previous slice, or null to start from the beginning
+     * @param limit the maximum number of products to return
+     * @return the matching products in ascending SKU order
+     */
+    List<Product> findPage(ProductFilter filter, String afterSku, int limit);
+    
+    /**
+     * Retrieves the SKUs of a slice of products ordered by SKU, starting right after the given SKU (keyset pagination).
+     * Only the SKU column is read, so large filters can be walked cheaply.
+     * @param filter the criteria the products must match
+     * @param afterSku the last SKU of the previous slice, or null to start from the beginning
+     * @param limit the maximum number of SKUs to return
+     * @return the matching SKUs in ascending order
+     */
+    List<String> findSkus(ProductFilter filter, String afterSku, int limit);
+    
+    /**
+     * Applies a price rule to the given products with a single set-based UPDATE, the new prices being computed by
+     * the database. Products whose new price would not be positive or would exceed Product.MAX_PRICE are left unchanged.
+     * @param skus the SKUs of the products to reprice
+     * @param rule the rule computing the new prices
+     * @return the repriced products, with their new price, version and change sequence, in change sequence order
+     */
+    List<Product> reprice(Collection<String> skus, PriceRule rule);
+    
+    /**
+     * Enables or disables the given products with a single set-based UPDATE.
+     * Products already in that state are left unchanged.
+     * @param skus the SKUs of the products to update
+     * @param enabled true to enable the products, false to disable them
+     * @return the changed products, with their new version and change sequence, in change sequence order
+     */
+    List<Product> updateEnabled(Collection<String> skus, boolean enabled);
+    
+    /**
+     * Deletes those of the given products that can be deleted (see Product.canBeDeleted) with set-based statements,
+     * the rule being evaluated by the database, and leaves a tombstone for each of them in the change feed.
+     * @param skus the SKUs of the products to delete
+     * @return the tombstones of the deleted products, in change sequence order
+     */
+    List<ProductChange> deleteAllDeletable(Collection<String> skus);
+    
+    /**
+     * Streams all products ordered by SKU, reading them from the underlying cursor as the stream is consumed.
+     * The stream must be consumed inside a transaction and closed afterwards.
+     * @return a stream of all products
+     */
+    Stream<Product> streamAll();
+    
+    /**
+     * Deletes a product from the repository, leaving a tombstone in the change feed.
+     * The given product is updated in place with the change sequence of the tombstone.
      * @param product the product to delete
      */
     void delete(Product product);
     
+    /**
+     * Retrieves the latest change of each product written or deleted after the given change sequence.
+     * @param sequence the change sequence to start after
+     * @param limit the maximum number of changes to return
+     * @return the changes in ascending sequence order
+     */
+    List<ProductChange> findChangesSince(long sequence, int limit);
+    
     /**
      * Checks if a product with the given SKU exists.
      * @param sku the SKU to check
@@ -51,9 +145,50 @@ public interface ProductRepository {
     boolean existsBySku(String sku);
     
     /**
-     * Checks if a product with the given name exists.
+     * Checks if a product with the given name exists, compared in its normalized form (see Product.normalizeName).
      * @param name the name to check
-     * @return true if a product with the given name exists, false otherwise
+     * @return true if a product with an equivalent name exists, false otherwise
      */
     boolean existsByName(String name);
-}
\ No newline at end of file
+    
+    /**
+     * Returns which of the given names are already used by a product, using a single query.
+     * Names are compared in their normalized form (see Product.normalizeName).
+     * @param names the names to check
+     * @return the subset of names that already exist
+     */
+    Set<String> findExistingNames(Collection<String> names);
+    
+    /**
+     * Atomically reserves stock for a pending order.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to reserve
+     * @return true if the stock was reserved, false if the product does not exist or has too little available stock
+     */
+    boolean reserveStock(String sku, int quantity);
+    
+    /**
+     * Atomically releases a reservation back to the available stock.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to release
+     * @return true if the stock was released, false if the product does not exist or has too little reserved stock
+     */
+    boolean releaseStock(String sku, int quantity);
+    
+    /**
+     * Atomically removes stock, either from the available stock or from the reserved stock.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to remove
+     * @param fromReservation true to remove reserved stock, false to remove available stock
+     * @return true if the stock was removed, false if the product does not exist or has too little stock of that kind
+     */
+    boolean decrementStock(String sku, int quantity, boolean fromReservation);
+    
+    /**
+     * Atomically adds stock.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to add
+     * @return true if the stock was added, false if the product does not exist
+     */
+    boolean incrementStock(String sku, int quantity);
+}
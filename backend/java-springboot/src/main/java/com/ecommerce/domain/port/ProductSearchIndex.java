@@ -0,0 +1,22 @@
+package com.ecommerce.domain.port;
+
+import com.ecommerce.domain.model.ProductSearchHit;
+import java.util.List;
+
+/**
+ * Search index port for product names.
+ * This is an output port that will be implemented by an adapter in the infrastructure layer.
+ */
+public interface ProductSearchIndex {
+    
+    /**
+     * Finds the products whose name contains every word of the query, ignoring case and accents.
+     * The last word also matches longer words it is a prefix of, unless the query ends with a space,
+     * so the index can serve typeahead suggestions.
+     * @param query the words to search for
+     * @param enabled only return enabled (true) or disabled (false) products, or null for both
+     * @param limit the maximum number of hits to return
+     * @return the best matching products, best first
+     */
+    List<ProductSearchHit> search(String query, Boolean enabled, int limit);
+}
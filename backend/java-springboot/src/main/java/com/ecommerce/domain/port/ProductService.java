@@ -1,7 +1,15 @@
 package com.ecommerce.domain.port;
 
+import com.ecommerce.domain.exception.ProductVersionConflictException;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBulkItem;
+import com.ecommerce.domain.model.ProductBulkResult;
+import com.ecommerce.domain.model.ProductChangePage;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductPage;
+import com.ecommerce.domain.model.ProductSearchHit;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service port for Product entity.
@@ -13,22 +21,52 @@ public interface ProductService {
     /**
      * Creates a new product.
      * @param name the name of the product
-     * @param price the price of the product
+     * @param price the price of the product, in minor units of the currency
+     * @param currency the ISO 4217 code of the currency of the price, or null for the default currency
      * @param initialStock the initial stock of the product
      * @return the created product
-     * @throws IllegalArgumentException if a product with the same name already exists
+     * @throws IllegalArgumentException if a product with the same name already exists or the currency is unknown
      */
-    Product createProduct(String name, double price, int initialStock);
+    Product createProduct(String name, long price, String currency, int initialStock);
     
     /**
      * Updates an existing product.
      * @param sku the SKU of the product to update
      * @param name the new name of the product
-     * @param price the new price of the product
+     * @param price the new price of the product, in minor units of the currency
+     * @param currency the ISO 4217 code of the currency of the price, or null to keep the current currency
      * @return the updated product
-     * @throws IllegalArgumentException if the product does not exist or if the new name is already taken
+     * @throws IllegalArgumentException if the product does not exist, if the new name is already taken or the currency
+     * is unknown
      */
-    Product updateProduct(String sku, String name, double price);
+    Product updateProduct(String sku, String name, long price, String currency);
+    
+    /**
+     * Updates an existing product only if it has not been modified since the given version was read.
+     * Stock movements do not change the version, so only catalog changes in between make the update fail.
+     * @param sku the SKU of the product to update
+     * @param name the new name of the product
+     * @param price the new price of the product, in minor units of the currency
+     * @param currency the ISO 4217 code of the currency of the price, or null to keep the current currency
+     * @param expectedVersion the version of the product the change is based on
+     * @return the updated product
+     * @throws ProductVersionConflictException if the product no longer has the expected version
+     * @throws IllegalArgumentException if the product does not exist, if the new name is already taken or the currency
+     * is unknown
+     */
+    Product updateProduct(String sku, String name, long price, String currency, long expectedVersion);
+    
+    /**
+     * Creates and updates products in bulk.
+     * Entries without a SKU are created and entries with a SKU update the existing product.
+     * Each entry is validated on its own, so invalid entries are reported without failing the others.
+     * The entries are written in chunks that are each committed on their own: if a chunk fails,
+     * the chunks before it stay applied.
+     * @param items the entries to process
+     * @return one result per entry, in the same order as the entries
+     * @throws IllegalArgumentException if the number of entries exceeds the bulk limit
+     */
+    List<ProductBulkResult> bulkUpsertProducts(List<ProductBulkItem> items);
     
     /**
      * Enables a product.
@@ -53,6 +91,46 @@ public interface ProductService {
      */
     void deleteProduct(String sku);
     
+    /**
+     * Reserves stock for a pending order, without risk of overselling under concurrent requests.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to reserve
+     * @return the product with its updated stock
+     * @throws IllegalArgumentException if the quantity is not positive, the product does not exist
+     *         or it has too little available stock
+     */
+    Product reserveStock(String sku, int quantity);
+    
+    /**
+     * Releases previously reserved stock, e.g. when an order is cancelled.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to release
+     * @return the product with its updated stock
+     * @throws IllegalArgumentException if the quantity is not positive, the product does not exist
+     *         or it has too little reserved stock
+     */
+    Product releaseStock(String sku, int quantity);
+    
+    /**
+     * Removes stock, either from the available stock or from a previous reservation (e.g. when an order ships).
+     * @param sku the SKU of the product
+     * @param quantity the quantity to remove
+     * @param fromReservation true to remove reserved stock, false to remove available stock
+     * @return the product with its updated stock
+     * @throws IllegalArgumentException if the quantity is not positive, the product does not exist
+     *         or it has too little stock of that kind
+     */
+    Product decrementStock(String sku, int quantity, boolean fromReservation);
+    
+    /**
+     * Adds stock, e.g. when goods are received.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to add
+     * @return the product with its updated stock
+     * @throws IllegalArgumentException if the quantity is not positive or the product does not exist
+     */
+    Product incrementStock(String sku, int quantity);
+    
     /**
      * Retrieves a product by its SKU.
      * @param sku the SKU of the product to retrieve
@@ -62,8 +140,50 @@ public interface ProductService {
     Product getProductBySku(String sku);
     
     /**
-     * Retrieves all products.
-     * @return a list of all products
+     * Retrieves a page of products matching the given filter, ordered by SKU.
+     * @param filter the criteria the products must match
+     * @param pageToken the token returned with the previous page, or null for the first page
+     * @param pageSize the requested page size, or null for the default size
+     * @return the requested page of products
+     * @throws IllegalArgumentException if the filter, page token or page size is invalid
+     */
+    ProductPage getProducts(ProductFilter filter, String pageToken, Integer pageSize);
+    
+    /**
+     * Exports the whole catalog, handing each product to the given consumer as soon as it is read.
+     * Products are not accumulated in memory, so the consumer should write them out directly.
+     * @param consumer the consumer receiving the products in SKU order
+     */
+    void exportProducts(Consumer<Product> consumer);
+    
+    /**
+     * Retrieves the catalog changes made after a watermark, so consumers can sync incrementally.
+     * Each changed product appears once, with its current state, and deleted products appear as tombstones.
+     * Stock adjustments are not catalog changes.
+     * @param since the watermark returned with the previous batch, or 0 to start from the beginning
+     * @param limit the maximum number of changes to return, or null for the default limit
+     * @return the changes in ascending sequence order and the watermark to continue from
+     * @throws IllegalArgumentException if the watermark is negative or the limit is invalid
+     */
+    ProductChangePage getChanges(long since, Integer limit);
+    
+    /**
+     * Searches products by name, ignoring case and accents; the last word of the query also matches as a prefix.
+     * @param query the words to search for
+     * @param enabled only return enabled (true) or disabled (false) products, or null for both
+     * @param limit the maximum number of products to return, or null for the default limit
+     * @return the matching products, best match first
+     * @throws IllegalArgumentException if the query is empty or the limit is invalid
+     */
+    List<Product> searchProducts(String query, Boolean enabled, Integer limit);
+    
+    /**
+     * Suggests product names for a partially typed query, from the search index only.
+     * @param query the words typed so far
+     * @param enabled only suggest enabled (true) or disabled (false) products, or null for both
+     * @param limit the maximum number of suggestions, or null for the default limit
+     * @return the SKU and name of the best matching products, best match first
+     * @throws IllegalArgumentException if the query is empty or the limit is invalid
      */
-    List<Product> getAllProducts();
-}
\ No newline at end of file
+    List<ProductSearchHit> suggestProducts(String query, Boolean enabled, Integer limit);
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.domain.port;
+
+/**
+ * SKU generation port.
+ * This is an output port that will be implemented by an adapter in the infrastructure layer.
+ */
+public interface SkuGenerator {
+    
+    /**
+     * Generates a new SKU for a product.
+     * Every call returns a SKU that was never returned before, by this or any other instance of the application.
+     * @param name the name of the product, which the SKU may be derived from
+     * @return the generated SKU
+     */
+    String generate(String name);
+}
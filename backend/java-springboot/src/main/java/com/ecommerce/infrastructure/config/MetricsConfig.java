@@ -0,0 +1,43 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.persistence.logging.SampledSqlStatementInspector;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics and SQL logging configuration for the application.
+ * HTTP, connection pool, Hibernate and cache meters are registered by the actuator and the beans owning the caches;
+ * this class adds the per-method timers of the classes annotated with @Timed and the opt-in sampled SQL log.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Configures the aspect recording a timer for every call to a method of a class annotated with @Timed,
+     * tagged with the class, the method and the exception thrown, if any.
+     * @param meterRegistry the registry the timers are recorded in
+     * @return the timed aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Configures Hibernate to log a sample of its SQL statements (product.sql-log.enabled).
+     * @param sampleRate the fraction of statements to log, from 0 to 1
+     * @return the customizer registering the statement inspector
+     */
+    @Bean
+    @ConditionalOnProperty(name = "product.sql-log.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer sampledSqlLog(@Value("${product.sql-log.sample-rate:0.01}") double sampleRate) {
+        SampledSqlStatementInspector inspector = new SampledSqlStatementInspector(sampleRate);
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.domain.port.ProductEventPublisher;
+import com.ecommerce.infrastructure.outbox.OutboxProductEventPublisher;
+import com.ecommerce.infrastructure.rest.events.ProductEventBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Product event stream configuration for the application.
+ * This class sets up the broadcaster that pushes catalog changes to the Server-Sent Events subscribers
+ * and, when product.outbox.enabled is true, records them in the transactional outbox as well.
+ */
+@Configuration
+public class ProductEventsConfig {
+
+    /**
+     * Configures the product event broadcaster.
+     * @param bufferSize the maximum number of SKUs with an undelivered change per subscriber
+     * @param maximumSubscribers the maximum number of open streams
+     * @param timeout how long a stream stays open before the client has to reconnect
+     * @param heartbeatInterval how often a keep-alive comment is sent on every stream
+     * @return the product event broadcaster
+     */
+    @Bean
+    public ProductEventBroadcaster productEventBroadcaster(
+            @Value("${product.events.buffer-size:256}") int bufferSize,
+            @Value("${product.events.maximum-subscribers:10000}") int maximumSubscribers,
+            @Value("${product.events.timeout:30m}") Duration timeout,
+            @Value("${product.events.heartbeat-interval:30s}") Duration heartbeatInterval) {
+        return new ProductEventBroadcaster(bufferSize, maximumSubscribers, timeout, heartbeatInterval);
+    }
+
+    /**
+     * Configures the product event publisher that the services use.
+     * @param broadcaster the Server-Sent Events broadcaster
+     * @param entityManager the entity manager the outbox rows are persisted with
+     * @param objectMapper the mapper serializing the outbox payloads
+     * @param outboxEnabled whether the changes are also written to the outbox
+     * @return the product event publisher
+     */
+    @Bean
+    @Primary
+    public ProductEventPublisher productEventPublisher(
+            ProductEventBroadcaster broadcaster,
+            EntityManager entityManager,
+            ObjectMapper objectMapper,
+            @Value("${product.outbox.enabled:false}") boolean outboxEnabled) {
+        ProductEventPublisher publisher = broadcaster;
+        if (outboxEnabled) {
+            publisher = new OutboxProductEventPublisher(publisher, entityManager, objectMapper);
+        }
+        return publisher;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.outbox.FileProductEventSink;
+import com.ecommerce.infrastructure.outbox.ProductEventSink;
+import com.ecommerce.infrastructure.outbox.ProductOutboxDispatcher;
+import com.ecommerce.infrastructure.persistence.repository.JpaProductOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Transactional outbox configuration for the application.
+ * This class sets up the dispatcher that delivers the product events written to the outbox
+ * when product.outbox.enabled is true. The events go to the application's ProductEventSink bean,
+ * or to a local NDJSON file if there is none.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.outbox.enabled", havingValue = "true")
+public class ProductOutboxConfig {
+
+    /**
+     * Configures the file sink used when no other ProductEventSink is defined.
+     * @param file the file the events are appended to
+     * @return the product event sink
+     */
+    @Bean
+    @ConditionalOnMissingBean(ProductEventSink.class)
+    public FileProductEventSink productEventSink(
+            @Value("${product.outbox.file:./data/outbox/product-events.ndjson}") Path file) throws IOException {
+        return new FileProductEventSink(file);
+    }
+
+    /**
+     * Configures the outbox dispatcher.
+     * @param outboxRepository the repository of the outbox rows
+     * @param sink the sink the events are delivered to
+     * @param batchSize the maximum number of events read, sent and deleted per round
+     * @param parallelism the number of partitions sent concurrently
+     * @param pollInterval how long the dispatcher waits when the outbox has been drained
+     * @return the product outbox dispatcher
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ProductOutboxDispatcher productOutboxDispatcher(
+            JpaProductOutboxRepository outboxRepository,
+            ProductEventSink sink,
+            @Value("${product.outbox.batch-size:500}") int batchSize,
+            @Value("${product.outbox.parallelism:4}") int parallelism,
+            @Value("${product.outbox.poll-interval:500ms}") Duration pollInterval) {
+        return new ProductOutboxDispatcher(outboxRepository, sink, batchSize, parallelism, pollInterval);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.infrastructure.persistence.adapter.CachingProductRepository;
+import com.ecommerce.infrastructure.persistence.adapter.ProductRepositoryAdapter;
+import com.ecommerce.infrastructure.persistence.adapter.StockLedgerProductRepository;
+import com.ecommerce.infrastructure.persistence.ledger.StockLedger;
+import com.ecommerce.infrastructure.persistence.routing.ReplicaLagMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+/**
+ * Product repository configuration for the application.
+ * This class decorates the JPA adapter with the optional stock ledger (product.stock-ledger.enabled) and, on top of it,
+ * the in-memory SKU cache unless product.cache.enabled is false. The cache statistics are published as the "products"
+ * cache meters (cache.gets with result hit or miss, cache.evictions, ...). With read replicas, a written SKU is only
+ * cached again once the replicas are known to have the write.
+ */
+@Configuration
+public class ProductRepositoryConfig {
+
+    /**
+     * Configures the decorated product repository that the services use instead of the JPA adapter.
+     * @param adapter the JPA-backed product repository
+     * @param stockLedger the stock ledger, available when it is enabled
+     * @param cacheEnabled whether SKU lookups are cached
+     * @param maximumSize the maximum number of products kept in the cache
+     * @param timeToLive how long a cached product is served before it is read again
+     * @param meterRegistry the registry the cache statistics are published to
+     * @param replicaLagMonitor the replica lag monitor, available when read replicas are enabled
+     * @return the decorated product repository
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("${product.cache.enabled:true} or ${product.stock-ledger.enabled:false}")
+    public ProductRepository productRepository(
+            ProductRepositoryAdapter adapter,
+            ObjectProvider<StockLedger> stockLedger,
+            @Value("${product.cache.enabled:true}") boolean cacheEnabled,
+            @Value("${product.cache.maximum-size:10000}") long maximumSize,
+            @Value("${product.cache.time-to-live:5m}") Duration timeToLive,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        ProductRepository repository = adapter;
+        StockLedger ledger = stockLedger.getIfAvailable();
+        if (ledger != null) {
+            repository = new StockLedgerProductRepository(repository, ledger);
+        }
+        if (cacheEnabled) {
+            ReplicaLagMonitor monitor = replicaLagMonitor.getIfAvailable();
+            Duration replicationDelay = monitor != null ? monitor.getStalenessBound() : Duration.ZERO;
+            CachingProductRepository cachingRepository =
+                    new CachingProductRepository(repository, maximumSize, timeToLive, replicationDelay);
+            CaffeineCacheMetrics.monitor(meterRegistry, cachingRepository.getCache(), "products");
+            if (ledger != null) {
+                // A flush changes the stock of the rows behind the cache
+                ledger.addFlushListener(cachingRepository::invalidate);
+            }
+            repository = cachingRepository;
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.infrastructure.search.InMemoryProductSearchIndex;
+import com.ecommerce.infrastructure.search.ProductSearchIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Product search configuration for the application.
+ * This class builds the in-memory name index from the catalog at startup; afterwards an indexer follows the
+ * product change feed, so the changes made through any application instance appear within the refresh interval.
+ */
+@Configuration
+public class ProductSearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchConfig.class);
+
+    /**
+     * Configures the product search index, loaded with every product before the application accepts requests.
+     * @param productRepository the product repository the catalog is streamed from
+     * @param transactionManager the transaction manager the catalog is read in
+     * @return the product search index
+     */
+    @Bean
+    public InMemoryProductSearchIndex productSearchIndex(ProductRepository productRepository,
+                                                        PlatformTransactionManager transactionManager) {
+        InMemoryProductSearchIndex index = new InMemoryProductSearchIndex();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        long start = System.nanoTime();
+        transaction.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAll()) {
+                index.rebuild(products);
+            }
+        });
+        log.info("Indexed {} product names in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Configures the indexer applying the change feed to the search index.
+     * @param index the product search index
+     * @param productRepository the product repository the change feed is read from
+     * @param transactionManager the transaction manager the change feed is read in
+     * @param batchSize the maximum number of changes read per query
+     * @param refreshInterval how long the indexer waits once it has caught up with the change feed
+     * @return the product search indexer
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public ProductSearchIndexer productSearchIndexer(
+            InMemoryProductSearchIndex index,
+            ProductRepository productRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${product.search.batch-size:500}") int batchSize,
+            @Value("${product.search.refresh-interval:500ms}") Duration refreshInterval) {
+        return new ProductSearchIndexer(index, productRepository, transactionManager, batchSize, refreshInterval);
+    }
+}
@@ -0,0 +1,125 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.persistence.routing.LocalReplicator;
+import com.ecommerce.infrastructure.persistence.routing.ReadWriteRoutingDataSource;
+import com.ecommerce.infrastructure.persistence.routing.Replica;
+import com.ecommerce.infrastructure.persistence.routing.ReplicaLagMonitor;
+import com.ecommerce.infrastructure.persistence.routing.ReplicaRouter;
+import com.ecommerce.infrastructure.persistence.routing.ReplicaSelection;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica configuration for the application.
+ * When product.read-replicas.enabled is true, this class replaces the auto-configured DataSource with one routing
+ * read-only transactions to the replicas listed in product.read-replicas.urls, and everything else to the primary
+ * (spring.datasource.url). The replica pools take the settings of the primary pool (spring.datasource.hikari).
+ * A replica lagging more than product.read-replicas.max-lag is not read from until it has caught up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    /**
+     * Configures the connection pools of the primary and of the replicas.
+     * A replica that cannot be reached at startup does not prevent the application from starting: it stays out of
+     * the rotation until the lag monitor reaches it.
+     * @param properties the primary data source properties
+     * @param environment the environment the primary pool settings are bound from
+     * @param urls the JDBC URLs of the replicas, which use the primary's credentials
+     * @param selection how read-only transactions pick an in-sync replica
+     * @param meterRegistry the registry the pool and routing meters are published to
+     * @return the replica router
+     */
+    @Bean(destroyMethod = "close")
+    public ReplicaRouter replicaRouter(
+            DataSourceProperties properties,
+            Environment environment,
+            @Value("${product.read-replicas.urls}") List<String> urls,
+            @Value("${product.read-replicas.selection:round-robin}") ReplicaSelection selection,
+            MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("product.read-replicas.urls must list at least one replica");
+        }
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricRegistry(meterRegistry);
+
+        List<Replica> replicas = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            String name = "replica-" + (replicas.size() + 1);
+            HikariConfig config = new HikariConfig();
+            primary.copyStateTo(config);
+            config.setJdbcUrl(url);
+            config.setPoolName(primary.getPoolName() + "-" + name);
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaRouter(primary, replicas, selection, meterRegistry);
+    }
+
+    /**
+     * Configures the application's data source, used by JPA, JDBC and Flyway.
+     * @param router the replica router
+     * @return the routing data source
+     */
+    @Bean
+    public DataSource dataSource(ReplicaRouter router) {
+        // The lazy proxy only requests the connection on the first statement, once the transaction is marked read-only
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(router));
+    }
+
+    /**
+     * Configures the replication lag monitor, started once the migrations have created the heartbeat table.
+     * @param router the replica router
+     * @param heartbeatInterval how often the heartbeat is written and the lag measured
+     * @param maxLag the lag beyond which a replica is not read from
+     * @param meterRegistry the registry the lag gauges are published to
+     * @return the replica lag monitor
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @DependsOn("flywayInitializer")
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaRouter router,
+            @Value("${product.read-replicas.heartbeat-interval:500ms}") Duration heartbeatInterval,
+            @Value("${product.read-replicas.max-lag:2s}") Duration maxLag,
+            MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(router, heartbeatInterval, maxLag, meterRegistry);
+    }
+
+    /**
+     * Configures the replication of the primary to local replicas, for databases without replication of their own.
+     * @param router the replica router
+     * @param migrationLocations the Flyway migrations the replicas are created with
+     * @param interval how often the changes are copied
+     * @return the local replicator
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @DependsOn("flywayInitializer")
+    @ConditionalOnProperty(name = "product.read-replicas.local-replication.enabled", havingValue = "true")
+    public LocalReplicator localReplicator(
+            ReplicaRouter router,
+            @Value("${spring.flyway.locations:classpath:db/migration}") String[] migrationLocations,
+            @Value("${product.read-replicas.local-replication.interval:200ms}") Duration interval) {
+        return new LocalReplicator(router, migrationLocations, interval);
+    }
+}
@@ -1,8 +1,16 @@
 package com.ecommerce.infrastructure.config;
 
+import com.ecommerce.infrastructure.security.AccessTokenAuthenticationFilter;
+import com.ecommerce.infrastructure.security.AccessTokenService;
+import com.ecommerce.infrastructure.security.CachingAuthenticationProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,16 +23,21 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 
 /**
  * Security configuration for the application.
- * This class configures Spring Security with basic authentication and role-based access control.
+ * This class configures Spring Security with bearer access tokens, basic authentication and role-based access control.
  */
 @Configuration
 @EnableWebSecurity
@@ -33,19 +46,26 @@ public class SecurityConfig {
 
     /**
      * Configures the security filter chain.
+     * Bearer access tokens are checked before Basic Auth, so token requests never reach the user details service.
      * @param http the HttpSecurity to configure
+     * @param accessTokenService the access token service
      * @return the configured SecurityFilterChain
      * @throws Exception if an error occurs during configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AccessTokenService accessTokenService) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // Enable CORS with custom configuration
+            .addFilterBefore(new AccessTokenAuthenticationFilter(accessTokenService), BasicAuthenticationFilter.class)
             .authorizeHttpRequests(authorize -> authorize
                 .requestMatchers("/h2-console/**").permitAll()
+                .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
                 .requestMatchers("/health", "/swagger-ui/**", "/swagger-ui.html", "/api-docs/**").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/products/**").authenticated()
+                .requestMatchers(HttpMethod.POST, "/api/products/*/stock/reserve", "/api/products/*/stock/release").authenticated()
                 .requestMatchers("/api/products/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             )
@@ -65,6 +85,60 @@ public class SecurityConfig {
         return new BCryptPasswordEncoder();
     }
 
+    /**
+     * Configures the authentication provider.
+     * Successfully verified credentials are remembered for a short time so that repeated Basic Auth requests
+     * do not each pay for a BCrypt comparison.
+     * @param userDetailsService the user details service
+     * @param passwordEncoder the password encoder
+     * @param maximumSize the maximum number of remembered credentials
+     * @param timeToLive how long verified credentials are remembered
+     * @return the authentication provider
+     */
+    @Bean
+    public CachingAuthenticationProvider authenticationProvider(
+            UserDetailsService userDetailsService,
+            PasswordEncoder passwordEncoder,
+            @Value("${security.auth-cache.maximum-size:1000}") long maximumSize,
+            @Value("${security.auth-cache.time-to-live:60s}") Duration timeToLive) {
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsService(userDetailsService);
+        return new CachingAuthenticationProvider(daoAuthenticationProvider, userDetailsService, maximumSize, timeToLive);
+    }
+
+    /**
+     * Configures the authentication manager used by the login endpoint.
+     * @param authenticationProvider the authentication provider
+     * @return the authentication manager
+     */
+    @Bean
+    public AuthenticationManager authenticationManager(CachingAuthenticationProvider authenticationProvider) {
+        return new ProviderManager(authenticationProvider);
+    }
+
+    /**
+     * Configures the service issuing and verifying access tokens.
+     * Without a configured secret a random one is generated, so issued tokens do not survive a restart.
+     * @param secret the Base64-encoded HMAC secret, at least 256 bits long
+     * @param timeToLive how long an issued token is valid
+     * @param objectMapper the object mapper used to encode token claims
+     * @return the access token service
+     */
+    @Bean
+    public AccessTokenService accessTokenService(
+            @Value("${security.token.secret:}") String secret,
+            @Value("${security.token.time-to-live:15m}") Duration timeToLive,
+            ObjectMapper objectMapper) {
+        byte[] key;
+        if (secret.isBlank()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+        }
+        return new AccessTokenService(key, timeToLive, objectMapper, Clock.systemUTC());
+    }
+
     /**
      * Configures the user details service with in-memory users.
      * @param passwordEncoder the password encoder
@@ -90,7 +164,8 @@ public class SecurityConfig {
     /**
      * Configures CORS settings for the application.
      * This allows cross-origin requests from the frontend origin (http://localhost:3000)
-     * with common HTTP methods and headers, and supports credentials.
+     * with common HTTP methods and headers, including the conditional request headers and the ETag they are built
+     * around, and supports credentials.
      * @return the CORS configuration source
      */
     @Bean
@@ -98,7 +173,9 @@ public class SecurityConfig {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("http://localhost:3000")); // Allow frontend origin
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")); // Allow common HTTP methods
-        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type")); // Allow common headers
+        configuration.setAllowedHeaders(List.of("Authorization", "Cache-Control", "Content-Type",
+                "If-Match", "If-None-Match")); // Allow common and conditional request headers
+        configuration.setExposedHeaders(List.of("ETag")); // Let the frontend read the product version it sends back
         configuration.setAllowCredentials(true); // Allow credentials (cookies, HTTP authentication)
         configuration.setMaxAge(3600L); // Cache preflight requests for 1 hour
 
@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.domain.port.SkuGenerator;
+import com.ecommerce.infrastructure.sku.TimeOrderedSkuGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * SKU generation configuration for the application.
+ * The time-ordered generator is used unless the application defines its own SkuGenerator bean.
+ */
+@Configuration
+public class SkuGeneratorConfig {
+
+    /**
+     * Configures the default SKU generator.
+     * @param nodeId the id of this instance, between 0 and 1023, unique among the instances sharing the database
+     * @return the SKU generator
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SkuGenerator skuGenerator(@Value("${product.sku.node-id:0}") int nodeId) {
+        return new TimeOrderedSkuGenerator(nodeId, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.persistence.monitoring.StatementCountingDataSource;
+import com.ecommerce.infrastructure.persistence.monitoring.StatementMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * SQL statement monitoring configuration for the application.
+ * Every DataSource bean is wrapped so the statements run on its connections are counted and timed: statements slower
+ * than product.jdbc.slow-statement-threshold are logged, and tests can record the statements of a use case to
+ * enforce its database round trips.
+ */
+@Configuration
+public class StatementMonitoringConfig {
+
+    /**
+     * Configures the monitor receiving every executed statement.
+     * @param slowThreshold the execution time from which a statement is logged as slow
+     * @param meterRegistry the registry the slow statement counter is published to
+     * @return the statement monitor
+     */
+    @Bean
+    public StatementMonitor statementMonitor(
+            @Value("${product.jdbc.slow-statement-threshold:100ms}") Duration slowThreshold,
+            MeterRegistry meterRegistry) {
+        return new StatementMonitor(slowThreshold, meterRegistry);
+    }
+
+    /**
+     * Wraps the data sources once they are initialized.
+     * Static, and resolving the monitor lazily, so the post-processor does not initialize the metrics beans early.
+     * @param statementMonitor the statement monitor
+     * @return the post-processor wrapping the data sources
+     */
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+            ObjectProvider<StatementMonitor> statementMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource
+                        ? StatementCountingDataSource.wrap(dataSource, statementMonitor.getObject())
+                        : bean;
+            }
+        };
+    }
+}
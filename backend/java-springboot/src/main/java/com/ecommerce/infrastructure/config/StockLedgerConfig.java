@@ -0,0 +1,63 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.infrastructure.persistence.adapter.ProductRepositoryAdapter;
+import com.ecommerce.infrastructure.persistence.ledger.StockLedger;
+import com.ecommerce.infrastructure.persistence.ledger.StockLedgerStore;
+import com.ecommerce.infrastructure.persistence.repository.JpaStockLedgerCheckpointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Stock ledger configuration for the application.
+ * This class sets up the in-memory stock ledger for the SKUs listed in product.stock-ledger.hot-skus
+ * when product.stock-ledger.enabled is true.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.stock-ledger.enabled", havingValue = "true")
+public class StockLedgerConfig {
+
+    /**
+     * Configures the store the ledger flushes its deltas and checkpoints to.
+     * @param jdbcTemplate the JDBC template used for the batched stock updates
+     * @param transactionManager the transaction manager shared with JPA
+     * @param checkpointRepository the repository of the journal checkpoints
+     * @param nodeId the name this instance records its checkpoint under
+     * @return the stock ledger store
+     */
+    @Bean
+    public StockLedgerStore stockLedgerStore(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            JpaStockLedgerCheckpointRepository checkpointRepository,
+            @Value("${product.stock-ledger.node-id:local}") String nodeId) {
+        return new StockLedgerStore(jdbcTemplate, new TransactionTemplate(transactionManager), checkpointRepository, nodeId);
+    }
+
+    /**
+     * Configures the stock ledger. Starting it replays the journal left by a previous run.
+     * @param adapter the JPA-backed product repository the hot SKUs are loaded from
+     * @param store the stock ledger store
+     * @param hotSkus the SKUs whose stock is kept in memory
+     * @param journalDirectory the directory of the journal files
+     * @param flushInterval how often the net deltas are written to the products table
+     * @return the stock ledger
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public StockLedger stockLedger(
+            ProductRepositoryAdapter adapter,
+            StockLedgerStore store,
+            @Value("${product.stock-ledger.hot-skus:}") List<String> hotSkus,
+            @Value("${product.stock-ledger.journal-directory:./data/stock-ledger}") Path journalDirectory,
+            @Value("${product.stock-ledger.flush-interval:1s}") Duration flushInterval) {
+        return new StockLedger(adapter, store, hotSkus, journalDirectory, flushInterval);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.infrastructure.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Product event sink appending each event as a JSON line to a local file, for local development and testing.
+ * Each batch is written and forced to disk with a single write.
+ */
+public class FileProductEventSink implements ProductEventSink, AutoCloseable {
+
+    private final FileChannel channel;
+
+    public FileProductEventSink(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void send(List<ProductOutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (ProductOutboxEvent event : events) {
+            lines.append(event.payload()).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,55 @@
+package com.ecommerce.infrastructure.outbox;
+
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.port.ProductEventPublisher;
+import com.ecommerce.infrastructure.persistence.entity.ProductOutboxEntity;
+import com.ecommerce.infrastructure.rest.dto.ProductChangeResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Decorator of the ProductEventPublisher port that also writes each change to the transactional outbox.
+ * The rows are inserted in the transaction of the catalog write, so they are committed or rolled back with it,
+ * and the ProductOutboxDispatcher delivers them to other systems afterwards.
+ */
+public class OutboxProductEventPublisher implements ProductEventPublisher {
+
+    private final ProductEventPublisher delegate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public OutboxProductEventPublisher(ProductEventPublisher delegate, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.delegate = delegate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void publish(List<ProductChange> changes) {
+        Instant now = Instant.now();
+        // Persist instead of save: the change sequence is assigned, so Spring Data would SELECT each row first.
+        // The inserts are sent as JDBC batches when the transaction flushes.
+        for (ProductChange change : changes) {
+            entityManager.persist(ProductOutboxEntity.builder()
+                    .changeSequence(change.getSequence())
+                    .sku(change.getSku())
+                    .deleted(change.isDeleted())
+                    .payload(toJson(change))
+                    .createdAt(now)
+                    .build());
+        }
+        delegate.publish(changes);
+    }
+
+    private String toJson(ProductChange change) {
+        try {
+            return objectMapper.writeValueAsString(ProductChangeResponse.fromDomain(change));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize the change of product '" + change.getSku() + "'", e);
+        }
+    }
+}
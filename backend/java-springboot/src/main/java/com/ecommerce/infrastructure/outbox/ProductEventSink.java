@@ -0,0 +1,19 @@
+package com.ecommerce.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the product events drained from the outbox, e.g. a message broker.
+ * Delivery is at least once: a batch is sent again if it failed, or if the application stopped before the
+ * outbox rows were deleted, so receivers should ignore sequences they have already processed.
+ * Batches are sent from several threads at once, but all events of a SKU go through the same thread in sequence order.
+ */
+public interface ProductEventSink {
+
+    /**
+     * Delivers a batch of events, returning only once they are stored durably by the receiver.
+     * @param events the events, in ascending sequence order
+     * @throws Exception if the batch could not be delivered, in which case it is retried as a whole
+     */
+    void send(List<ProductOutboxEvent> events) throws Exception;
+}
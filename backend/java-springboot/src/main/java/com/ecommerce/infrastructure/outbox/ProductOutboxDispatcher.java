@@ -0,0 +1,154 @@
+package com.ecommerce.infrastructure.outbox;
+
+import com.ecommerce.infrastructure.persistence.entity.ProductOutboxEntity;
+import com.ecommerce.infrastructure.persistence.repository.JpaProductOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background dispatcher draining the product outbox to a ProductEventSink.
+ * Each round reads up to batchSize of the oldest events with one query, splits them by SKU into up to parallelism
+ * partitions that are sent concurrently, one sink call per partition, and deletes the delivered events with one
+ * statement. A SKU always maps to the same partition, so its events are delivered in sequence order. If a partition
+ * fails, its events stay in the outbox and are retried, before any newer event of the same SKUs, in the next round.
+ * <p>
+ * The dispatcher assumes it is the only one draining the outbox, so it must not be enabled on more than one
+ * application instance sharing a database.
+ */
+public class ProductOutboxDispatcher implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductOutboxDispatcher.class);
+
+    private final JpaProductOutboxRepository outboxRepository;
+    private final ProductEventSink sink;
+    private final int batchSize;
+    private final int parallelism;
+    private final long pollIntervalMillis;
+    private final ExecutorService senders;
+    private volatile boolean running;
+    private Thread poller;
+
+    public ProductOutboxDispatcher(JpaProductOutboxRepository outboxRepository, ProductEventSink sink,
+                                   int batchSize, int parallelism, Duration pollInterval) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.senders = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "product-outbox-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts draining the outbox in the background.
+     */
+    public void start() {
+        running = true;
+        poller = new Thread(this::run, "product-outbox-dispatcher");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    private void run() {
+        while (running) {
+            int dispatched;
+            try {
+                dispatched = dispatchBatch();
+            } catch (RuntimeException e) {
+                log.error("Could not dispatch product outbox events, retrying in {} ms", pollIntervalMillis, e);
+                dispatched = -1;
+            }
+            // Keep draining without pause while there is a backlog
+            if (dispatched < batchSize) {
+                synchronized (this) {
+                    try {
+                        if (running) {
+                            wait(pollIntervalMillis);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers one batch of the oldest outbox events and deletes the delivered ones.
+     * @return the number of delivered events
+     */
+    int dispatchBatch() {
+        List<ProductOutboxEntity> batch = outboxRepository.findAllByOrderByChangeSequence(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<List<ProductOutboxEvent>> partitions = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (ProductOutboxEntity entity : batch) {
+            partitions.get(Math.floorMod(entity.getSku().hashCode(), parallelism)).add(new ProductOutboxEvent(
+                    entity.getChangeSequence(), entity.getSku(), entity.isDeleted(), entity.getPayload()));
+        }
+
+        List<CompletableFuture<List<ProductOutboxEvent>>> sends = new ArrayList<>();
+        for (List<ProductOutboxEvent> partition : partitions) {
+            if (!partition.isEmpty()) {
+                sends.add(CompletableFuture.supplyAsync(() -> send(partition), senders));
+            }
+        }
+        List<Long> delivered = new ArrayList<>(batch.size());
+        for (CompletableFuture<List<ProductOutboxEvent>> send : sends) {
+            send.join().forEach(event -> delivered.add(event.sequence()));
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(delivered);
+        }
+        return delivered.size();
+    }
+
+    /**
+     * Sends one partition to the sink.
+     * @param partition the events of the partition
+     * @return the delivered events, empty if the sink failed
+     */
+    private List<ProductOutboxEvent> send(List<ProductOutboxEvent> partition) {
+        try {
+            sink.send(partition);
+            return partition;
+        } catch (Exception e) {
+            log.warn("Could not deliver {} product events from sequence {}, retrying on the next round",
+                    partition.size(), partition.get(0).sequence(), e);
+            return List.of();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Wake the poller instead of interrupting it: an interrupt during a query can close H2's file channel
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (poller != null) {
+            poller.join();
+        }
+        senders.shutdown();
+        senders.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
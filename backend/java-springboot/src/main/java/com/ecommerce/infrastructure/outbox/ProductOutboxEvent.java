@@ -0,0 +1,11 @@
+package com.ecommerce.infrastructure.outbox;
+
+/**
+ * A product event read from the outbox, handed to a ProductEventSink.
+ * @param sequence the change sequence of the event, unique and increasing in commit order
+ * @param sku the SKU of the product
+ * @param deleted whether the product was deleted
+ * @param payload the event as JSON, in the format of a change feed entry
+ */
+public record ProductOutboxEvent(long sequence, String sku, boolean deleted, String payload) {
+}
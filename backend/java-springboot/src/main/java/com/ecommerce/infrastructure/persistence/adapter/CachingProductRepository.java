@@ -0,0 +1,256 @@
+package com.ecommerce.infrastructure.persistence.adapter;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.port.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Caching decorator of the ProductRepository port.
+ * SKU lookups are served from a bounded, expiring in-memory cache and fall through to the delegate on a miss.
+ * Writes evict the affected SKUs immediately and once more when the surrounding transaction completes,
+ * so a concurrent reader cannot re-cache a value that is about to change or be rolled back. A miss is loaded inside
+ * the cache's compute for that SKU, and an eviction waits for a load in progress: a reader that read the row before
+ * the write committed cannot put it back after the eviction.
+ * Read-write transactions always read from the delegate: a product they change must be the stored one, not a copy
+ * that another instance or the stock ledger flush may have outdated.
+ * When lookups may be served by read replicas, a written SKU is not cached again for the replication delay after its
+ * transaction: a lagging replica could otherwise put back the value from before the write for the whole time-to-live.
+ * Products are copied in and out of the cache because the domain model is mutable.
+ */
+public class CachingProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final Cache<String, Product> cache;
+    private final Cache<String, Boolean> recentlyWritten;
+
+    public CachingProductRepository(ProductRepository delegate, long maximumSize, Duration timeToLive) {
+        this(delegate, maximumSize, timeToLive, Duration.ZERO);
+    }
+
+    public CachingProductRepository(ProductRepository delegate, long maximumSize, Duration timeToLive,
+                                    Duration replicationDelay) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.recentlyWritten = replicationDelay.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(replicationDelay)
+                .build();
+    }
+
+    /**
+     * Returns a snapshot of the cache hit/miss/eviction statistics.
+     * @return the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the underlying cache, e.g. to bind it to a metrics registry.
+     * @return the cache
+     */
+    public Cache<String, Product> getCache() {
+        return cache;
+    }
+
+    /**
+     * Drops SKUs whose stored products were changed without going through this repository, e.g. by a stock ledger flush.
+     * @param skus the SKUs of the changed products
+     */
+    public void invalidate(Collection<String> skus) {
+        cache.invalidateAll(skus);
+        if (recentlyWritten != null) {
+            skus.forEach(sku -> recentlyWritten.put(sku, Boolean.TRUE));
+        }
+    }
+
+    @Override
+    public Product insert(Product product) {
+        evict(product.getSku());
+        return delegate.insert(product);
+    }
+
+    @Override
+    public Product save(Product product) {
+        evict(product.getSku());
+        return delegate.save(product);
+    }
+
+    @Override
+    public void saveBatch(List<Product> newProducts, List<Product> changedProducts) {
+        evictAll(changedProducts.stream().map(Product::getSku).collect(Collectors.toList()));
+        delegate.saveBatch(newProducts, changedProducts);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return delegate.findBySku(sku);
+        }
+        if (recentlyWritten != null && recentlyWritten.getIfPresent(sku) != null) {
+            return delegate.findBySku(sku);
+        }
+        Product cached = cache.get(sku, key -> delegate.findBySku(key)
+                .map(found -> found.toBuilder().build())
+                .orElse(null));
+        return Optional.ofNullable(cached).map(product -> product.toBuilder().build());
+    }
+
+    /**
+     * Always reads from the delegate: bulk updates rely on the loaded entities being managed by the current transaction.
+     */
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return delegate.findAllBySkus(skus);
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        return delegate.findByName(name);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Product> findPage(ProductFilter filter, String afterSku, int limit) {
+        return delegate.findPage(filter, afterSku, limit);
+    }
+
+    @Override
+    public List<String> findSkus(ProductFilter filter, String afterSku, int limit) {
+        return delegate.findSkus(filter, afterSku, limit);
+    }
+
+    @Override
+    public List<Product> reprice(Collection<String> skus, PriceRule rule) {
+        evictAll(skus);
+        return delegate.reprice(skus, rule);
+    }
+
+    @Override
+    public List<Product> updateEnabled(Collection<String> skus, boolean enabled) {
+        evictAll(skus);
+        return delegate.updateEnabled(skus, enabled);
+    }
+
+    @Override
+    public List<ProductChange> deleteAllDeletable(Collection<String> skus) {
+        evictAll(skus);
+        return delegate.deleteAllDeletable(skus);
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll();
+    }
+
+    @Override
+    public void delete(Product product) {
+        evict(product.getSku());
+        delegate.delete(product);
+    }
+
+    @Override
+    public List<ProductChange> findChangesSince(long sequence, int limit) {
+        return delegate.findChangesSince(sequence, limit);
+    }
+
+    /**
+     * Always asks the delegate: a cached product may since have been deleted through another instance.
+     */
+    @Override
+    public boolean existsBySku(String sku) {
+        return delegate.existsBySku(sku);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return delegate.findExistingNames(names);
+    }
+
+    @Override
+    public boolean reserveStock(String sku, int quantity) {
+        evict(sku);
+        return delegate.reserveStock(sku, quantity);
+    }
+
+    @Override
+    public boolean releaseStock(String sku, int quantity) {
+        evict(sku);
+        return delegate.releaseStock(sku, quantity);
+    }
+
+    @Override
+    public boolean decrementStock(String sku, int quantity, boolean fromReservation) {
+        evict(sku);
+        return delegate.decrementStock(sku, quantity, fromReservation);
+    }
+
+    @Override
+    public boolean incrementStock(String sku, int quantity) {
+        evict(sku);
+        return delegate.incrementStock(sku, quantity);
+    }
+
+    private void evict(String sku) {
+        cache.invalidate(sku);
+        afterTransaction(() -> {
+            cache.invalidate(sku);
+            if (recentlyWritten != null) {
+                recentlyWritten.put(sku, Boolean.TRUE);
+            }
+        });
+    }
+
+    private void evictAll(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(skus);
+        afterTransaction(() -> invalidate(skus));
+    }
+
+    /**
+     * Runs the action when the current transaction completes, whether it commits or rolls back.
+     * Without an active transaction there is nothing to wait for, so the write has already been applied.
+     * @param action the action to run
+     */
+    private void afterTransaction(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
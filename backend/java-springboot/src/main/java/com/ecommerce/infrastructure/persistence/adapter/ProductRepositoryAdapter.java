@@ -1,63 +1,214 @@
 package com.ecommerce.infrastructure.persistence.adapter;
 
+import com.ecommerce.domain.model.PriceRule;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
 import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.infrastructure.persistence.entity.ProductChangeCounterEntity;
 import com.ecommerce.infrastructure.persistence.entity.ProductEntity;
+import com.ecommerce.infrastructure.persistence.repository.JpaProductChangeCounterRepository;
 import com.ecommerce.infrastructure.persistence.repository.JpaProductRepository;
+import com.ecommerce.infrastructure.persistence.repository.JpaProductTombstoneRepository;
+import com.ecommerce.infrastructure.persistence.repository.ProductSpecifications;
+import com.ecommerce.domain.exception.ProductVersionConflictException;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Adapter implementation of the ProductRepository port.
  * This class adapts the JpaProductRepository to the ProductRepository interface.
  */
 @Component
+@Timed("product.repository")
 public class ProductRepositoryAdapter implements ProductRepository {
 
     private final JpaProductRepository jpaProductRepository;
+    private final JpaProductTombstoneRepository tombstoneRepository;
+    private final JpaProductChangeCounterRepository changeCounterRepository;
+    private final EntityManager entityManager;
 
-    public ProductRepositoryAdapter(JpaProductRepository jpaProductRepository) {
+    public ProductRepositoryAdapter(JpaProductRepository jpaProductRepository,
+                                    JpaProductTombstoneRepository tombstoneRepository,
+                                    JpaProductChangeCounterRepository changeCounterRepository,
+                                    EntityManager entityManager) {
         this.jpaProductRepository = jpaProductRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeCounterRepository = changeCounterRepository;
+        this.entityManager = entityManager;
     }
 
     /**
      * Maps a domain Product to a persistence ProductEntity.
+     * Package-private so the mapping can be benchmarked in isolation.
      * @param product the domain product to map
      * @return the mapped product entity
      */
-    private ProductEntity mapToEntity(Product product) {
+    ProductEntity mapToEntity(Product product) {
         return ProductEntity.builder()
                 .sku(product.getSku())
                 .name(product.getName())
+                .normalizedName(Product.normalizeName(product.getName()))
                 .price(product.getPrice())
+                .currency(product.getCurrency())
                 .stock(product.getStock())
+                .reserved(product.getReserved())
                 .enabled(product.isEnabled())
+                .version(product.getVersion())
+                .changeSequence(product.getChangeSequence())
                 .build();
     }
 
     /**
      * Maps a persistence ProductEntity to a domain Product.
+     * Package-private so the mapping can be benchmarked in isolation.
      * @param entity the product entity to map
      * @return the mapped domain product
      */
-    private Product mapToDomain(ProductEntity entity) {
+    Product mapToDomain(ProductEntity entity) {
         return Product.builder()
                 .sku(entity.getSku())
                 .name(entity.getName())
                 .price(entity.getPrice())
+                .currency(entity.getCurrency())
                 .stock(entity.getStock())
+                .reserved(entity.getReserved())
                 .enabled(entity.isEnabled())
+                .version(entity.getVersion())
+                .changeSequence(entity.getChangeSequence())
                 .build();
     }
 
     @Override
-    public Product save(Product product) {
+    public Product insert(Product product) {
+        // Persist instead of save: the assigned SKU would otherwise make Spring Data merge and SELECT the row first
         ProductEntity entity = mapToEntity(product);
-        ProductEntity savedEntity = jpaProductRepository.save(entity);
-        return mapToDomain(savedEntity);
+        entity.setChangeSequence(allocateChangeSequences(1));
+        entityManager.persist(entity);
+        flush(product);
+        return mapToDomain(entity);
+    }
+
+    @Override
+    public Product save(Product product) {
+        // The product was read earlier in the transaction, so its entity is still managed and no SELECT is needed;
+        // a concurrent write since then fails the version check of the flush
+        ProductEntity entity = entityManager.find(ProductEntity.class, product.getSku());
+        if (entity == null) {
+            // Deleted since it was read: an update must not bring it back
+            throw new IllegalArgumentException("Product with SKU '" + product.getSku() + "' not found");
+        }
+        entity.setName(product.getName());
+        entity.setNormalizedName(Product.normalizeName(product.getName()));
+        entity.setPrice(product.getPrice());
+        entity.setCurrency(product.getCurrency());
+        entity.setEnabled(product.isEnabled());
+        entity.setChangeSequence(allocateChangeSequences(1));
+        flush(product);
+        return mapToDomain(entity);
+    }
+
+    /**
+     * Allocates consecutive change sequences for the writes of the current transaction.
+     * The counter row stays locked until the transaction ends, so catalog writes commit in sequence order
+     * and the change feed never skips a write that was still in flight when a consumer read past it.
+     * @param count the number of sequences to allocate
+     * @return the last allocated sequence; the first one is {@code count - 1} lower
+     */
+    private long allocateChangeSequences(int count) {
+        Long lastSequence = changeCounterRepository.advance(ProductChangeCounterEntity.PRODUCTS, count);
+        if (lastSequence == null) {
+            throw new IllegalStateException("Change counter '" + ProductChangeCounterEntity.PRODUCTS + "' is missing");
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Flushes pending changes so unique constraint violations surface here, as the port's IllegalArgumentException.
+     * @param product the product being written
+     */
+    private void flush(Product product) {
+        try {
+            entityManager.flush();
+        } catch (OptimisticLockException e) {
+            throw new ProductVersionConflictException(product.getSku());
+        } catch (PersistenceException e) {
+            String constraint = violatedConstraint(e);
+            if (constraint.contains(ProductEntity.NAME_CONSTRAINT)) {
+                throw new IllegalArgumentException("A product with name '" + product.getName() + "' already exists");
+            }
+            if (constraint.contains("primary")) {
+                throw new IllegalArgumentException("A product with SKU '" + product.getSku() + "' already exists");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the lower-cased name of the constraint behind a persistence exception.
+     * @param exception the exception thrown by the flush
+     * @return the constraint name, or an empty string if no constraint was violated
+     */
+    private static String violatedConstraint(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
+        }
+        return "";
+    }
+
+    @Override
+    public void saveBatch(List<Product> newProducts, List<Product> changedProducts) {
+        int count = changedProducts.size() + newProducts.size();
+        if (count == 0) {
+            return;
+        }
+        long sequence = allocateChangeSequences(count) - count;
+        // Entities loaded earlier in the transaction are still managed, so merging them does not hit the database
+        List<ProductEntity> changedEntities = new ArrayList<>(changedProducts.size());
+        for (Product product : changedProducts) {
+            ProductEntity entity = mapToEntity(product);
+            entity.setChangeSequence(++sequence);
+            changedEntities.add(entityManager.merge(entity));
+        }
+        // Persist instead of save: the assigned SKU would otherwise make Spring Data merge and SELECT each row first
+        for (Product product : newProducts) {
+            product.setChangeSequence(++sequence);
+            entityManager.persist(mapToEntity(product));
+        }
+
+        // Send the statements as JDBC batches now and release the entities so memory stays bounded across batches
+        entityManager.flush();
+        for (int i = 0; i < changedProducts.size(); i++) {
+            changedProducts.get(i).setVersion(changedEntities.get(i).getVersion());
+            changedProducts.get(i).setChangeSequence(changedEntities.get(i).getChangeSequence());
+        }
+        entityManager.clear();
     }
 
     @Override
@@ -66,9 +217,16 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .map(this::mapToDomain);
     }
 
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return jpaProductRepository.findAllById(skus).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Product> findByName(String name) {
-        return jpaProductRepository.findByName(name)
+        return jpaProductRepository.findByNormalizedName(Product.normalizeName(name))
                 .map(this::mapToDomain);
     }
 
@@ -79,9 +237,206 @@ public class ProductRepositoryAdapter implements ProductRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Product> findPage(ProductFilter filter, String afterSku, int limit) {
+        // A criteria query rather than findBy(spec, sortBy): the fluent query repeats the sort keys in the ORDER BY,
+        // which keeps H2 from reading the rows in index order and makes it sort the whole match instead
+        return pageQuery(ProductEntity.class, filter, afterSku, limit, root -> root).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> findSkus(ProductFilter filter, String afterSku, int limit) {
+        return pageQuery(String.class, filter, afterSku, limit, root -> root.<String>get("sku"));
+    }
+
+    /**
+     * Runs a keyset page query over the products matching a filter.
+     * @param resultType the type of the selected values
+     * @param filter the criteria the products must match
+     * @param afterSku the SKU to start after, or null to start from the beginning
+     * @param limit the maximum number of rows
+     * @param selection selects the returned value from the product root
+     * @return the selected values of the page, in SKU order
+     */
+    private <T> List<T> pageQuery(Class<T> resultType, ProductFilter filter, String afterSku, int limit,
+                                  Function<Root<ProductEntity>, Selection<T>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(resultType);
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+        query.select(selection.apply(root))
+                .where(ProductSpecifications.matching(filter, afterSku).toPredicate(root, query, cb))
+                .orderBy(Arrays.stream(ProductSpecifications.keysetOrder(filter))
+                        .map(attribute -> cb.asc(root.get(attribute)))
+                        .collect(Collectors.toList()));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<Product> reprice(Collection<String> skus, PriceRule rule) {
+        String newPrice = newPriceExpression(rule);
+        return updateEach(skus, newPrice + " BETWEEN 1 AND :maxPrice", "price = " + newPrice, update -> {
+            update.setParameter("maxPrice", Product.MAX_PRICE);
+            if (rule.getType() == PriceRule.Type.PERCENTAGE) {
+                update.setParameter("factor", 10_000 + rule.getValue());
+            } else {
+                update.setParameter("amount", rule.getValue());
+            }
+        });
+    }
+
+    @Override
+    public List<Product> updateEnabled(Collection<String> skus, boolean enabled) {
+        return updateEach(skus, "p.enabled <> :enabled", "enabled = :enabled",
+                update -> update.setParameter("enabled", enabled));
+    }
+
+    /**
+     * Updates the given products with a single set-based statement, giving each updated row its own change sequence.
+     * @param skus the SKUs of the products to update
+     * @param condition the SQL condition a row of {@code products p} must meet to be updated
+     * @param assignments the SQL assignments of the update, besides the version and the change sequence
+     * @param parameters binds the parameters used by the condition and the assignments
+     * @return the updated products in change sequence order
+     */
+    private List<Product> updateEach(Collection<String> skus, String condition, String assignments,
+                                     Consumer<Query> parameters) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        List<String> sorted = skus.stream().distinct().sorted().collect(Collectors.toList());
+        long previousSequence = allocateChangeSequences(sorted.size()) - sorted.size();
+
+        // A standard SQL MERGE joining the chunk's SKUs, as a VALUES table, on the primary key: each row is found by an
+        // index lookup, and gets its own change sequence from its position so the change feed can page through them.
+        // Positions are literals, so the statement text only depends on the chunk size and the caller.
+        String sql = "MERGE INTO products p USING " + positionsTable(sorted.size())
+                + " ON p.sku = chunk.sku WHEN MATCHED AND " + condition + " THEN UPDATE SET " + assignments
+                + ", version = p.version + 1, change_sequence = :previousSequence + chunk.position";
+        entityManager.flush();
+        Query update = entityManager.createNativeQuery(sql)
+                .setParameter("previousSequence", previousSequence);
+        bindPositions(update, sorted);
+        parameters.accept(update);
+        update.executeUpdate();
+        entityManager.clear();
+
+        // Nothing else can write a change sequence while the counter row is locked, so the rows of the range above
+        // previousSequence are the updated ones; the rows that did not meet the condition kept their older sequence
+        return jpaProductRepository.findBySkuBetweenAndChangeSequenceGreaterThanOrderByChangeSequence(
+                        sorted.get(0), sorted.get(sorted.size() - 1), previousSequence).stream()
+                .map(this::mapToDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProductChange> deleteAllDeletable(Collection<String> skus) {
+        if (skus.isEmpty()) {
+            return List.of();
+        }
+        // Take the counter lock before the row locks, in the same order as every other catalog write
+        List<String> sorted = skus.stream().distinct().sorted().collect(Collectors.toList());
+        long previousSequence = allocateChangeSequences(sorted.size()) - sorted.size();
+        entityManager.flush();
+        // The deletable rows stay locked, so a concurrent stock increment cannot slip in before they are deleted
+        List<String> deletable = jpaProductRepository.lockDeletableSkus(sorted);
+        if (deletable.isEmpty()) {
+            return List.of();
+        }
+        jpaProductRepository.deleteAllByIdInBatch(deletable);
+        writeTombstones(deletable, previousSequence);
+        entityManager.clear();
+
+        List<ProductChange> changes = new ArrayList<>(deletable.size());
+        for (int i = 0; i < deletable.size(); i++) {
+            changes.add(ProductChange.tombstone(deletable.get(i), previousSequence + i + 1));
+        }
+        return changes;
+    }
+
+    /**
+     * Returns a VALUES table {@code chunk(sku, position)} of the given size, with :sku0, :sku1... as SKUs
+     * and 1, 2... as positions.
+     * @param size the number of rows
+     * @return the SQL of the table
+     */
+    private static String positionsTable(int size) {
+        StringBuilder sql = new StringBuilder("(VALUES ");
+        for (int i = 0; i < size; i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:sku").append(i).append(", ").append(i + 1).append(")");
+        }
+        return sql.append(") AS chunk(sku, position)").toString();
+    }
+
+    private static void bindPositions(Query query, List<String> skus) {
+        for (int i = 0; i < skus.size(); i++) {
+            query.setParameter("sku" + i, skus.get(i));
+        }
+    }
+
+    /**
+     * Returns the SQL expression of the new price of a product under a rule, in integer arithmetic.
+     * Prices and amounts are at most Product.MAX_PRICE and factors at most 110000 (see ProductBatchServiceImpl),
+     * so the expression cannot overflow a BIGINT.
+     * @param rule the price rule
+     * @return the expression, using the :factor or :amount parameter
+     */
+    private static String newPriceExpression(PriceRule rule) {
+        return switch (rule.getType()) {
+            // The numerator is never negative, so the integer division rounds half up
+            case PERCENTAGE -> "(p.price * :factor + 5000) / 10000";
+            case ABSOLUTE -> "p.price + :amount";
+            case SET -> ":amount";
+        };
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return jpaProductRepository.streamAllByOrderBySku()
+                .map(entity -> {
+                    // Detach each entity once mapped so the persistence context does not grow with the catalog
+                    entityManager.detach(entity);
+                    return mapToDomain(entity);
+                });
+    }
+
     @Override
     public void delete(Product product) {
         jpaProductRepository.deleteById(product.getSku());
+        product.setChangeSequence(allocateChangeSequences(1));
+        writeTombstones(List.of(product.getSku()), product.getChangeSequence() - 1);
+    }
+
+    /**
+     * Inserts or replaces the tombstones of deleted products with one statement.
+     * A SKU deleted before already has a tombstone, which saving an entity would have to SELECT before writing it.
+     * @param skus the SKUs of the deleted products
+     * @param previousSequence the sequence before the first tombstone's; the others follow in the order of the SKUs
+     */
+    private void writeTombstones(List<String> skus, long previousSequence) {
+        Query tombstones = entityManager.createNativeQuery("MERGE INTO product_tombstones t USING "
+                        + positionsTable(skus.size()) + " ON t.sku = chunk.sku "
+                        + "WHEN MATCHED THEN UPDATE SET change_sequence = :previousSequence + chunk.position "
+                        + "WHEN NOT MATCHED THEN INSERT (sku, change_sequence) "
+                        + "VALUES (chunk.sku, :previousSequence + chunk.position)")
+                .setParameter("previousSequence", previousSequence);
+        bindPositions(tombstones, skus);
+        tombstones.executeUpdate();
+    }
+
+    @Override
+    public List<ProductChange> findChangesSince(long sequence, int limit) {
+        // Both queries are ordered by sequence, so the first entries of their union are the first changes overall
+        List<ProductChange> changes = new ArrayList<>();
+        jpaProductRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(sequence, Limit.of(limit))
+                .forEach(entity -> changes.add(ProductChange.upsert(mapToDomain(entity))));
+        tombstoneRepository.findByChangeSequenceGreaterThanOrderByChangeSequence(sequence, Limit.of(limit))
+                .forEach(tombstone -> changes.add(ProductChange.tombstone(tombstone.getSku(), tombstone.getChangeSequence())));
+        changes.sort(Comparator.comparingLong(ProductChange::getSequence));
+        return changes.size() > limit ? new ArrayList<>(changes.subList(0, limit)) : changes;
     }
 
     @Override
@@ -91,6 +446,38 @@ public class ProductRepositoryAdapter implements ProductRepository {
 
     @Override
     public boolean existsByName(String name) {
-        return jpaProductRepository.existsByName(name);
+        return jpaProductRepository.existsByNormalizedName(Product.normalizeName(name));
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        Set<String> taken = new HashSet<>(jpaProductRepository.findNormalizedNamesIn(
+                names.stream().map(Product::normalizeName).collect(Collectors.toSet())));
+        return names.stream()
+                .filter(name -> taken.contains(Product.normalizeName(name)))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public boolean reserveStock(String sku, int quantity) {
+        return jpaProductRepository.reserveStock(sku, quantity) == 1;
+    }
+
+    @Override
+    public boolean releaseStock(String sku, int quantity) {
+        return jpaProductRepository.releaseStock(sku, quantity) == 1;
+    }
+
+    @Override
+    public boolean decrementStock(String sku, int quantity, boolean fromReservation) {
+        int updated = fromReservation
+                ? jpaProductRepository.decrementReservedStock(sku, quantity)
+                : jpaProductRepository.decrementAvailableStock(sku, quantity);
+        return updated == 1;
+    }
+
+    @Override
+    public boolean incrementStock(String sku, int quantity) {
+        return jpaProductRepository.incrementStock(sku, quantity) == 1;
     }
-}
\ No newline at end of file
+}
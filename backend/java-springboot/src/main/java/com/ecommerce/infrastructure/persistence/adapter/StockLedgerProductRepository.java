@@ -0,0 +1,192 @@
+package com.ecommerce.infrastructure.persistence.adapter;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.infrastructure.persistence.ledger.StockLedger;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decorator of the ProductRepository port that routes the stock adjustments of hot SKUs to the in-memory StockLedger.
+ * Reads report the ledger's stock for those SKUs, since the products table only catches up at the next flush.
+ * Deleting a hot SKU drops its ledger counters once the deletion commits, so its stock can no longer be adjusted.
+ */
+public class StockLedgerProductRepository implements ProductRepository {
+
+    private final ProductRepository delegate;
+    private final StockLedger stockLedger;
+
+    public StockLedgerProductRepository(ProductRepository delegate, StockLedger stockLedger) {
+        this.delegate = delegate;
+        this.stockLedger = stockLedger;
+    }
+
+    @Override
+    public Product insert(Product product) {
+        return delegate.insert(product);
+    }
+
+    @Override
+    public Product save(Product product) {
+        return stockLedger.overlay(delegate.save(product));
+    }
+
+    @Override
+    public void saveBatch(List<Product> newProducts, List<Product> changedProducts) {
+        delegate.saveBatch(newProducts, changedProducts);
+    }
+
+    @Override
+    public Optional<Product> findBySku(String sku) {
+        return delegate.findBySku(sku).map(stockLedger::overlay);
+    }
+
+    @Override
+    public List<Product> findAllBySkus(Collection<String> skus) {
+        return overlayAll(delegate.findAllBySkus(skus));
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        return delegate.findByName(name).map(stockLedger::overlay);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return overlayAll(delegate.findAll());
+    }
+
+    @Override
+    public List<Product> findPage(ProductFilter filter, String afterSku, int limit) {
+        return overlayAll(delegate.findPage(filter, afterSku, limit));
+    }
+
+    @Override
+    public List<String> findSkus(ProductFilter filter, String afterSku, int limit) {
+        return delegate.findSkus(filter, afterSku, limit);
+    }
+
+    @Override
+    public List<Product> reprice(Collection<String> skus, PriceRule rule) {
+        return overlayAll(delegate.reprice(skus, rule));
+    }
+
+    @Override
+    public List<Product> updateEnabled(Collection<String> skus, boolean enabled) {
+        return overlayAll(delegate.updateEnabled(skus, enabled));
+    }
+
+    /**
+     * Leaves out the hot SKUs that still have stock in the ledger, since the products table may not show it yet.
+     */
+    @Override
+    public List<ProductChange> deleteAllDeletable(Collection<String> skus) {
+        List<String> hotSkus = skus.stream().filter(stockLedger::isHot).collect(Collectors.toList());
+        if (hotSkus.isEmpty()) {
+            return delegate.deleteAllDeletable(skus);
+        }
+        Set<String> stocked = overlayAll(delegate.findAllBySkus(hotSkus)).stream()
+                .filter(product -> product.getStock() != 0)
+                .map(Product::getSku)
+                .collect(Collectors.toSet());
+        List<ProductChange> deleted = delegate.deleteAllDeletable(skus.stream()
+                .filter(sku -> !stocked.contains(sku))
+                .collect(Collectors.toList()));
+        forgetOnCommit(deleted.stream().map(ProductChange::getSku).collect(Collectors.toList()));
+        return deleted;
+    }
+
+    @Override
+    public Stream<Product> streamAll() {
+        return delegate.streamAll().map(stockLedger::overlay);
+    }
+
+    @Override
+    public void delete(Product product) {
+        delegate.delete(product);
+        forgetOnCommit(List.of(product.getSku()));
+    }
+
+    @Override
+    public List<ProductChange> findChangesSince(long sequence, int limit) {
+        List<ProductChange> changes = delegate.findChangesSince(sequence, limit);
+        changes.stream()
+                .filter(change -> !change.isDeleted())
+                .forEach(change -> change.setProduct(stockLedger.overlay(change.getProduct())));
+        return changes;
+    }
+
+    @Override
+    public boolean existsBySku(String sku) {
+        return delegate.existsBySku(sku);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return delegate.findExistingNames(names);
+    }
+
+    @Override
+    public boolean reserveStock(String sku, int quantity) {
+        return stockLedger.isHot(sku) ? stockLedger.reserve(sku, quantity) : delegate.reserveStock(sku, quantity);
+    }
+
+    @Override
+    public boolean releaseStock(String sku, int quantity) {
+        return stockLedger.isHot(sku) ? stockLedger.release(sku, quantity) : delegate.releaseStock(sku, quantity);
+    }
+
+    @Override
+    public boolean decrementStock(String sku, int quantity, boolean fromReservation) {
+        return stockLedger.isHot(sku)
+                ? stockLedger.decrement(sku, quantity, fromReservation)
+                : delegate.decrementStock(sku, quantity, fromReservation);
+    }
+
+    @Override
+    public boolean incrementStock(String sku, int quantity) {
+        return stockLedger.isHot(sku) ? stockLedger.increment(sku, quantity) : delegate.incrementStock(sku, quantity);
+    }
+
+    /**
+     * Drops the ledger counters of deleted hot SKUs when the deletion commits; until then the products still exist.
+     * @param skus the SKUs of the deleted products
+     */
+    private void forgetOnCommit(Collection<String> skus) {
+        List<String> hotSkus = skus.stream().filter(stockLedger::isHot).collect(Collectors.toList());
+        if (hotSkus.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            hotSkus.forEach(stockLedger::forget);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                hotSkus.forEach(stockLedger::forget);
+            }
+        });
+    }
+
+    private List<Product> overlayAll(List<Product> products) {
+        return products.stream()
+                .map(stockLedger::overlay)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity holding the last change sequence handed out to a catalog write.
+ * The row is seeded by the V1 migration and advanced in the transaction of each write.
+ */
+@Entity
+@Table(name = "product_change_counters")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeCounterEntity {
+    
+    public static final String PRODUCTS = "products";
+    
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
@@ -3,7 +3,10 @@ package com.ecommerce.infrastructure.persistence.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,26 +17,58 @@ import lombok.NoArgsConstructor;
  * This is the persistence model for the Product domain entity.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = ProductEntity.NAME_CONSTRAINT, columnNames = "normalized_name"),
+        indexes = {
+                @Index(name = "idx_products_change_sequence", columnList = "change_sequence"),
+                @Index(name = "idx_products_enabled", columnList = "enabled, sku")
+        })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class ProductEntity {
     
+    public static final String NAME_CONSTRAINT = "uk_products_name";
+    
     @Id
     @Column(name = "sku", nullable = false, unique = true)
     private String sku;
     
-    @Column(name = "name", nullable = false, unique = true)
+    @Column(name = "name", nullable = false)
     private String name;
     
+    // Product.normalizeName of the name; its unique index makes equivalent names collide in a single index probe
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+    
+    // In minor units of the currency
     @Column(name = "price", nullable = false)
-    private double price;
+    private long price;
     
-    @Column(name = "stock", nullable = false)
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+    
+    // Stock columns are only changed by the conditional stock UPDATEs, never by merging a possibly stale entity
+    @Column(name = "stock", nullable = false, updatable = false)
     private int stock;
     
+    @Column(name = "reserved", nullable = false, updatable = false)
+    private int reserved;
+    
     @Column(name = "enabled", nullable = false)
     private boolean enabled;
+    
+    // Incremented by every catalog write and compared against If-Match; stock movements do not change it
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+    
+    // Incremented by the stock UPDATE statements and stock ledger flushes instead of the version
+    @Column(name = "stock_version", nullable = false, updatable = false)
+    private long stockVersion;
+    
+    // Position of the last catalog write in the change feed; stock adjustments do not advance it
+    @Column(name = "change_sequence", nullable = false)
+    private long changeSequence;
 }
\ No newline at end of file
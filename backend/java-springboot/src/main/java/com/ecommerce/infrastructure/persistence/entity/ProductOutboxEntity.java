@@ -0,0 +1,45 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * JPA entity for a product event waiting in the transactional outbox.
+ * Rows are inserted in the transaction of the catalog write and deleted once the dispatcher has delivered them.
+ * The change sequence identifies the event: catalog writes commit in sequence order, so it is also the delivery order.
+ */
+@Entity
+@Table(name = "product_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductOutboxEntity {
+    
+    @Id
+    @Column(name = "change_sequence", nullable = false)
+    private long changeSequence;
+    
+    @Column(name = "sku", nullable = false)
+    private String sku;
+    
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+    
+    // The event as JSON, in the format of the change feed
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
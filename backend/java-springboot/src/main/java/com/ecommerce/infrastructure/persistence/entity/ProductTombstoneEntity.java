@@ -0,0 +1,30 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity recording the deletion of a product, so the change feed can report it after the product row is gone.
+ */
+@Entity
+@Table(name = "product_tombstones", indexes = @Index(name = "idx_product_tombstones_change_sequence", columnList = "change_sequence"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductTombstoneEntity {
+    
+    @Id
+    @Column(name = "sku", nullable = false)
+    private String sku;
+    
+    @Column(name = "change_sequence", nullable = false)
+    private long changeSequence;
+}
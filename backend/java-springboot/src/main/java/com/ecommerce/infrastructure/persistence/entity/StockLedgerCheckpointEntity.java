@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity recording the last stock ledger journal sequence applied to the products table, per node.
+ */
+@Entity
+@Table(name = "stock_ledger_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLedgerCheckpointEntity {
+    
+    @Id
+    @Column(name = "node_id", nullable = false)
+    private String nodeId;
+    
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+}
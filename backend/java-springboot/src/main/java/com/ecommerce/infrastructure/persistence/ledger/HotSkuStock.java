@@ -0,0 +1,114 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory stock counters of one hot product.
+ * The available stock is split across padded stripes so concurrent reservations usually CAS different cache lines;
+ * a reservation that no single stripe can satisfy gathers the stripes under a lock. The stock on hand and the reserved
+ * stock are LongAdders: increases never need a check, and decreases of the reserved stock are serialised among
+ * themselves, which is enough because concurrent reservations can only make the reserved stock larger.
+ */
+final class HotSkuStock {
+
+    // 16 longs = 128 bytes between stripes, so two stripes never share a cache line (or an adjacent-line prefetch)
+    private static final int PADDING = 16;
+
+    private final AtomicLongArray available;
+    private final int stripeMask;
+    private final LongAdder stock = new LongAdder();
+    private final LongAdder reserved = new LongAdder();
+    private final Object rebalanceLock = new Object();
+    private final Object reservedDecreaseLock = new Object();
+
+    HotSkuStock(int stock, int reserved, int stripes) {
+        int stripeCount = Integer.highestOneBit(Math.max(1, stripes));
+        this.available = new AtomicLongArray(stripeCount * PADDING);
+        this.stripeMask = stripeCount - 1;
+        this.stock.add(stock);
+        this.reserved.add(reserved);
+
+        long remaining = (long) stock - reserved;
+        for (int i = 0; i < stripeCount; i++) {
+            long share = remaining / (stripeCount - i);
+            available.set(i * PADDING, share);
+            remaining -= share;
+        }
+    }
+
+    int getStock() {
+        return stock.intValue();
+    }
+
+    int getReserved() {
+        return reserved.intValue();
+    }
+
+    void addStock(int quantity) {
+        stock.add(quantity);
+    }
+
+    void addReserved(int quantity) {
+        reserved.add(quantity);
+    }
+
+    /**
+     * Takes available stock if enough is left.
+     * @param quantity the quantity to take
+     * @return true if the quantity was taken
+     */
+    boolean takeAvailable(int quantity) {
+        int home = ThreadLocalRandom.current().nextInt() & stripeMask;
+        for (int i = 0; i <= stripeMask; i++) {
+            if (tryTake(((home + i) & stripeMask) * PADDING, quantity)) {
+                return true;
+            }
+        }
+        // No single stripe holds enough: gather all stripes into the home stripe and try once more
+        synchronized (rebalanceLock) {
+            long total = 0;
+            for (int i = 0; i <= stripeMask; i++) {
+                total += available.getAndSet(i * PADDING, 0);
+            }
+            boolean taken = total >= quantity;
+            available.addAndGet(home * PADDING, taken ? total - quantity : total);
+            return taken;
+        }
+    }
+
+    /**
+     * Returns stock to the available stock.
+     * @param quantity the quantity to return
+     */
+    void giveAvailable(int quantity) {
+        available.addAndGet((ThreadLocalRandom.current().nextInt() & stripeMask) * PADDING, quantity);
+    }
+
+    /**
+     * Takes reserved stock if at least that quantity is reserved.
+     * @param quantity the quantity to take
+     * @return true if the quantity was taken
+     */
+    boolean takeReserved(int quantity) {
+        synchronized (reservedDecreaseLock) {
+            if (reserved.sum() < quantity) {
+                return false;
+            }
+            reserved.add(-quantity);
+            return true;
+        }
+    }
+
+    private boolean tryTake(int index, int quantity) {
+        long current;
+        do {
+            current = available.get(index);
+            if (current < quantity) {
+                return false;
+            }
+        } while (!available.compareAndSet(index, current, current - quantity));
+        return true;
+    }
+}
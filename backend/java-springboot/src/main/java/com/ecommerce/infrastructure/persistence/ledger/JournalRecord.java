@@ -0,0 +1,11 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+/**
+ * A stock adjustment as written to the stock ledger journal.
+ * @param sequence the position of the adjustment in the journal, increasing across restarts
+ * @param sku the SKU of the product
+ * @param stockDelta the change of the stock on hand
+ * @param reservedDelta the change of the reserved stock
+ */
+record JournalRecord(long sequence, String sku, int stockDelta, int reservedDelta) {
+}
@@ -0,0 +1,24 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+/**
+ * Net stock change of one product accumulated since the last flush.
+ * Only used by the single journal writer thread, so it needs no synchronisation.
+ */
+final class StockDelta {
+
+    private long stock;
+    private long reserved;
+
+    void add(int stockDelta, int reservedDelta) {
+        stock += stockDelta;
+        reserved += reservedDelta;
+    }
+
+    long getStock() {
+        return stock;
+    }
+
+    long getReserved() {
+        return reserved;
+    }
+}
@@ -0,0 +1,367 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * In-process stock ledger for hot SKUs.
+ * Adjustments of the configured SKUs are applied to in-memory striped counters instead of the products row, so flash-sale
+ * traffic does not queue on a single row lock. Each adjustment is appended to a local journal and forced to disk before it
+ * is acknowledged; a single writer thread does this for all waiting requests at once (group commit) and periodically
+ * flushes the net delta per SKU to the products table in one batch. On startup, journal records that were not yet
+ * flushed are applied before any adjustment is accepted.
+ * <p>
+ * The ledger assumes it is the only writer of the stock of its hot SKUs, so it must not be enabled on more than one
+ * application instance sharing a database.
+ */
+public class StockLedger implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StockLedger.class);
+    private static final int MAX_JOURNAL_BATCH = 1024;
+
+    private final ProductRepository productRepository;
+    private final StockLedgerStore store;
+    private final Set<String> hotSkus;
+    private final Path journalDirectory;
+    private final long flushIntervalNanos;
+    private final int stripes;
+
+    private final List<Consumer<Set<String>>> flushListeners = new CopyOnWriteArrayList<>();
+    private final Map<String, HotSkuStock> stocks = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingAdjustment> queue = new LinkedBlockingQueue<>();
+    // Queued on close so the writer stops waiting for the next flush; never journaled
+    private final PendingAdjustment wakeUp = new PendingAdjustment(null, 0, 0);
+    private volatile boolean running;
+    private Thread writer;
+
+    // Owned by the writer thread
+    private StockLedgerJournal journal;
+    private long lastSequence;
+    private Map<String, StockDelta> unflushed = new HashMap<>();
+
+    public StockLedger(ProductRepository productRepository, StockLedgerStore store, Collection<String> hotSkus,
+                       Path journalDirectory, Duration flushInterval) {
+        this.productRepository = productRepository;
+        this.store = store;
+        this.hotSkus = Set.copyOf(hotSkus);
+        this.journalDirectory = journalDirectory;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.stripes = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Applies the journal records left by a previous run to the database, then starts accepting adjustments.
+     */
+    public void start() throws IOException {
+        journal = new StockLedgerJournal(journalDirectory);
+        recover();
+        journal.open();
+        running = true;
+        writer = new Thread(this::runWriter, "stock-ledger-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops accepting adjustments, journals the pending ones and flushes everything to the database.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (writer != null) {
+            queue.add(wakeUp);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        failQueued();
+        journal.close();
+    }
+
+    /**
+     * Registers a listener called with the SKUs of each successful flush, whose rows have a new stock.
+     * Listeners run on the writer thread and must not block.
+     * @param listener the listener
+     */
+    public void addFlushListener(Consumer<Set<String>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * Checks whether the stock of a product is kept by this ledger.
+     * @param sku the SKU of the product
+     * @return true if the SKU is configured as hot
+     */
+    public boolean isHot(String sku) {
+        return hotSkus.contains(sku);
+    }
+
+    /**
+     * Drops the counters of a deleted product, so later adjustments of its SKU find no product and are refused.
+     * @param sku the SKU of the deleted product
+     */
+    public void forget(String sku) {
+        stocks.remove(sku);
+    }
+
+    /**
+     * Replaces the stock of a product with the ledger's current values, which may be ahead of the database.
+     * @param product the product as read from the database
+     * @return the product with the ledger's stock, or the product itself if the ledger does not hold its stock
+     */
+    public Product overlay(Product product) {
+        HotSkuStock stock = isHot(product.getSku()) ? stocks.get(product.getSku()) : null;
+        if (stock == null) {
+            return product;
+        }
+        product.setStock(stock.getStock());
+        product.setReserved(stock.getReserved());
+        return product;
+    }
+
+    /**
+     * Reserves available stock of a hot product.
+     * @return true if the stock was reserved, false if the product does not exist or has too little available stock
+     */
+    public boolean reserve(String sku, int quantity) {
+        HotSkuStock stock = load(sku);
+        if (stock == null || !stock.takeAvailable(quantity)) {
+            return false;
+        }
+        journal(sku, 0, quantity, () -> stock.giveAvailable(quantity));
+        stock.addReserved(quantity);
+        return true;
+    }
+
+    /**
+     * Releases reserved stock of a hot product.
+     * @return true if the stock was released, false if the product does not exist or has too little reserved stock
+     */
+    public boolean release(String sku, int quantity) {
+        HotSkuStock stock = load(sku);
+        if (stock == null || !stock.takeReserved(quantity)) {
+            return false;
+        }
+        journal(sku, 0, -quantity, () -> stock.addReserved(quantity));
+        stock.giveAvailable(quantity);
+        return true;
+    }
+
+    /**
+     * Removes available or reserved stock of a hot product.
+     * @return true if the stock was removed, false if the product does not exist or has too little stock of that kind
+     */
+    public boolean decrement(String sku, int quantity, boolean fromReservation) {
+        HotSkuStock stock = load(sku);
+        if (stock == null) {
+            return false;
+        }
+        if (fromReservation) {
+            if (!stock.takeReserved(quantity)) {
+                return false;
+            }
+            journal(sku, -quantity, -quantity, () -> stock.addReserved(quantity));
+        } else {
+            if (!stock.takeAvailable(quantity)) {
+                return false;
+            }
+            journal(sku, -quantity, 0, () -> stock.giveAvailable(quantity));
+        }
+        stock.addStock(-quantity);
+        return true;
+    }
+
+    /**
+     * Adds stock to a hot product.
+     * @return true if the stock was added, false if the product does not exist
+     */
+    public boolean increment(String sku, int quantity) {
+        HotSkuStock stock = load(sku);
+        if (stock == null) {
+            return false;
+        }
+        journal(sku, quantity, 0, () -> { });
+        stock.addStock(quantity);
+        stock.giveAvailable(quantity);
+        return true;
+    }
+
+    /**
+     * Returns the counters of a hot product, loading them from the database on first use.
+     * Unflushed deltas only exist for SKUs already loaded, so the database values are current when they are loaded.
+     */
+    private HotSkuStock load(String sku) {
+        return stocks.computeIfAbsent(sku, key -> productRepository.findBySku(key)
+                .map(product -> new HotSkuStock(product.getStock(), product.getReserved(), stripes))
+                .orElse(null));
+    }
+
+    /**
+     * Waits until the adjustment is durable in the journal. Conditional decreases are applied before journaling and
+     * increases after it, so a failed append only has to give back what this request took.
+     */
+    private void journal(String sku, int stockDelta, int reservedDelta, Runnable undo) {
+        PendingAdjustment adjustment = new PendingAdjustment(sku, stockDelta, reservedDelta);
+        queue.add(adjustment);
+        if (!running && (writer == null || !writer.isAlive())) {
+            failQueued();
+        }
+        try {
+            adjustment.durable.join();
+        } catch (CompletionException e) {
+            undo.run();
+            throw new IllegalStateException("Stock adjustment of product with SKU '" + sku + "' could not be recorded",
+                    e.getCause());
+        }
+    }
+
+    private void failQueued() {
+        PendingAdjustment adjustment;
+        while ((adjustment = queue.poll()) != null) {
+            adjustment.durable.completeExceptionally(new IllegalStateException("Stock ledger is stopped"));
+        }
+    }
+
+    private void runWriter() {
+        List<PendingAdjustment> batch = new ArrayList<>(MAX_JOURNAL_BATCH);
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAdjustment first = queue.poll(Math.max(0, nextFlush - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_JOURNAL_BATCH - 1);
+                    batch.remove(wakeUp);
+                    if (!batch.isEmpty()) {
+                        append(batch);
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (System.nanoTime() - nextFlush >= 0) {
+                flush();
+                nextFlush = System.nanoTime() + flushIntervalNanos;
+            }
+        }
+        flush();
+    }
+
+    private void append(List<PendingAdjustment> batch) {
+        List<JournalRecord> records = new ArrayList<>(batch.size());
+        long sequence = lastSequence;
+        for (PendingAdjustment adjustment : batch) {
+            records.add(new JournalRecord(++sequence, adjustment.sku, adjustment.stockDelta, adjustment.reservedDelta));
+        }
+        try {
+            journal.append(records);
+        } catch (IOException e) {
+            log.error("Could not append {} stock adjustments to the journal", batch.size(), e);
+            batch.forEach(adjustment -> adjustment.durable.completeExceptionally(e));
+            return;
+        }
+        lastSequence = sequence;
+        for (JournalRecord record : records) {
+            unflushed.computeIfAbsent(record.sku(), sku -> new StockDelta()).add(record.stockDelta(), record.reservedDelta());
+        }
+        batch.forEach(adjustment -> adjustment.durable.complete(null));
+    }
+
+    /**
+     * Writes the deltas accumulated since the last flush. On failure they are kept and retried on the next flush;
+     * the journal keeps the records until a flush covering them succeeds.
+     */
+    private void flush() {
+        if (unflushed.isEmpty()) {
+            return;
+        }
+        Set<String> missing;
+        try {
+            missing = store.apply(unflushed, lastSequence);
+        } catch (RuntimeException e) {
+            log.error("Could not flush stock deltas of {} products, retrying on the next flush", unflushed.size(), e);
+            return;
+        }
+        dropMissing(missing);
+        Set<String> flushed = unflushed.keySet();
+        unflushed = new HashMap<>();
+        for (Consumer<Set<String>> listener : flushListeners) {
+            try {
+                listener.accept(flushed);
+            } catch (RuntimeException e) {
+                log.warn("Stock ledger flush listener failed", e);
+            }
+        }
+        try {
+            journal.rollOver();
+        } catch (IOException e) {
+            // Records up to the checkpoint are skipped on replay, so an old segment that was not removed is harmless
+            log.warn("Could not start a new stock ledger journal segment", e);
+        }
+    }
+
+    private void recover() throws IOException {
+        long checkpoint = store.lastAppliedSequence();
+        Map<String, StockDelta> replayed = new HashMap<>();
+        lastSequence = checkpoint;
+        for (JournalRecord record : journal.readAll()) {
+            if (record.sequence() > checkpoint) {
+                replayed.computeIfAbsent(record.sku(), sku -> new StockDelta()).add(record.stockDelta(), record.reservedDelta());
+                lastSequence = Math.max(lastSequence, record.sequence());
+            }
+        }
+        if (!replayed.isEmpty()) {
+            log.info("Replaying unflushed stock adjustments of {} products from the journal", replayed.size());
+            dropMissing(store.apply(replayed, lastSequence));
+        }
+    }
+
+    /**
+     * Forgets the products a flush found deleted. Their deltas are lost, which is only expected for adjustments
+     * acknowledged while the deletion was committing.
+     */
+    private void dropMissing(Set<String> missing) {
+        if (!missing.isEmpty()) {
+            log.warn("Dropped the stock deltas of {} deleted products: {}", missing.size(), missing);
+            missing.forEach(stocks::remove);
+        }
+    }
+
+    private static final class PendingAdjustment {
+
+        private final String sku;
+        private final int stockDelta;
+        private final int reservedDelta;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        private PendingAdjustment(String sku, int stockDelta, int reservedDelta) {
+            this.sku = sku;
+            this.stockDelta = stockDelta;
+            this.reservedDelta = reservedDelta;
+        }
+    }
+}
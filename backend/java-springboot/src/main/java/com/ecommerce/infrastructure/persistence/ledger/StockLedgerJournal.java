@@ -0,0 +1,156 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file journal of stock adjustments, split into numbered segments.
+ * Every record carries a CRC32 so a record torn by a crash is detected and ignored when the journal is read back;
+ * such a record was never acknowledged because the append did not complete.
+ * Not thread-safe: it is only used by the stock ledger's journal writer thread.
+ */
+class StockLedgerJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "stock-ledger-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+    private FileChannel channel;
+    private long segment;
+
+    StockLedgerJournal(Path directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * Reads every intact record of every segment, in journal order.
+     * Reading a segment stops at its first torn or corrupt record.
+     * @return the records
+     */
+    List<JournalRecord> readAll() throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        for (long index : segments()) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segmentPath(index)));
+            JournalRecord record;
+            while ((record = decode(buffer)) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the existing segments and starts a new one. Only call once their records are applied to the database.
+     */
+    void open() throws IOException {
+        List<Long> existing = segments();
+        segment = existing.isEmpty() ? 0 : existing.get(existing.size() - 1) + 1;
+        channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        deleteSegmentsBefore(segment);
+    }
+
+    /**
+     * Appends the records and forces them to disk, so they survive a crash once this method returns.
+     * If the append fails, the segment is truncated back so later appends do not follow a partial record.
+     * @param records the records to append
+     */
+    void append(List<JournalRecord> records) throws IOException {
+        long position = channel.position();
+        try {
+            for (JournalRecord record : records) {
+                ByteBuffer buffer = encode(record);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            channel.truncate(position);
+            channel.position(position);
+            throw e;
+        }
+    }
+
+    /**
+     * Starts a new segment and deletes the previous ones. Only call once their records are applied to the database.
+     */
+    void rollOver() throws IOException {
+        channel.close();
+        open();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteSegmentsBefore(long index) throws IOException {
+        for (long existing : segments()) {
+            if (existing < index) {
+                Files.deleteIfExists(segmentPath(existing));
+            }
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private static ByteBuffer encode(JournalRecord record) {
+        byte[] sku = record.sku().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Short.BYTES + sku.length + 3 * Integer.BYTES);
+        buffer.putLong(record.sequence())
+                .putShort((short) sku.length)
+                .put(sku)
+                .putInt(record.stockDelta())
+                .putInt(record.reservedDelta());
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    private static JournalRecord decode(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < Long.BYTES + Short.BYTES) {
+            return null;
+        }
+        long sequence = buffer.getLong();
+        int skuLength = buffer.getShort() & 0xFFFF;
+        if (buffer.remaining() < skuLength + 3 * Integer.BYTES) {
+            return null;
+        }
+        byte[] sku = new byte[skuLength];
+        buffer.get(sku);
+        int stockDelta = buffer.getInt();
+        int reservedDelta = buffer.getInt();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), start, buffer.position() - start);
+        if (buffer.getInt() != (int) crc.getValue()) {
+            return null;
+        }
+        return new JournalRecord(sequence, new String(sku, StandardCharsets.UTF_8), stockDelta, reservedDelta);
+    }
+}
@@ -0,0 +1,74 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+import com.ecommerce.infrastructure.persistence.entity.StockLedgerCheckpointEntity;
+import com.ecommerce.infrastructure.persistence.repository.JpaStockLedgerCheckpointRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Database side of the stock ledger.
+ * The net deltas and the journal sequence they cover are written in the same transaction,
+ * so replaying the journal after a crash never applies a delta twice.
+ */
+public class StockLedgerStore {
+
+    private static final String APPLY_DELTA_SQL =
+            "UPDATE products SET stock = stock + ?, reserved = reserved + ?, stock_version = stock_version + 1 WHERE sku = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JpaStockLedgerCheckpointRepository checkpointRepository;
+    private final String nodeId;
+
+    public StockLedgerStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            JpaStockLedgerCheckpointRepository checkpointRepository, String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Returns the last journal sequence already applied to the products table.
+     * @return the last applied sequence, or 0 if nothing was applied yet
+     */
+    long lastAppliedSequence() {
+        return checkpointRepository.findById(nodeId)
+                .map(StockLedgerCheckpointEntity::getLastSequence)
+                .orElse(0L);
+    }
+
+    /**
+     * Applies net stock deltas as one JDBC batch and records the journal sequence they cover.
+     * The deltas of products that no longer exist update no row; they are reported rather than retried,
+     * since there is no product left to apply them to.
+     * @param deltas the net delta per SKU
+     * @param upToSequence the last journal sequence included in the deltas
+     * @return the SKUs whose product was not found, so their deltas were not applied
+     */
+    Set<String> apply(Map<String, StockDelta> deltas, long upToSequence) {
+        List<String> skus = new ArrayList<>(deltas.size());
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((sku, delta) -> {
+            skus.add(sku);
+            rows.add(new Object[]{delta.getStock(), delta.getReserved(), sku});
+        });
+        return transactionTemplate.execute(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, rows);
+            checkpointRepository.save(new StockLedgerCheckpointEntity(nodeId, upToSequence));
+            Set<String> missing = new HashSet<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    missing.add(skus.get(i));
+                }
+            }
+            return missing;
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.infrastructure.persistence.logging;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hibernate statement inspector logging a random sample of the SQL statements it sees.
+ * It replaces spring.jpa.show-sql, which prints every statement synchronously to stdout: statements are logged
+ * through this class's logger, which logback-spring.xml routes to a non-blocking asynchronous appender, and only
+ * a fraction of them is logged at all.
+ */
+public class SampledSqlStatementInspector implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(SampledSqlStatementInspector.class);
+
+    private final double sampleRate;
+
+    /**
+     * @param sampleRate the fraction of statements to log, from 0 (none) to 1 (all)
+     */
+    public SampledSqlStatementInspector(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("SQL log sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (isSampled() && log.isInfoEnabled()) {
+            log.info(sql);
+        }
+        // The statement is executed as is
+        return sql;
+    }
+
+    /**
+     * Decides whether the current statement is logged.
+     * @return true if it is part of the sample
+     */
+    boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
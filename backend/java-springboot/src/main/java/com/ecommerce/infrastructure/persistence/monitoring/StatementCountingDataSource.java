@@ -0,0 +1,152 @@
+package com.ecommerce.infrastructure.persistence.monitoring;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+/**
+ * Proxies of a DataSource and of the connections and statements it hands out, reporting every statement execution
+ * to a StatementMonitor.
+ * Only the execute methods are timed; everything else is passed through, and unwrap still reaches the pool,
+ * so pool metrics and health checks keep working.
+ */
+public final class StatementCountingDataSource {
+
+    private StatementCountingDataSource() {
+    }
+
+    /**
+     * Wraps a DataSource so that the statements run on its connections are reported to a monitor.
+     * @param dataSource the data source to wrap
+     * @param monitor the monitor receiving the executions
+     * @return the wrapping data source
+     */
+    public static DataSource wrap(DataSource dataSource, StatementMonitor monitor) {
+        // Keep the pool closeable, so it is still shut down with the application context
+        Class<?>[] interfaces = dataSource instanceof Closeable
+                ? new Class<?>[]{DataSource.class, Closeable.class}
+                : new Class<?>[]{DataSource.class};
+        return (DataSource) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(), interfaces,
+                new Handler(dataSource) {
+                    @Override
+                    Object wrapResult(Method method, Object[] args, Object result) {
+                        return result instanceof Connection connection ? connection(connection, monitor) : result;
+                    }
+                });
+    }
+
+    private static Connection connection(Connection connection, StatementMonitor monitor) {
+        return proxy(Connection.class, new Handler(connection) {
+            @Override
+            Object wrapResult(Method method, Object[] args, Object result) {
+                if (!(result instanceof Statement statement)) {
+                    return result;
+                }
+                // prepareStatement and prepareCall take the SQL first; createStatement gets it with each execute
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                if (statement instanceof CallableStatement) {
+                    return proxy(CallableStatement.class, new StatementHandler(statement, sql, monitor));
+                }
+                if (statement instanceof PreparedStatement) {
+                    return proxy(PreparedStatement.class, new StatementHandler(statement, sql, monitor));
+                }
+                return proxy(Statement.class, new StatementHandler(statement, sql, monitor));
+            }
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Delegates every call to a JDBC object, answering the Wrapper and Object methods for the proxy itself.
+     */
+    private static class Handler implements InvocationHandler {
+
+        private final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            return wrapResult(method, args, delegate(method, args));
+        }
+
+        Object delegate(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Transforms the result of a delegated call, e.g. to wrap the connection or statement it returns.
+         * @param method the called method
+         * @param args the call arguments
+         * @param result the result of the delegate
+         * @return the result returned to the caller
+         */
+        Object wrapResult(Method method, Object[] args, Object result) {
+            return result;
+        }
+    }
+
+    /**
+     * Times the execute methods of a statement; a batch is reported once, as it is one round trip.
+     */
+    private static class StatementHandler extends Handler {
+
+        private final String sql;
+        private final StatementMonitor monitor;
+
+        StatementHandler(Statement statement, String sql, StatementMonitor monitor) {
+            super(statement);
+            this.sql = sql;
+            this.monitor = monitor;
+        }
+
+        @Override
+        Object delegate(Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return super.delegate(method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return super.delegate(method, args);
+            } finally {
+                String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                monitor.executed(executed != null ? executed : "<batch>", System.nanoTime() - start);
+            }
+        }
+    }
+}
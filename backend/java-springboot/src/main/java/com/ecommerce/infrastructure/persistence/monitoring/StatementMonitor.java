@@ -0,0 +1,68 @@
+package com.ecommerce.infrastructure.persistence.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * Receives every SQL statement executed through a StatementCountingDataSource.
+ * Statements slower than the threshold are logged with their SQL and counted in the jdbc.statements.slow meter.
+ * A thread can also record the statements it executes, e.g. to assert the database round trips of a use case.
+ */
+public class StatementMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementMonitor.class);
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final long slowThresholdNanos;
+    private final Counter slowStatements;
+    private final ThreadLocal<StatementRecording> recordings = new ThreadLocal<>();
+
+    /**
+     * @param slowThreshold the execution time from which a statement is logged as slow
+     * @param meterRegistry the registry the slow statement counter is published to
+     */
+    public StatementMonitor(Duration slowThreshold, MeterRegistry meterRegistry) {
+        if (slowThreshold.isNegative() || slowThreshold.isZero()) {
+            throw new IllegalArgumentException("Slow statement threshold must be positive");
+        }
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowStatements = Counter.builder("jdbc.statements.slow")
+                .description("SQL statements slower than the slow statement threshold")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts recording the statements executed by the current thread, until the returned recording is closed.
+     * A recording started while another one is open suspends it.
+     * @return the recording
+     */
+    public StatementRecording record() {
+        StatementRecording recording = new StatementRecording(recordings, recordings.get());
+        recordings.set(recording);
+        return recording;
+    }
+
+    /**
+     * Called once a statement, or a batch of statements, has been sent to the database.
+     * @param sql the SQL of the statement
+     * @param elapsedNanos how long the execution took
+     */
+    void executed(String sql, long elapsedNanos) {
+        StatementRecording recording = recordings.get();
+        if (recording != null) {
+            recording.add(sql);
+        }
+        if (elapsedNanos >= slowThresholdNanos) {
+            slowStatements.increment();
+            log.warn("Slow SQL statement ({} ms): {}", elapsedNanos / 1_000_000, abbreviate(sql));
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
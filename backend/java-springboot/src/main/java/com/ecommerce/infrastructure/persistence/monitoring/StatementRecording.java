@@ -0,0 +1,58 @@
+package com.ecommerce.infrastructure.persistence.monitoring;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The SQL statements executed by one thread while the recording is open.
+ * A JDBC batch counts as one statement, since it is sent to the database in one round trip.
+ */
+public class StatementRecording implements AutoCloseable {
+
+    private final ThreadLocal<StatementRecording> recordings;
+    private final StatementRecording suspended;
+    private final List<String> statements = new ArrayList<>();
+
+    StatementRecording(ThreadLocal<StatementRecording> recordings, StatementRecording suspended) {
+        this.recordings = recordings;
+        this.suspended = suspended;
+    }
+
+    void add(String sql) {
+        statements.add(sql);
+    }
+
+    /**
+     * Returns the number of statements executed so far.
+     * @return the statement count
+     */
+    public int count() {
+        return statements.size();
+    }
+
+    /**
+     * Returns the SQL of the statements executed so far, in execution order.
+     * @return the statements
+     */
+    public List<String> statements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * Stops recording and resumes the recording this one suspended, if any.
+     */
+    @Override
+    public void close() {
+        if (suspended != null) {
+            recordings.set(suspended);
+        } else {
+            recordings.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return statements.size() + " statements: " + String.join("; ", statements);
+    }
+}
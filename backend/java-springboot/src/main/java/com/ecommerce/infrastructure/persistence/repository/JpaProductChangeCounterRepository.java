@@ -0,0 +1,32 @@
+package com.ecommerce.infrastructure.persistence.repository;
+
+import com.ecommerce.infrastructure.persistence.entity.ProductChangeCounterEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA repository for ProductChangeCounterEntity.
+ */
+@Repository
+public interface JpaProductChangeCounterRepository extends JpaRepository<ProductChangeCounterEntity, String> {
+    
+    /**
+     * Advances a counter and returns its new value in one statement, locking its row until the surrounding transaction
+     * ends. Writers therefore commit in the order of the sequences they were handed, so a reader that saw a sequence
+     * has also seen every lower one.
+     * The query space hint keeps Hibernate from flushing pending product changes before the counter is locked.
+     * @param name the name of the counter
+     * @param count the number of sequences to allocate
+     * @return the last allocated sequence, or null if the counter does not exist
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_change_counters"))
+    @Query(value = "SELECT last_sequence FROM FINAL TABLE ("
+            + "UPDATE product_change_counters SET last_sequence = last_sequence + :count WHERE name = :name)",
+            nativeQuery = true)
+    Long advance(@Param("name") String name, @Param("count") long count);
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.infrastructure.persistence.repository;
+
+import com.ecommerce.infrastructure.persistence.entity.ProductOutboxEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JPA repository for ProductOutboxEntity.
+ */
+@Repository
+public interface JpaProductOutboxRepository extends JpaRepository<ProductOutboxEntity, Long> {
+    
+    /**
+     * Finds the oldest events waiting in the outbox.
+     * @param limit the maximum number of events to return
+     * @return the events in ascending change sequence order
+     */
+    List<ProductOutboxEntity> findAllByOrderByChangeSequence(Limit limit);
+}
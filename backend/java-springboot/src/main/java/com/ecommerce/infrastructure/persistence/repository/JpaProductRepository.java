@@ -1,29 +1,147 @@
 package com.ecommerce.infrastructure.persistence.repository;
 
 import com.ecommerce.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * JPA repository for ProductEntity.
- * This interface extends Spring Data JPA's JpaRepository to provide CRUD operations for ProductEntity.
+ * This interface extends Spring Data JPA's JpaRepository to provide CRUD operations for ProductEntity,
+ * and JpaSpecificationExecutor to run the dynamic queries built by ProductSpecifications.
  */
 @Repository
-public interface JpaProductRepository extends JpaRepository<ProductEntity, String> {
+public interface JpaProductRepository extends JpaRepository<ProductEntity, String>, JpaSpecificationExecutor<ProductEntity> {
     
     /**
-     * Finds a product entity by its name.
-     * @param name the name to search for
+     * Finds a product entity by its normalized name.
+     * @param normalizedName the normalized name to search for
      * @return an Optional containing the product entity if found, or empty if not found
      */
-    Optional<ProductEntity> findByName(String name);
+    Optional<ProductEntity> findByNormalizedName(String normalizedName);
     
     /**
-     * Checks if a product entity with the given name exists.
-     * @param name the name to check
-     * @return true if a product entity with the given name exists, false otherwise
+     * Checks if a product entity with the given normalized name exists.
+     * @param normalizedName the normalized name to check
+     * @return true if a product entity with the given normalized name exists, false otherwise
      */
-    boolean existsByName(String name);
-}
\ No newline at end of file
+    boolean existsByNormalizedName(String normalizedName);
+    
+    /**
+     * Returns which of the given normalized names are already used by a product entity.
+     * @param normalizedNames the normalized names to check
+     * @return the normalized names that exist
+     */
+    @Query("SELECT p.normalizedName FROM ProductEntity p WHERE p.normalizedName IN :normalizedNames")
+    List<String> findNormalizedNamesIn(@Param("normalizedNames") Collection<String> normalizedNames);
+    
+    /**
+     * Streams all product entities ordered by SKU.
+     * The JDBC fetch size hint makes the driver pull rows in chunks instead of buffering the whole result set,
+     * and the read-only hint stops Hibernate from keeping dirty-checking snapshots of the streamed entities.
+     * @return a stream of all product entities
+     */
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.sku")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductEntity> streamAllByOrderBySku();
+    
+    /**
+     * Finds the product entities written after the given change sequence.
+     * @param changeSequence the change sequence to start after
+     * @param limit the maximum number of product entities to return
+     * @return the product entities in ascending change sequence order
+     */
+    List<ProductEntity> findByChangeSequenceGreaterThanOrderByChangeSequence(long changeSequence, Limit limit);
+    
+    /**
+     * Finds the product entities of a SKU range written after the given change sequence.
+     * @param firstSku the first SKU of the range
+     * @param lastSku the last SKU of the range
+     * @param changeSequence the change sequence to start after
+     * @return the product entities in ascending change sequence order
+     */
+    List<ProductEntity> findBySkuBetweenAndChangeSequenceGreaterThanOrderByChangeSequence(
+            String firstSku, String lastSku, long changeSequence);
+    
+    /**
+     * Returns which of the given products can be deleted, because they are disabled and have no stock (the
+     * Product.canBeDeleted rule), and locks their rows until the end of the transaction.
+     * @param skus the SKUs of the products
+     * @return the SKUs of the deletable products, in ascending order
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.sku FROM ProductEntity p WHERE p.sku IN :skus AND p.enabled = false AND p.stock = 0 ORDER BY p.sku")
+    List<String> lockDeletableSkus(@Param("skus") Collection<String> skus);
+    
+    /**
+     * Reserves stock if enough unreserved stock is available, in a single conditional UPDATE.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to reserve
+     * @return the number of updated rows, 0 if the product does not exist or has too little available stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.reserved = p.reserved + :quantity, p.stockVersion = p.stockVersion + 1 "
+            + "WHERE p.sku = :sku AND p.stock - p.reserved >= :quantity")
+    int reserveStock(@Param("sku") String sku, @Param("quantity") int quantity);
+    
+    /**
+     * Releases reserved stock if at least that quantity is reserved, in a single conditional UPDATE.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to release
+     * @return the number of updated rows, 0 if the product does not exist or has too little reserved stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.reserved = p.reserved - :quantity, p.stockVersion = p.stockVersion + 1 "
+            + "WHERE p.sku = :sku AND p.reserved >= :quantity")
+    int releaseStock(@Param("sku") String sku, @Param("quantity") int quantity);
+    
+    /**
+     * Removes unreserved stock if enough is available, in a single conditional UPDATE.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to remove
+     * @return the number of updated rows, 0 if the product does not exist or has too little available stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity, p.stockVersion = p.stockVersion + 1 "
+            + "WHERE p.sku = :sku AND p.stock - p.reserved >= :quantity")
+    int decrementAvailableStock(@Param("sku") String sku, @Param("quantity") int quantity);
+    
+    /**
+     * Removes stock that was previously reserved, in a single conditional UPDATE.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to remove
+     * @return the number of updated rows, 0 if the product does not exist or has too little reserved stock
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity, p.reserved = p.reserved - :quantity, "
+            + "p.stockVersion = p.stockVersion + 1 WHERE p.sku = :sku AND p.reserved >= :quantity")
+    int decrementReservedStock(@Param("sku") String sku, @Param("quantity") int quantity);
+    
+    /**
+     * Adds stock in a single UPDATE.
+     * @param sku the SKU of the product
+     * @param quantity the quantity to add
+     * @return the number of updated rows, 0 if the product does not exist
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock + :quantity, p.stockVersion = p.stockVersion + 1 "
+            + "WHERE p.sku = :sku")
+    int incrementStock(@Param("sku") String sku, @Param("quantity") int quantity);
+}
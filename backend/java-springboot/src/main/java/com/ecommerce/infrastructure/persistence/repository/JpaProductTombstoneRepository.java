@@ -0,0 +1,23 @@
+package com.ecommerce.infrastructure.persistence.repository;
+
+import com.ecommerce.infrastructure.persistence.entity.ProductTombstoneEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * JPA repository for ProductTombstoneEntity.
+ */
+@Repository
+public interface JpaProductTombstoneRepository extends JpaRepository<ProductTombstoneEntity, String> {
+    
+    /**
+     * Finds the tombstones recorded after the given change sequence.
+     * @param changeSequence the change sequence to start after
+     * @param limit the maximum number of tombstones to return
+     * @return the tombstones in ascending change sequence order
+     */
+    List<ProductTombstoneEntity> findByChangeSequenceGreaterThanOrderByChangeSequence(long changeSequence, Limit limit);
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.infrastructure.persistence.repository;
+
+import com.ecommerce.infrastructure.persistence.entity.StockLedgerCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JPA repository for StockLedgerCheckpointEntity.
+ */
+@Repository
+public interface JpaStockLedgerCheckpointRepository extends JpaRepository<StockLedgerCheckpointEntity, String> {
+}
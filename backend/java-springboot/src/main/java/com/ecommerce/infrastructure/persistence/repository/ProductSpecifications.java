@@ -0,0 +1,84 @@
+package com.ecommerce.infrastructure.persistence.repository;
+
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Factory of JPA specifications for ProductEntity queries.
+ * Only the criteria that are set end up in the generated WHERE clause.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Builds a specification matching the given filter, restricted to SKUs after the given keyset position.
+     * @param filter the criteria the products must match
+     * @param afterSku the SKU to start after, or null to start from the beginning
+     * @return the specification
+     */
+    public static Specification<ProductEntity> matching(ProductFilter filter, String afterSku) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (afterSku != null) {
+                predicates.add(cb.greaterThan(root.get("sku"), afterSku));
+            }
+            if (filter.getSkus() != null) {
+                predicates.add(root.get("sku").in(filter.getSkus()));
+            }
+            if (filter.getSkuPrefix() != null) {
+                // A LIKE with a constant prefix is a range scan of the primary key
+                predicates.add(cb.like(root.get("sku"), escapeLike(filter.getSkuPrefix()) + "%", '\\'));
+            }
+            if (filter.getEnabled() != null) {
+                predicates.add(cb.equal(root.get("enabled"), filter.getEnabled()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getMinStock() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("stock"), filter.getMinStock()));
+            }
+            if (filter.getMaxStock() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("stock"), filter.getMaxStock()));
+            }
+            if (filter.getCurrency() != null) {
+                predicates.add(cb.equal(root.get("currency"), filter.getCurrency()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Returns the attributes a keyset page matching the given filter is ordered by; the result is always in SKU order.
+     * With an enabled filter, and no SKU criteria to look rows up by, the constant enabled flag comes first so the
+     * ORDER BY starts with the leading column of the (enabled, sku) index: H2 only reads an index as sorted, and
+     * stops after the page, when the ORDER BY matches its leading columns.
+     * @param filter the criteria the products must match
+     * @return the attributes to order by
+     */
+    public static String[] keysetOrder(ProductFilter filter) {
+        if (filter.getEnabled() != null && filter.getSkus() == null && filter.getSkuPrefix() == null) {
+            return new String[]{"enabled", "sku"};
+        }
+        return new String[]{"sku"};
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a literal, using a backslash as the escape character.
+     * @param literal the literal
+     * @return the escaped literal
+     */
+    private static String escapeLike(String literal) {
+        return literal.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
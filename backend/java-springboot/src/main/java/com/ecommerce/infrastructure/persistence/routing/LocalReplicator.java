@@ -0,0 +1,214 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Replication of the primary to the read replicas for local databases such as H2, which cannot replicate themselves:
+ * lets the read/write routing run on one machine, e.g. in development and tests. With a real database, its own
+ * replication keeps the replicas in sync and this replicator stays disabled.
+ * <p>
+ * Every interval, the rows of the tables read by read-only transactions that were added, changed (according to their
+ * version columns) or removed on the primary are replaced on each replica in one transaction, heartbeat included, so
+ * the lag monitor sees the delay the way it would with real replication. The heartbeat is read first: a replica may
+ * briefly hold newer rows than its heartbeat tells, never older ones. The outbox and the stock ledger checkpoints
+ * are only used by read-write transactions and are not copied. Each round scans the copied tables of the primary and
+ * the replicas, which suits small local catalogs only.
+ */
+public class LocalReplicator implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalReplicator.class);
+
+    private static final List<ReplicatedTable> TABLES = List.of(
+            new ReplicatedTable("replication_heartbeat", "id", List.of("beat_at")),
+            new ReplicatedTable("product_change_counters", "name", List.of("last_sequence")),
+            new ReplicatedTable("products", "sku", List.of("version", "stock_version")),
+            new ReplicatedTable("product_tombstones", "sku", List.of("change_sequence")));
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String[] migrationLocations;
+    private final long intervalMillis;
+    private volatile boolean running;
+    private Thread replicator;
+
+    public LocalReplicator(ReplicaRouter router, String[] migrationLocations, Duration interval) {
+        this.primary = router.getPrimary();
+        this.replicas = router.getReplicas();
+        this.migrationLocations = migrationLocations;
+        this.intervalMillis = interval.toMillis();
+    }
+
+    /**
+     * Migrates the replicas to the schema of the primary and starts replicating in the background.
+     */
+    public void start() {
+        for (Replica replica : replicas) {
+            Flyway.configure()
+                    .dataSource(replica.getDataSource())
+                    .locations(migrationLocations)
+                    .load()
+                    .migrate();
+        }
+        running = true;
+        replicator = new Thread(this::run, "local-replicator");
+        replicator.setDaemon(true);
+        replicator.start();
+    }
+
+    private void run() {
+        while (running) {
+            replicate();
+            synchronized (this) {
+                try {
+                    if (running) {
+                        wait(intervalMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one replication round, bringing every replica up to date with the primary.
+     */
+    void replicate() {
+        for (Replica replica : replicas) {
+            try (Connection source = primary.getConnection();
+                 Connection target = replica.getDataSource().getConnection()) {
+                target.setAutoCommit(false);
+                try {
+                    for (ReplicatedTable table : TABLES) {
+                        copyChanges(table, source, target);
+                    }
+                    target.commit();
+                } catch (SQLException | RuntimeException e) {
+                    target.rollback();
+                    throw e;
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.warn("Could not replicate to read replica {}: {}", replica.getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces the rows of a table that differ between the primary and a replica.
+     * Changed rows are deleted before any is inserted, so rows swapping unique values do not collide on the way.
+     * @param table the table
+     * @param source a connection to the primary
+     * @param target a connection to the replica, in the transaction of the round
+     */
+    private static void copyChanges(ReplicatedTable table, Connection source, Connection target) throws SQLException {
+        Map<Object, List<Object>> replicaVersions = new HashMap<>();
+        try (Statement statement = target.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT " + table.key() + ", " + String.join(", ", table.versions()) + " FROM " + table.name())) {
+            while (rows.next()) {
+                List<Object> versions = new ArrayList<>(table.versions().size());
+                for (int i = 0; i < table.versions().size(); i++) {
+                    versions.add(rows.getObject(i + 2));
+                }
+                replicaVersions.put(rows.getObject(1), versions);
+            }
+        }
+
+        List<String> columns = new ArrayList<>();
+        List<Object[]> changedRows = new ArrayList<>();
+        List<Object> staleKeys = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT * FROM " + table.name())) {
+            ResultSetMetaData metaData = rows.getMetaData();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnLabel(i));
+            }
+            while (rows.next()) {
+                Object key = rows.getObject(table.key());
+                boolean present = replicaVersions.containsKey(key);
+                List<Object> replicaVersion = replicaVersions.remove(key);
+                if (present && Objects.equals(replicaVersion, versionsOf(table, rows))) {
+                    continue;
+                }
+                if (present) {
+                    staleKeys.add(key);
+                }
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = rows.getObject(i + 1);
+                }
+                changedRows.add(row);
+            }
+        }
+        // The keys left were not found on the primary: those rows were removed
+        staleKeys.addAll(replicaVersions.keySet());
+
+        if (!staleKeys.isEmpty()) {
+            try (PreparedStatement delete = target.prepareStatement(
+                    "DELETE FROM " + table.name() + " WHERE " + table.key() + " = ?")) {
+                for (Object key : staleKeys) {
+                    delete.setObject(1, key);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+            }
+        }
+        if (!changedRows.isEmpty()) {
+            try (PreparedStatement insert = target.prepareStatement("INSERT INTO " + table.name()
+                    + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.size(), "?")) + ")")) {
+                for (Object[] row : changedRows) {
+                    for (int i = 0; i < row.length; i++) {
+                        insert.setObject(i + 1, row[i]);
+                    }
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private static List<Object> versionsOf(ReplicatedTable table, ResultSet row) throws SQLException {
+        List<Object> versions = new ArrayList<>(table.versions().size());
+        for (String column : table.versions()) {
+            versions.add(row.getObject(column));
+        }
+        return versions;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Wake the replicator instead of interrupting it: an interrupt during a query can close H2's file channel
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (replicator != null) {
+            replicator.join();
+        }
+    }
+
+    /**
+     * A replicated table, with its primary key column and the columns of which one changes whenever a row changes.
+     */
+    private record ReplicatedTable(String name, String key, List<String> versions) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * DataSource handing out replica connections to read-only transactions and primary connections to everything else,
+ * including statements run outside of a transaction.
+ * The transaction must be marked read-only when the connection is requested, which the transaction managers only do
+ * after they have asked for it: this data source is therefore used behind a LazyConnectionDataSourceProxy, which
+ * requests the connection on the first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final ReplicaRouter router;
+
+    public ReadWriteRoutingDataSource(ReplicaRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = router.select();
+            if (replica != null) {
+                try {
+                    return replica.getDataSource().getConnection();
+                } catch (SQLException e) {
+                    router.failed(replica, e);
+                }
+            }
+        }
+        return router.getPrimary().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("The routed pools use the configured credentials");
+    }
+}
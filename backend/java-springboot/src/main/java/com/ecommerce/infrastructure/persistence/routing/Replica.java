@@ -0,0 +1,66 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.time.Duration;
+
+/**
+ * A read replica of the catalog database: its connection pool and the replication lag last measured for it.
+ * A replica is not read from until its lag has been measured and found within the limit.
+ */
+public class Replica {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile Duration lag;
+    private volatile boolean inSync;
+
+    public Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public HikariDataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Returns the replication lag last measured.
+     * @return the lag, or null if it could not be measured (e.g. the replica is down)
+     */
+    public Duration getLag() {
+        return lag;
+    }
+
+    /**
+     * Returns whether read-only transactions may currently use this replica.
+     * @return true if its last measured lag was within the limit
+     */
+    public boolean isInSync() {
+        return inSync;
+    }
+
+    /**
+     * Records a lag measurement.
+     * @param lag the measured lag, or null if it could not be measured
+     * @param inSync whether the replica may be read from until the next measurement
+     */
+    void update(Duration lag, boolean inSync) {
+        this.lag = lag;
+        this.inSync = inSync;
+    }
+
+    /**
+     * Returns the number of connections currently borrowed from the replica's pool.
+     * @return the active connections, 0 before the pool has started
+     */
+    int activeConnections() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+}
@@ -0,0 +1,161 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Background monitor of the replication lag of the read replicas.
+ * Every heartbeat interval it stamps the replication_heartbeat row on the primary with the primary's clock, then
+ * reads the stamp each replica has received: a replica is behind by the age of its stamp, measured against the
+ * primary's clock only, so the application's clock does not matter. A replica lagging more than maxLag, or that
+ * cannot be queried, is left out of the rotation until a later round finds it in sync again.
+ * <p>
+ * The lag is known to within one heartbeat interval, and grows unnoticed for up to one interval between rounds:
+ * a replica that is read from is at most maxLag plus one interval behind (see {@link #getStalenessBound()}).
+ * The lag of each replica is published as the jdbc.replica.lag gauge (tag replica), NaN while it is unknown.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration interval;
+    private final Duration maxLag;
+    private volatile boolean running;
+    private Thread monitor;
+
+    public ReplicaLagMonitor(ReplicaRouter router, Duration interval, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = router.getPrimary();
+        this.replicas = router.getReplicas();
+        this.interval = interval;
+        this.maxLag = maxLag;
+        for (Replica replica : replicas) {
+            Gauge.builder("jdbc.replica.lag", replica, r -> r.getLag() != null ? r.getLag().toNanos() / 1e9 : Double.NaN)
+                    .description("Replication lag of the read replica, as of the last heartbeat round")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns how far behind the primary a replica that is read from can be.
+     * @return the maximum lag plus one heartbeat interval
+     */
+    public Duration getStalenessBound() {
+        return maxLag.plus(interval);
+    }
+
+    /**
+     * Starts measuring the lag in the background, with a first round right away.
+     */
+    public void start() {
+        running = true;
+        monitor = new Thread(this::run, "replica-lag-monitor");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    private void run() {
+        while (running) {
+            check();
+            synchronized (this) {
+                try {
+                    if (running) {
+                        wait(interval.toMillis());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs one heartbeat round: stamps the primary and measures the lag of every replica against the stamp.
+     */
+    void check() {
+        OffsetDateTime beat;
+        long beatNanos;
+        try {
+            beat = beat();
+            beatNanos = System.nanoTime();
+        } catch (SQLException | RuntimeException e) {
+            // Without a stamp no lag can be measured, and reads fall back to the primary until the next round
+            log.warn("Could not write the replication heartbeat: {}", e.getMessage());
+            replicas.forEach(replica -> replica.update(null, false));
+            return;
+        }
+        for (Replica replica : replicas) {
+            try {
+                OffsetDateTime received = receivedBeat(replica);
+                // The primary's clock now, extrapolated from the stamp it just wrote
+                OffsetDateTime now = beat.plusNanos(System.nanoTime() - beatNanos);
+                Duration lag = Duration.between(received, now);
+                if (lag.isNegative()) {
+                    // Stamped by another instance after this one's stamp
+                    lag = Duration.ZERO;
+                }
+                boolean inSync = lag.compareTo(maxLag) <= 0;
+                if (inSync != replica.isInSync()) {
+                    log.info("Read replica {} is {} ({} ms behind)", replica.getName(),
+                            inSync ? "in sync" : "lagging", lag.toMillis());
+                }
+                replica.update(lag, inSync);
+            } catch (SQLException | RuntimeException e) {
+                if (replica.isInSync()) {
+                    log.warn("Could not measure the lag of read replica {}: {}", replica.getName(), e.getMessage());
+                }
+                replica.update(null, false);
+            }
+        }
+    }
+
+    private OffsetDateTime beat() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT beat_at FROM FINAL TABLE ("
+                     + "UPDATE replication_heartbeat SET beat_at = CURRENT_TIMESTAMP(6) WHERE id = 1)")) {
+            if (!resultSet.next()) {
+                throw new SQLException("The replication heartbeat row is missing");
+            }
+            return resultSet.getObject(1, OffsetDateTime.class);
+        }
+    }
+
+    private static OffsetDateTime receivedBeat(Replica replica) throws SQLException {
+        try (Connection connection = replica.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT beat_at FROM replication_heartbeat WHERE id = 1")) {
+            if (!resultSet.next()) {
+                throw new SQLException("The replication heartbeat row is missing");
+            }
+            return resultSet.getObject(1, OffsetDateTime.class);
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Wake the monitor instead of interrupting it: an interrupt during a query can close H2's file channel
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (monitor != null) {
+            monitor.join();
+        }
+    }
+}
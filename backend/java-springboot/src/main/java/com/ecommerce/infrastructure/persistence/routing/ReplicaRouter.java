@@ -0,0 +1,117 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The connection pools of the primary database and of its read replicas, and the choice of the replica a read-only
+ * transaction reads from. Only replicas the ReplicaLagMonitor found in sync are chosen; when none is, reads go to
+ * the primary. The reads routed to each pool are counted in the jdbc.connections.read meter (tag target).
+ */
+public class ReplicaRouter implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRouter.class);
+    private static final String PRIMARY = "primary";
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final ReplicaSelection selection;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Map<String, Counter> reads = new HashMap<>();
+
+    public ReplicaRouter(HikariDataSource primary, List<Replica> replicas, ReplicaSelection selection,
+                         MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        reads.put(PRIMARY, readCounter(PRIMARY, meterRegistry));
+        for (Replica replica : this.replicas) {
+            reads.put(replica.getName(), readCounter(replica.getName(), meterRegistry));
+        }
+    }
+
+    private static Counter readCounter(String target, MeterRegistry meterRegistry) {
+        return Counter.builder("jdbc.connections.read")
+                .description("Connections of read-only transactions, by the pool they were taken from")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Chooses the replica the next read-only transaction reads from.
+     * @return an in-sync replica, or null if the primary must be read from
+     */
+    public Replica select() {
+        Replica selected = switch (selection) {
+            case ROUND_ROBIN -> nextInSync();
+            case LEAST_CONNECTIONS -> leastConnectionsInSync();
+        };
+        reads.get(selected != null ? selected.getName() : PRIMARY).increment();
+        return selected;
+    }
+
+    private Replica nextInSync() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isInSync()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Replica leastConnectionsInSync() {
+        // Start from a rotating position so idle replicas share the load instead of the first one taking it all
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        Replica selected = null;
+        int selectedConnections = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isInSync() && replica.activeConnections() < selectedConnections) {
+                selected = replica;
+                selectedConnections = replica.activeConnections();
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Takes a replica out of the rotation after it failed to hand out a connection; the next lag measurement
+     * brings it back once it answers again.
+     * @param replica the failed replica
+     * @param failure the failure
+     */
+    void failed(Replica replica, Exception failure) {
+        log.warn("Read replica {} is unavailable, reading from the primary: {}", replica.getName(), failure.getMessage());
+        replica.update(null, false);
+    }
+
+    /**
+     * Closes the connection pools of the primary and of the replicas.
+     */
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            replica.getDataSource().close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+/**
+ * How a read-only transaction picks one of the replicas that are currently in sync.
+ */
+public enum ReplicaSelection {
+
+    /**
+     * Each transaction takes the next replica in turn.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Each transaction takes the replica with the fewest connections in use, so a replica slowed down by long
+     * queries receives fewer new ones.
+     */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.infrastructure.rest.controller;
+
+import com.ecommerce.infrastructure.rest.dto.LoginRequest;
+import com.ecommerce.infrastructure.rest.dto.TokenResponse;
+import com.ecommerce.infrastructure.security.AccessTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * REST controller for authentication.
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Tag(name = "Authentication", description = "Authentication API")
+public class AuthController {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final AuthenticationManager authenticationManager;
+    private final AccessTokenService accessTokenService;
+
+    public AuthController(AuthenticationManager authenticationManager, AccessTokenService accessTokenService) {
+        this.authenticationManager = authenticationManager;
+        this.accessTokenService = accessTokenService;
+    }
+
+    @PostMapping("/login")
+    @Operation(
+        summary = "Log in",
+        description = "Verifies the credentials once and returns a short-lived access token to send as "
+                + "'Authorization: Bearer <token>' on the following requests.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Logged in successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+        }
+    )
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    UsernamePasswordAuthenticationToken.unauthenticated(request.getUsername(), request.getPassword()));
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        AccessTokenService.AccessToken token = accessTokenService.issue(authentication);
+        List<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(ROLE_PREFIX))
+                .map(authority -> authority.substring(ROLE_PREFIX.length()))
+                .toList();
+        return ResponseEntity.ok(TokenResponse.builder()
+                .accessToken(token.value())
+                .tokenType("Bearer")
+                .expiresIn(Duration.between(token.issuedAt(), token.expiresAt()).toSeconds())
+                .username(authentication.getName())
+                .roles(roles)
+                .build());
+    }
+}
@@ -1,20 +1,51 @@
 package com.ecommerce.infrastructure.rest.controller;
 
+import com.ecommerce.domain.exception.ProductVersionConflictException;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBulkItem;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.port.ProductBatchService;
 import com.ecommerce.domain.port.ProductService;
+import com.ecommerce.infrastructure.rest.dto.ProductBatchProgressResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductBatchRequest;
+import com.ecommerce.infrastructure.rest.dto.ProductBulkRequest;
+import com.ecommerce.infrastructure.rest.dto.ProductBulkResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductChangePageResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductPageResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductRepricingProgressResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductRepricingRequest;
 import com.ecommerce.infrastructure.rest.dto.ProductRequest;
 import com.ecommerce.infrastructure.rest.dto.ProductResponse;
+import com.ecommerce.infrastructure.rest.dto.ProductSuggestionResponse;
+import com.ecommerce.infrastructure.rest.dto.StockAdjustmentRequest;
+import com.ecommerce.infrastructure.rest.events.ProductEventBroadcaster;
+import com.ecommerce.infrastructure.rest.export.ProductExportFormat;
+import com.ecommerce.infrastructure.rest.export.ProductExportWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -26,9 +57,16 @@ import java.util.stream.Collectors;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductBatchService productBatchService;
+    private final ProductEventBroadcaster productEventBroadcaster;
+    private final ObjectMapper objectMapper;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ProductBatchService productBatchService,
+                             ProductEventBroadcaster productEventBroadcaster, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.productBatchService = productBatchService;
+        this.productEventBroadcaster = productEventBroadcaster;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -47,29 +85,159 @@ public class ProductController {
         Product product = productService.createProduct(
                 request.getName(),
                 request.getPrice(),
+                request.getCurrency(),
                 request.getInitialStock() != null ? request.getInitialStock() : 0
         );
         return new ResponseEntity<>(ProductResponse.fromDomain(product), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Create or update products in bulk",
+        description = "Accepts a JSON array of products. Entries without a SKU are created, entries with a SKU are updated. "
+                + "Every entry gets its own result, so invalid entries do not reject the others. Entries are written in "
+                + "chunks of 500 that are each committed on their own. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-entry results"),
+            @ApiResponse(responseCode = "400", description = "Too many entries"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<ProductBulkResponse> bulkUpsertProducts(@RequestBody List<ProductBulkRequest> requests) {
+        List<ProductBulkItem> items = requests.stream()
+                .map(ProductBulkRequest::toDomain)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(ProductBulkResponse.fromDomain(productService.bulkUpsertProducts(items)));
+    }
+
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Create or update products in bulk from NDJSON",
+        description = "Same as the JSON bulk endpoint, but reads one product per line. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see per-entry results"),
+            @ApiResponse(responseCode = "400", description = "Too many entries or an unreadable line"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<ProductBulkResponse> bulkUpsertProductsFromNdjson(HttpServletRequest request) throws IOException {
+        List<ProductBulkItem> items = new ArrayList<>();
+        try (MappingIterator<ProductBulkRequest> lines = objectMapper.readerFor(ProductBulkRequest.class)
+                .readValues(request.getInputStream())) {
+            while (lines.hasNextValue()) {
+                items.add(lines.nextValue().toDomain());
+            }
+        }
+        return ResponseEntity.ok(ProductBulkResponse.fromDomain(productService.bulkUpsertProducts(items)));
+    }
+
+    @PostMapping(value = "/repricing", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Reprice the products matching a filter",
+        description = "Applies a PERCENTAGE, ABSOLUTE or SET price rule to every product matching the filter (SKU list, "
+                + "SKU prefix, price range, enabled flag, currency), in chunks of set-based UPDATE statements that are "
+                + "each committed on their own. Streams one NDJSON progress line per chunk; the last line is complete. "
+                + "ABSOLUTE and SET rules need a currency filter. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Repricing progress streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid rule or filter"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public void repriceProducts(@Valid @RequestBody ProductRepricingRequest request,
+                                HttpServletResponse response) throws IOException {
+        productBatchService.repriceProducts(request.toRule(), request.toFilter(), request.getAfterSku(),
+                progressLines(response, ProductRepricingProgressResponse::fromDomain));
+    }
+
+    @PostMapping(value = "/batch/enable", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Enable the products matching a filter",
+        description = "Enables every product matching the filter (SKU list, SKU prefix, price range, enabled flag, "
+                + "currency), in chunks of set-based UPDATE statements that are each committed on their own. Streams one "
+                + "NDJSON line per chunk with running totals and the outcome of every SKU. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Progress streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public void enableProducts(@Valid @RequestBody ProductBatchRequest request,
+                               HttpServletResponse response) throws IOException {
+        productBatchService.enableProducts(request.toFilter(), request.getAfterSku(),
+                progressLines(response, ProductBatchProgressResponse::fromDomain));
+    }
+
+    @PostMapping(value = "/batch/disable", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Disable the products matching a filter",
+        description = "Same as the batch enable endpoint, but disables the products. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Progress streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public void disableProducts(@Valid @RequestBody ProductBatchRequest request,
+                                HttpServletResponse response) throws IOException {
+        productBatchService.disableProducts(request.toFilter(), request.getAfterSku(),
+                progressLines(response, ProductBatchProgressResponse::fromDomain));
+    }
+
+    @PostMapping(value = "/batch/delete", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Delete the products matching a filter",
+        description = "Deletes every product matching the filter that is disabled and has no stock; the others are "
+                + "reported as REJECTED. Runs in chunks of set-based DELETE statements that are each committed on their "
+                + "own, and streams one NDJSON line per chunk. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Progress streamed"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public void deleteProducts(@Valid @RequestBody ProductBatchRequest request,
+                               HttpServletResponse response) throws IOException {
+        productBatchService.deleteProducts(request.toFilter(), request.getAfterSku(),
+                progressLines(response, ProductBatchProgressResponse::fromDomain));
+    }
+
     @PutMapping("/{sku}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
         summary = "Update a product",
-        description = "Updates an existing product with the provided details. Requires ADMIN role.",
+        description = "Updates an existing product with the provided details. Send the ETag of the product as If-Match "
+                + "to only update it if nobody changed it in the meantime. Requires ADMIN role.",
         security = @SecurityRequirement(name = "basicAuth"),
         responses = {
             @ApiResponse(responseCode = "200", description = "Product updated successfully"),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
-            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role"),
+            @ApiResponse(responseCode = "412", description = "Product was modified since the If-Match version")
         }
     )
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String sku,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody ProductRequest request) {
-        Product product = productService.updateProduct(sku, request.getName(), request.getPrice());
-        return ResponseEntity.ok(ProductResponse.fromDomain(product));
+        Product product = ifMatch == null || ifMatch.trim().equals("*")
+                ? productService.updateProduct(sku, request.getName(), request.getPrice(), request.getCurrency())
+                : productService.updateProduct(sku, request.getName(), request.getPrice(), request.getCurrency(),
+                        parseVersion(sku, ifMatch));
+        return withETag(product);
     }
 
     @PatchMapping("/{sku}/enable")
@@ -86,7 +254,7 @@ public class ProductController {
     )
     public ResponseEntity<ProductResponse> enableProduct(@PathVariable String sku) {
         Product product = productService.enableProduct(sku);
-        return ResponseEntity.ok(ProductResponse.fromDomain(product));
+        return withETag(product);
     }
 
     @PatchMapping("/{sku}/disable")
@@ -103,7 +271,84 @@ public class ProductController {
     )
     public ResponseEntity<ProductResponse> disableProduct(@PathVariable String sku) {
         Product product = productService.disableProduct(sku);
-        return ResponseEntity.ok(ProductResponse.fromDomain(product));
+        return withETag(product);
+    }
+
+    @PostMapping("/{sku}/stock/reserve")
+    @Operation(
+        summary = "Reserve stock",
+        description = "Reserves available stock for a pending order. The check and the update run as one conditional "
+                + "statement, so concurrent reservations can never oversell.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Stock reserved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity or insufficient available stock"),
+            @ApiResponse(responseCode = "404", description = "Product not found")
+        }
+    )
+    public ResponseEntity<ProductResponse> reserveStock(
+            @PathVariable String sku,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        Product product = productService.reserveStock(sku, request.getQuantity());
+        return withETag(product);
+    }
+
+    @PostMapping("/{sku}/stock/release")
+    @Operation(
+        summary = "Release reserved stock",
+        description = "Returns previously reserved stock to the available stock, e.g. when an order is cancelled.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Stock released successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity or insufficient reserved stock"),
+            @ApiResponse(responseCode = "404", description = "Product not found")
+        }
+    )
+    public ResponseEntity<ProductResponse> releaseStock(
+            @PathVariable String sku,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        Product product = productService.releaseStock(sku, request.getQuantity());
+        return withETag(product);
+    }
+
+    @PostMapping("/{sku}/stock/decrement")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Decrement stock",
+        description = "Removes available stock, or reserved stock when fromReservation is true (e.g. when an order ships). "
+                + "Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Stock decremented successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity or insufficient stock"),
+            @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<ProductResponse> decrementStock(
+            @PathVariable String sku,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        Product product = productService.decrementStock(sku, request.getQuantity(),
+                Boolean.TRUE.equals(request.getFromReservation()));
+        return withETag(product);
+    }
+
+    @PostMapping("/{sku}/stock/increment")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Increment stock",
+        description = "Adds stock, e.g. when goods are received. Requires ADMIN role.",
+        security = @SecurityRequirement(name = "basicAuth"),
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Stock incremented successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity"),
+            @ApiResponse(responseCode = "404", description = "Product not found"),
+            @ApiResponse(responseCode = "403", description = "Forbidden - requires ADMIN role")
+        }
+    )
+    public ResponseEntity<ProductResponse> incrementStock(
+            @PathVariable String sku,
+            @Valid @RequestBody StockAdjustmentRequest request) {
+        Product product = productService.incrementStock(sku, request.getQuantity());
+        return withETag(product);
     }
 
     @DeleteMapping("/{sku}")
@@ -127,29 +372,215 @@ public class ProductController {
     @GetMapping("/{sku}")
     @Operation(
         summary = "Get a product by SKU",
-        description = "Retrieves a product with the specified SKU.",
+        description = "Retrieves a product with the specified SKU. The response carries the product version and stock as a "
+                + "strong ETag; send it back as If-None-Match to get an empty 304 while the product is unchanged.",
         responses = {
             @ApiResponse(responseCode = "200", description = "Product retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Product not modified since the If-None-Match version"),
             @ApiResponse(responseCode = "404", description = "Product not found")
         }
     )
     public ResponseEntity<ProductResponse> getProduct(@PathVariable String sku) {
+        // Spring answers 304 itself when the ETag matches the request's If-None-Match
         Product product = productService.getProductBySku(sku);
-        return ResponseEntity.ok(ProductResponse.fromDomain(product));
+        return withETag(product);
     }
 
     @GetMapping
     @Operation(
-        summary = "Get all products",
-        description = "Retrieves all products.",
+        summary = "List products",
+        description = "Retrieves a page of products ordered by SKU, optionally filtered by status, price and stock. "
+                + "Pass the returned nextPageToken as pageToken to fetch the following page.",
         responses = {
-            @ApiResponse(responseCode = "200", description = "Products retrieved successfully")
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter, page token or page size")
         }
     )
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        List<ProductResponse> products = productService.getAllProducts().stream()
+    public ResponseEntity<ProductPageResponse> getProducts(
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Long minPrice,
+            @RequestParam(required = false) Long maxPrice,
+            @RequestParam(required = false) Integer minStock,
+            @RequestParam(required = false) Integer maxStock,
+            @RequestParam(required = false) String pageToken,
+            @RequestParam(required = false) Integer pageSize) {
+        ProductFilter filter = ProductFilter.builder()
+                .enabled(enabled)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .minStock(minStock)
+                .maxStock(maxStock)
+                .build();
+        return ResponseEntity.ok(ProductPageResponse.fromDomain(productService.getProducts(filter, pageToken, pageSize)));
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search products by name",
+        description = "Returns the products whose name contains every word of q, ignoring case and accents, best match first. "
+                + "The last word also matches longer words it starts, unless q ends with a space.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid limit")
+        }
+    )
+    public ResponseEntity<List<ProductResponse>> searchProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Integer limit) {
+        List<ProductResponse> products = productService.searchProducts(q, enabled, limit).stream()
                 .map(ProductResponse::fromDomain)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(products);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/search/suggest")
+    @Operation(
+        summary = "Suggest product names",
+        description = "Typeahead variant of the product search that returns only the SKU and name of the best matches, "
+                + "straight from the in-memory index.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Empty query or invalid limit")
+        }
+    )
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) Integer limit) {
+        List<ProductSuggestionResponse> suggestions = productService.suggestProducts(q, enabled, limit).stream()
+                .map(ProductSuggestionResponse::fromDomain)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping("/changes")
+    @Operation(
+        summary = "List catalog changes",
+        description = "Returns the products created, updated, enabled, disabled or deleted after the given watermark, "
+                + "once per SKU with its current state, and a tombstone for each deleted SKU. "
+                + "Pass the returned watermark as since to fetch the following changes; poll again right away while hasMore is true. "
+                + "Stock adjustments are not reported.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark or limit")
+        }
+    )
+    public ResponseEntity<ProductChangePageResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ProductChangePageResponse.fromDomain(productService.getChanges(since, limit)));
+    }
+
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Stream product events",
+        description = "Pushes a 'product' Server-Sent Event, shaped like a change feed entry, whenever a product is created, "
+                + "updated, enabled, disabled or deleted. Several changes to the same SKU that are not sent yet are merged into one. "
+                + "A 'resync' event means changes were skipped because the client fell behind, and the client should reload; "
+                + "clients that keep falling behind are disconnected. The event id is the change sequence, usable as the "
+                + "since watermark of GET /api/products/changes after a reconnect.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "503", description = "Too many open event streams")
+        }
+    )
+    public ResponseEntity<SseEmitter> streamEvents() {
+        return productEventBroadcaster.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export the product catalog",
+        description = "Streams every product ordered by SKU as NDJSON (default) or CSV. "
+                + "Rows are written as they are read from the database, so memory use does not grow with the catalog.",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Catalog streamed successfully"),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format")
+        }
+    )
+    public void exportProducts(
+            @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        ProductExportFormat exportFormat = ProductExportFormat.fromValue(format);
+        response.setContentType(exportFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"products." + exportFormat.getFileExtension() + "\"");
+
+        ProductExportWriter writer = exportFormat.createWriter(response.getOutputStream(), objectMapper);
+        productService.exportProducts(writer);
+        writer.finish();
+    }
+
+    @ExceptionHandler(ProductVersionConflictException.class)
+    public ResponseEntity<Void> handleVersionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+
+    /**
+     * Reports an NDJSON line that cannot be read, e.g. a fractional price, as a bad request like a JSON body would be.
+     */
+    @ExceptionHandler(JsonProcessingException.class)
+    public ResponseEntity<Void> handleUnreadableLine() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * Starts an NDJSON response and returns a listener writing each progress report as a line.
+     * Every line is flushed so the client sees the progress of a long operation as it happens.
+     * @param response the HTTP response
+     * @param toDto converts a progress report to its DTO
+     * @return the progress listener
+     */
+    private <T> Consumer<T> progressLines(HttpServletResponse response, Function<T, ?> toDto) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        OutputStream out = response.getOutputStream();
+        return progress -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(toDto.apply(progress)));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Builds a 200 response for a product, with a strong ETag made of its version, stock and reserved stock.
+     * Stock movements do not change the version, so the version alone would answer 304 over stale stock.
+     * @param product the product
+     * @return the response
+     */
+    private ResponseEntity<ProductResponse> withETag(Product product) {
+        return ResponseEntity.ok()
+                .eTag(product.getVersion() + "-" + product.getStock() + "-" + product.getReserved())
+                .body(ProductResponse.fromDomain(product));
+    }
+
+    /**
+     * Parses the product version out of a strong If-Match ETag, i.e. the part before the stock.
+     * Stock movements have their own counter and do not change the version, so only catalog changes conflict.
+     * A weak or malformed ETag can never match strongly, so it is reported as a version conflict.
+     * @param sku the SKU of the product
+     * @param ifMatch the If-Match header value
+     * @return the version the client expects
+     */
+    private long parseVersion(String sku, String ifMatch) {
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String value = etag.substring(1, etag.length() - 1);
+            int stockStart = value.indexOf('-');
+            try {
+                return Long.parseLong(stockStart < 0 ? value : value.substring(0, stockStart));
+            } catch (NumberFormatException e) {
+                // Not one of our ETags
+            }
+        }
+        throw new ProductVersionConflictException(sku);
+    }
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductBatchOutcome;
+import com.ecommerce.domain.model.ProductBatchProgress;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one progress line of a batch enable, disable or delete, with the outcome of every SKU of the chunk.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchProgressResponse {
+
+    private long changed;
+    private long unchanged;
+    private long rejected;
+    private long notFound;
+    private String lastSku;
+    private boolean complete;
+    private List<ProductBatchOutcome> results;
+
+    /**
+     * Converts a ProductBatchProgress domain object to a ProductBatchProgressResponse DTO.
+     * @param progress the progress
+     * @return the DTO
+     */
+    public static ProductBatchProgressResponse fromDomain(ProductBatchProgress progress) {
+        return ProductBatchProgressResponse.builder()
+                .changed(progress.getChanged())
+                .unchanged(progress.getUnchanged())
+                .rejected(progress.getRejected())
+                .notFound(progress.getNotFound())
+                .lastSku(progress.getLastSku())
+                .complete(progress.isComplete())
+                .results(progress.getOutcomes())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductFilter;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for batch enable, disable and delete requests: the filter selecting the products, by SKU list and/or criteria.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    private List<String> skus;
+    private String skuPrefix;
+    private Boolean enabled;
+    private Long minPrice;
+    private Long maxPrice;
+
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
+    // Last SKU reported by an interrupted run, to resume after it
+    private String afterSku;
+
+    /**
+     * Converts this request into a ProductFilter domain object.
+     * @return the product filter
+     */
+    public ProductFilter toFilter() {
+        return ProductFilter.builder()
+                .skus(skus)
+                .skuPrefix(skuPrefix)
+                .enabled(enabled)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .currency(currency)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductBulkItem;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single entry of a bulk create/update request.
+ * Entries without a SKU create a product; entries with a SKU update it.
+ * Entries are validated by the service so that one invalid entry does not reject the whole request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkRequest {
+
+    private String sku;
+    private String name;
+    private Long price;
+    private String currency;
+    private Integer initialStock;
+
+    /**
+     * Converts this request entry into a ProductBulkItem domain object.
+     * @return the bulk item
+     */
+    public ProductBulkItem toDomain() {
+        return ProductBulkItem.builder()
+                .sku(sku)
+                .name(name)
+                .price(price != null ? price : 0)
+                .currency(currency)
+                .initialStock(initialStock != null ? initialStock : 0)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductBulkResult;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk create/update responses, with a summary and the outcome of every entry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkResponse {
+
+    private int created;
+    private int updated;
+    private int failed;
+    private List<ProductBulkResult> results;
+
+    /**
+     * Creates a ProductBulkResponse from the per-entry results of a bulk operation.
+     * @param results the bulk results
+     * @return the bulk response DTO
+     */
+    public static ProductBulkResponse fromDomain(List<ProductBulkResult> results) {
+        int created = 0;
+        int updated = 0;
+        int failed = 0;
+        for (ProductBulkResult result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case FAILED -> failed++;
+            }
+        }
+        return new ProductBulkResponse(created, updated, failed, results);
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductChangePage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DTO for change feed responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangePageResponse {
+
+    private List<ProductChangeResponse> changes;
+    private long watermark;
+    private boolean hasMore;
+
+    /**
+     * Creates a ProductChangePageResponse from a ProductChangePage domain object.
+     * @param page the change page
+     * @return the change page response DTO
+     */
+    public static ProductChangePageResponse fromDomain(ProductChangePage page) {
+        return ProductChangePageResponse.builder()
+                .changes(page.getChanges().stream()
+                        .map(ProductChangeResponse::fromDomain)
+                        .collect(Collectors.toList()))
+                .watermark(page.getWatermark())
+                .hasMore(page.isHasMore())
+                .build();
+    }
+}
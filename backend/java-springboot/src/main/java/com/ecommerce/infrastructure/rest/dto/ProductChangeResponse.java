@@ -0,0 +1,40 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductChange;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a single change feed entry.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeResponse {
+
+    private long sequence;
+    private String sku;
+    private boolean deleted;
+
+    /**
+     * Current state of the product, or null for a tombstone.
+     */
+    private ProductResponse product;
+
+    /**
+     * Creates a ProductChangeResponse from a ProductChange domain object.
+     * @param change the product change
+     * @return the product change response DTO
+     */
+    public static ProductChangeResponse fromDomain(ProductChange change) {
+        return ProductChangeResponse.builder()
+                .sequence(change.getSequence())
+                .sku(change.getSku())
+                .deleted(change.isDeleted())
+                .product(change.isDeleted() ? null : ProductResponse.fromDomain(change.getProduct()))
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductPage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * DTO for paginated product listing responses.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageResponse {
+
+    private List<ProductResponse> items;
+    private String nextPageToken;
+
+    /**
+     * Creates a ProductPageResponse from a ProductPage domain object.
+     * @param page the product page
+     * @return the product page response DTO
+     */
+    public static ProductPageResponse fromDomain(ProductPage page) {
+        return ProductPageResponse.builder()
+                .items(page.getItems().stream()
+                        .map(ProductResponse::fromDomain)
+                        .collect(Collectors.toList()))
+                .nextPageToken(page.getNextPageToken())
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductRepricingProgress;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one progress line of a bulk repricing.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRepricingProgressResponse {
+
+    private long matched;
+    private long repriced;
+    private long skipped;
+    private String lastSku;
+    private boolean complete;
+
+    /**
+     * Converts a ProductRepricingProgress domain object to a ProductRepricingProgressResponse DTO.
+     * @param progress the progress
+     * @return the DTO
+     */
+    public static ProductRepricingProgressResponse fromDomain(ProductRepricingProgress progress) {
+        return ProductRepricingProgressResponse.builder()
+                .matched(progress.getMatched())
+                .repriced(progress.getRepriced())
+                .skipped(progress.getSkipped())
+                .lastSku(progress.getLastSku())
+                .complete(progress.isComplete())
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.ProductFilter;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for bulk repricing requests: a price rule and the filter selecting the products it applies to.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRepricingRequest {
+
+    @NotNull(message = "Price rule type is required")
+    private PriceRule.Type type;
+
+    // For PERCENTAGE rules, e.g. 10 for +10% or -12.5 for a 12.5% discount
+    @Digits(integer = 4, fraction = 2, message = "Percentage can have at most two decimals")
+    private BigDecimal percentage;
+
+    // For ABSOLUTE and SET rules, in minor units of the filtered currency
+    private Long amount;
+
+    private List<String> skus;
+    private String skuPrefix;
+    private Boolean enabled;
+    private Long minPrice;
+    private Long maxPrice;
+
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
+
+    // Last SKU reported by an interrupted run, to resume after it
+    private String afterSku;
+
+    /**
+     * Converts the rule part of this request into a PriceRule domain object.
+     * @return the price rule
+     * @throws IllegalArgumentException if the value the rule type needs is missing
+     */
+    public PriceRule toRule() {
+        if (type == PriceRule.Type.PERCENTAGE) {
+            if (percentage == null) {
+                throw new IllegalArgumentException("A PERCENTAGE rule needs a percentage");
+            }
+            return PriceRule.percentage(percentage.movePointRight(2).longValueExact());
+        }
+        if (amount == null) {
+            throw new IllegalArgumentException("A " + type + " rule needs an amount");
+        }
+        return type == PriceRule.Type.SET ? PriceRule.set(amount) : PriceRule.absolute(amount);
+    }
+
+    /**
+     * Converts the filter part of this request into a ProductFilter domain object.
+     * @return the product filter
+     */
+    public ProductFilter toFilter() {
+        return ProductFilter.builder()
+                .skus(skus)
+                .skuPrefix(skuPrefix)
+                .enabled(enabled)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .currency(currency)
+                .build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.ecommerce.infrastructure.rest.dto;
 
+import com.ecommerce.domain.model.Product;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,9 +23,15 @@ public class ProductRequest {
     @NotBlank(message = "Product name is required")
     private String name;
     
+    // In minor units of the currency, e.g. 1999 for USD 19.99
     @NotNull(message = "Product price is required")
     @Min(value = 0, message = "Product price must be greater than or equal to 0")
-    private Double price;
+    @Max(value = Product.MAX_PRICE, message = "Product price cannot exceed " + Product.MAX_PRICE)
+    private Long price;
+    
+    // ISO 4217 code; when omitted, new products use the default currency and updated products keep theirs
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Currency must be a three-letter ISO 4217 code")
+    private String currency;
     
     @Min(value = 0, message = "Initial stock must be greater than or equal to 0")
     private Integer initialStock;
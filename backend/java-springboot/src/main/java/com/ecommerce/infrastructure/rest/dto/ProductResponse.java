@@ -17,9 +17,14 @@ public class ProductResponse {
     
     private String sku;
     private String name;
-    private double price;
+    // In minor units of the currency
+    private long price;
+    private String currency;
     private int stock;
+    private int reserved;
+    private int availableStock;
     private boolean enabled;
+    private long version;
     
     /**
      * Creates a ProductResponse from a Product domain entity.
@@ -31,8 +36,12 @@ public class ProductResponse {
                 .sku(product.getSku())
                 .name(product.getName())
                 .price(product.getPrice())
+                .currency(product.getCurrency())
                 .stock(product.getStock())
+                .reserved(product.getReserved())
+                .availableStock(product.getAvailableStock())
                 .enabled(product.isEnabled())
+                .version(product.getVersion())
                 .build();
     }
 }
\ No newline at end of file
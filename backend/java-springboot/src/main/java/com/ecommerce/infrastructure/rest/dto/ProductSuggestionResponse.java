@@ -0,0 +1,32 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import com.ecommerce.domain.model.ProductSearchHit;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for product name suggestions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+
+    private String sku;
+    private String name;
+
+    /**
+     * Creates a ProductSuggestionResponse from a ProductSearchHit domain object.
+     * @param hit the search hit
+     * @return the product suggestion response DTO
+     */
+    public static ProductSuggestionResponse fromDomain(ProductSearchHit hit) {
+        return ProductSuggestionResponse.builder()
+                .sku(hit.getSku())
+                .name(hit.getName())
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for stock adjustment requests.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentRequest {
+    
+    @NotNull(message = "Quantity is required")
+    @Min(value = 1, message = "Quantity must be greater than or equal to 1")
+    private Integer quantity;
+    
+    /**
+     * Only used when decrementing: true removes reserved stock instead of available stock.
+     */
+    private Boolean fromReservation;
+}
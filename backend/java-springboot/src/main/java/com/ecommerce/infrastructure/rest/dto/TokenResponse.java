@@ -0,0 +1,29 @@
+package com.ecommerce.infrastructure.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for login responses carrying an access token.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenResponse {
+
+    private String accessToken;
+    private String tokenType;
+
+    /**
+     * Lifetime of the access token, in seconds.
+     */
+    private long expiresIn;
+
+    private String username;
+    private List<String> roles;
+}
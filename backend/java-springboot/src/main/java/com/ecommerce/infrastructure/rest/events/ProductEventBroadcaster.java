@@ -0,0 +1,106 @@
+package com.ecommerce.infrastructure.rest.events;
+
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.port.ProductEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-Sent Events adapter of the ProductEventPublisher port.
+ * Published changes are handed to every open stream after the publishing transaction commits.
+ * Idle streams hold no thread: events are written by short-lived virtual threads, one per stream with pending events,
+ * and a single scheduler thread requests a keep-alive comment on every stream once per heartbeat interval.
+ */
+public class ProductEventBroadcaster implements ProductEventPublisher, AutoCloseable {
+
+    private final Set<ProductEventSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-events-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int bufferSize;
+    private final int maximumSubscribers;
+    private final Duration timeout;
+
+    public ProductEventBroadcaster(int bufferSize, int maximumSubscribers, Duration timeout, Duration heartbeatInterval) {
+        this.bufferSize = bufferSize;
+        this.maximumSubscribers = maximumSubscribers;
+        this.timeout = timeout;
+        long interval = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a new event stream.
+     * The stream ends after the configured timeout, or earlier if the client is too slow; clients are expected
+     * to reconnect and reload what they display.
+     * @return the emitter of the stream, or empty if the maximum number of streams is open
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maximumSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        ProductEventSubscriber subscriber = new ProductEventSubscriber(emitter, bufferSize);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        // Spring expects the emitter to be completed within these callbacks, so complete it on the calling thread
+        emitter.onTimeout(() -> subscriber.close(Runnable::run));
+        emitter.onError(error -> subscriber.close(Runnable::run));
+        subscribers.add(subscriber);
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Returns the number of open streams.
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void publish(List<ProductChange> changes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(changes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(changes);
+            }
+        });
+    }
+
+    private void dispatch(List<ProductChange> changes) {
+        for (ProductEventSubscriber subscriber : subscribers) {
+            subscriber.offer(changes, senders);
+        }
+    }
+
+    private void heartbeat() {
+        for (ProductEventSubscriber subscriber : subscribers) {
+            subscriber.heartbeat(senders);
+        }
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.close(senders));
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.infrastructure.rest.events;
+
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.infrastructure.rest.dto.ProductChangeResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * A single SSE connection of the product event stream.
+ * Pending changes are coalesced per SKU, so a burst of updates to the same product is sent once with its latest state,
+ * and at most bufferSize SKUs are kept pending. Past that, the pending changes are replaced by a single resync event
+ * telling the client to reload; a client that receives another bufferSize changes before that event could be written
+ * is considered too slow and dropped.
+ * Events are written by one drain task at a time, so a slow connection only holds up its own (virtual) thread.
+ */
+class ProductEventSubscriber {
+
+    static final String PRODUCT_EVENT = "product";
+    static final String RESYNC_EVENT = "resync";
+
+    private final SseEmitter emitter;
+    private final int bufferSize;
+
+    // Guarded by this
+    private final LinkedHashMap<String, ProductChange> pending = new LinkedHashMap<>();
+    private long resyncSequence = -1;
+    private int changesSinceResync;
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean closed;
+
+    ProductEventSubscriber(SseEmitter emitter, int bufferSize) {
+        this.emitter = emitter;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Queues changes for this subscriber and starts a drain task if none is running.
+     * @param changes the changes, in ascending sequence order
+     * @param executor the executor running the drain tasks
+     */
+    void offer(List<ProductChange> changes, Executor executor) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            for (ProductChange change : changes) {
+                if (resyncSequence >= 0) {
+                    // The client reloads everything anyway; just remember how far the reload must reach
+                    resyncSequence = Math.max(resyncSequence, change.getSequence());
+                    if (++changesSinceResync > bufferSize) {
+                        close(executor);
+                        return;
+                    }
+                    continue;
+                }
+                ProductChange previous = pending.remove(change.getSku());
+                if (previous != null && previous.getSequence() > change.getSequence()) {
+                    // Commits notify in sequence order, but their callbacks may still race; keep the newest state
+                    change = previous;
+                }
+                if (pending.size() >= bufferSize) {
+                    resyncSequence = pending.values().stream()
+                            .mapToLong(ProductChange::getSequence)
+                            .reduce(change.getSequence(), Math::max);
+                    changesSinceResync = 0;
+                    pending.clear();
+                    continue;
+                }
+                // Re-inserting moves the SKU to the end, so events are sent in ascending sequence order
+                pending.put(change.getSku(), change);
+            }
+        }
+        scheduleDrain(executor);
+    }
+
+    /**
+     * Requests a keep-alive comment, so proxies keep the connection open and dead clients are detected.
+     * @param executor the executor running the drain tasks
+     */
+    void heartbeat(Executor executor) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            heartbeatDue = true;
+        }
+        scheduleDrain(executor);
+    }
+
+    private void scheduleDrain(Executor executor) {
+        synchronized (this) {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    /**
+     * Sends the pending events until none are left.
+     */
+    private void drain() {
+        while (true) {
+            List<ProductChange> batch;
+            long resync;
+            boolean heartbeat;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && resyncSequence < 0 && !heartbeatDue)) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                resync = resyncSequence;
+                heartbeat = heartbeatDue && batch.isEmpty() && resync < 0;
+                pending.clear();
+                heartbeatDue = false;
+            }
+            try {
+                if (resync >= 0) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).id(Long.toString(resync)).data(resync));
+                    synchronized (this) {
+                        // Changes absorbed while the event was written need another one
+                        if (resyncSequence == resync) {
+                            resyncSequence = -1;
+                            changesSinceResync = 0;
+                        }
+                    }
+                }
+                for (ProductChange change : batch) {
+                    emitter.send(SseEmitter.event()
+                            .name(PRODUCT_EVENT)
+                            .id(Long.toString(change.getSequence()))
+                            .data(ProductChangeResponse.fromDomain(change)));
+                }
+                if (heartbeat) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the emitter's completion callback unregisters this subscriber
+                synchronized (this) {
+                    closed = true;
+                    pending.clear();
+                    draining = false;
+                }
+                emitter.completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops delivering events and completes the connection.
+     * Completion runs on the executor because it waits for a send that may be blocked on a slow connection.
+     * @param executor the executor running the drain tasks
+     */
+    void close(Executor executor) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending.clear();
+        }
+        executor.execute(emitter::complete);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.infrastructure.rest.export;
+
+import com.ecommerce.domain.model.Product;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+
+/**
+ * Export writer producing RFC 4180 CSV with a header row.
+ * Prices are written as exact decimals in the major unit of their currency (19.99 for 1999 USD cents),
+ * so spreadsheets can sum them without conversion.
+ */
+class CsvProductExportWriter implements ProductExportWriter {
+
+    static final String HEADER = "sku,name,price,currency,stock,enabled";
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvProductExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void accept(Product product) {
+        try {
+            writeHeaderIfNeeded();
+            writer.write(escape(product.getSku()));
+            writer.write(',');
+            writer.write(escape(product.getName()));
+            writer.write(',');
+            writePrice(product.getPrice(), product.getCurrency());
+            writer.write(',');
+            writer.write(product.getCurrency());
+            writer.write(',');
+            writer.write(Integer.toString(product.getStock()));
+            writer.write(',');
+            writer.write(Boolean.toString(product.isEnabled()));
+            writer.write("\r\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        // An empty catalog still gets its header row
+        writeHeaderIfNeeded();
+        writer.flush();
+    }
+
+    private void writeHeaderIfNeeded() throws IOException {
+        if (!headerWritten) {
+            writer.write(HEADER);
+            writer.write("\r\n");
+            headerWritten = true;
+        }
+    }
+
+    /**
+     * Writes an amount in minor units as a decimal with the number of fraction digits of its currency.
+     * @param amount the amount in minor units
+     * @param currency the ISO 4217 code of the currency
+     */
+    private void writePrice(long amount, String currency) throws IOException {
+        int fractionDigits = Currency.getInstance(currency).getDefaultFractionDigits();
+        if (fractionDigits <= 0) {
+            writer.write(Long.toString(amount));
+            return;
+        }
+        if (amount < 0) {
+            writer.write('-');
+        }
+        String digits = Long.toString(Math.abs(amount));
+        int integerDigits = digits.length() - fractionDigits;
+        if (integerDigits <= 0) {
+            writer.write('0');
+        } else {
+            writer.write(digits, 0, integerDigits);
+        }
+        writer.write('.');
+        for (int i = integerDigits; i < 0; i++) {
+            writer.write('0');
+        }
+        writer.write(digits, Math.max(integerDigits, 0), digits.length() - Math.max(integerDigits, 0));
+    }
+
+    /**
+     * Quotes a field if it contains a separator, quote or line break, doubling embedded quotes.
+     * @param value the field value
+     * @return the escaped field
+     */
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
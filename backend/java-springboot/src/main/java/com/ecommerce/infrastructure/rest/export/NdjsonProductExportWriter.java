@@ -0,0 +1,45 @@
+package com.ecommerce.infrastructure.rest.export;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.infrastructure.rest.dto.ProductResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Export writer producing newline-delimited JSON, one ProductResponse object per line.
+ */
+class NdjsonProductExportWriter implements ProductExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+
+    NdjsonProductExportWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        // Lines are separated explicitly, so drop the default space between root-level values
+        this.generator.setRootValueSeparator(null);
+        // Let the generator buffer rows instead of flushing the socket after every product
+        this.writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Override
+    public void accept(Product product) {
+        try {
+            writer.writeValue(generator, ProductResponse.fromDomain(product));
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,65 @@
+package com.ecommerce.infrastructure.rest.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formats supported by the catalog export endpoint.
+ */
+public enum ProductExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson") {
+        @Override
+        public ProductExportWriter createWriter(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            return new NdjsonProductExportWriter(out, objectMapper);
+        }
+    },
+    CSV("text/csv", "csv") {
+        @Override
+        public ProductExportWriter createWriter(OutputStream out, ObjectMapper objectMapper) {
+            return new CsvProductExportWriter(out);
+        }
+    };
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ProductExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Creates a writer that serialises products in this format to the given output stream.
+     * @param out the output stream to write to
+     * @param objectMapper the object mapper used for JSON serialisation
+     * @return the export writer
+     * @throws IOException if the writer cannot be created
+     */
+    public abstract ProductExportWriter createWriter(OutputStream out, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Resolves an export format from its case-insensitive name.
+     * @param value the format name
+     * @return the export format
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ProductExportFormat fromValue(String value) {
+        for (ProductExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format '" + value + "'");
+    }
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.infrastructure.rest.export;
+
+import com.ecommerce.domain.model.Product;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported products to an output stream one at a time, without buffering the whole catalog.
+ * I/O failures while accepting a product are rethrown as UncheckedIOException.
+ */
+public interface ProductExportWriter extends Consumer<Product> {
+
+    /**
+     * Writes any trailing content and flushes buffered output. The underlying stream is left open.
+     * @throws IOException if the output cannot be written
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,484 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductSearchHit;
+import com.ecommerce.domain.port.ProductSearchIndex;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index of product names.
+ * Names are split into words, lower-cased and stripped of accents; each word maps to the sorted ids of the products
+ * containing it, and the words are kept sorted so every word starting with a prefix is one range scan away.
+ * A search intersects the id lists of its complete words, smallest first, skipping ahead by galloping search, and
+ * joins the words starting with the typed prefix to the intersection when they are rarer than the complete words.
+ * A query made of a single prefix ranks at most MAX_CANDIDATES products, so a one-letter prefix does not scan the
+ * whole catalog.
+ * <p>
+ * Results are ranked by whether the last word matched a whole word, then by whether the name starts with the query,
+ * then by name length, so the shortest, closest names come first.
+ * Searches hold a shared lock and writes an exclusive one; writes only happen when catalog changes are read from the
+ * change feed.
+ */
+public class InMemoryProductSearchIndex implements ProductSearchIndex {
+
+    static final int MAX_CANDIDATES = 10_000;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Comparator<Candidate> RANKING = Comparator.comparingInt(Candidate::score).reversed()
+            .thenComparingInt(candidate -> candidate.document().name.length())
+            .thenComparing(candidate -> candidate.document().name)
+            .thenComparing(candidate -> candidate.document().sku);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private Index index = new Index();
+    // Highest change sequence the index holds, guarded by lock
+    private long lastSequence;
+
+    /**
+     * An indexed product.
+     */
+    private static final class Document {
+        private final String sku;
+        private final String name;
+        private final boolean enabled;
+        private long sequence;
+        // The words of the name joined by single spaces, to match queries against the start of the name
+        private final String foldedName;
+        // Distinct words of the name, sorted so a word or a prefix can be looked up by binary search
+        private final String[] words;
+        private int id;
+
+        private Document(Product product) {
+            this.sku = product.getSku();
+            this.name = product.getName();
+            this.enabled = product.isEnabled();
+            this.sequence = product.getChangeSequence();
+            List<String> nameWords = tokenize(product.getName());
+            this.foldedName = String.join(" ", nameWords);
+            this.words = nameWords.stream().distinct().sorted().toArray(String[]::new);
+        }
+
+        private boolean hasWord(String word) {
+            return Arrays.binarySearch(words, word) >= 0;
+        }
+
+        /**
+         * Returns the smallest word of the name that is not smaller than the given prefix.
+         */
+        private String firstWordFrom(String prefix) {
+            int index = Arrays.binarySearch(words, prefix);
+            int next = index >= 0 ? index : -index - 1;
+            return next < words.length ? words[next] : null;
+        }
+
+        private boolean hasWordStartingWith(String prefix) {
+            String word = firstWordFrom(prefix);
+            return word != null && word.startsWith(prefix);
+        }
+    }
+
+    private record Candidate(Document document, int score) {
+    }
+
+    /**
+     * Sorted, growable array of document ids.
+     */
+    private static final class Postings {
+        private int[] ids;
+        private int size;
+
+        private Postings(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+
+        private void add(int id) {
+            int index = -Arrays.binarySearch(ids, 0, size, id) - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private void remove(int id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+        }
+
+        /**
+         * Returns the position of the first id not smaller than the given one, searching from a position onwards
+         * with exponentially growing steps, so a walk through a long list in ascending order stays cheap.
+         */
+        private int seek(int id, int from) {
+            int low = from;
+            int high = from;
+            int step = 1;
+            while (high < size && ids[high] < id) {
+                low = high + 1;
+                high = from + step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (ids[middle] < id) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The indexed documents. Ids of removed documents are reused, so the id space stays as large as the catalog.
+     */
+    private static final class Index {
+        private final Map<String, Document> documentsBySku = new HashMap<>();
+        private final List<Document> documentsById = new ArrayList<>();
+        private final Deque<Integer> freeIds = new ArrayDeque<>();
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();
+
+        private void add(Document document) {
+            Integer freeId = freeIds.poll();
+            if (freeId != null) {
+                document.id = freeId;
+                documentsById.set(freeId, document);
+            } else {
+                document.id = documentsById.size();
+                documentsById.add(document);
+            }
+            documentsBySku.put(document.sku, document);
+            for (String word : document.words) {
+                postings.computeIfAbsent(word, key -> new Postings(new int[4], 0)).add(document.id);
+            }
+        }
+
+        private void remove(Document document) {
+            documentsBySku.remove(document.sku);
+            documentsById.set(document.id, null);
+            freeIds.push(document.id);
+            for (String word : document.words) {
+                Postings documentsWithWord = postings.get(word);
+                documentsWithWord.remove(document.id);
+                if (documentsWithWord.size == 0) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the best ranked documents.
+     */
+    private static final class TopResults {
+        private final int limit;
+        private final Boolean enabled;
+        private final String prefix;
+        private final String foldedQuery;
+        private final PriorityQueue<Candidate> best;
+
+        private TopResults(int limit, Boolean enabled, String prefix, String foldedQuery) {
+            this.limit = limit;
+            this.enabled = enabled;
+            this.prefix = prefix;
+            this.foldedQuery = foldedQuery;
+            this.best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        }
+
+        /**
+         * Ranks a document that contains every word of the query.
+         */
+        private void offer(Document document) {
+            if (enabled != null && document.enabled != enabled) {
+                return;
+            }
+            int score = (prefix == null || document.hasWord(prefix) ? 2 : 0)
+                    + (document.foldedName.startsWith(foldedQuery) ? 1 : 0);
+            // Most documents rank below the current top results: reject them without allocating a candidate
+            if (best.size() == limit && !ranksBefore(document, score, best.peek())) {
+                return;
+            }
+            best.add(new Candidate(document, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        private static boolean ranksBefore(Document document, int score, Candidate other) {
+            if (score != other.score()) {
+                return score > other.score();
+            }
+            Document otherDocument = other.document();
+            if (document.name.length() != otherDocument.name.length()) {
+                return document.name.length() < otherDocument.name.length();
+            }
+            int byName = document.name.compareTo(otherDocument.name);
+            return byName != 0 ? byName < 0 : document.sku.compareTo(otherDocument.sku) < 0;
+        }
+
+        private List<ProductSearchHit> hits() {
+            List<Candidate> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked.stream()
+                    .map(candidate -> new ProductSearchHit(candidate.document().sku, candidate.document().name))
+                    .toList();
+        }
+    }
+
+    /**
+     * Splits a text into lower-case words without accents.
+     * @param text the text to split
+     * @return the words, in order
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Replaces the content of the index with the given products.
+     * @param products the products to index
+     */
+    public void rebuild(Stream<Product> products) {
+        Index newIndex = new Index();
+        long newLastSequence = products
+                .mapToLong(product -> {
+                    newIndex.add(new Document(product));
+                    return product.getChangeSequence();
+                })
+                .max()
+                .orElse(0);
+        lock.writeLock().lock();
+        try {
+            index = newIndex;
+            lastSequence = newLastSequence;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies committed catalog changes.
+     * Changes older than what the index already holds for a SKU are ignored, so a change read twice is harmless.
+     * @param changes the changes to apply
+     */
+    public void apply(List<ProductChange> changes) {
+        lock.writeLock().lock();
+        try {
+            for (ProductChange change : changes) {
+                lastSequence = Math.max(lastSequence, change.getSequence());
+                Document existing = index.documentsBySku.get(change.getSku());
+                if (existing != null && existing.sequence >= change.getSequence()) {
+                    continue;
+                }
+                // Price and stock changes, such as a bulk repricing, leave the indexed words as they are
+                if (existing != null && !change.isDeleted() && existing.enabled == change.getProduct().isEnabled()
+                        && existing.name.equals(change.getProduct().getName())) {
+                    existing.sequence = change.getSequence();
+                    continue;
+                }
+                if (existing != null) {
+                    index.remove(existing);
+                }
+                if (!change.isDeleted()) {
+                    index.add(new Document(change.getProduct()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest change sequence the index holds, from which the change feed is read next.
+     * @return the last indexed change sequence, or 0 if the index is empty
+     */
+    public long lastSequence() {
+        lock.readLock().lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed products.
+     * @return the number of products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documentsBySku.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ProductSearchHit> search(String query, Boolean enabled, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        // The last word is being typed, unless the query ends with a separator
+        boolean typing = Character.isLetterOrDigit(query.charAt(query.length() - 1));
+        List<String> completeWords = typing ? words.subList(0, words.size() - 1) : words;
+        String prefix = typing ? words.get(words.size() - 1) : null;
+        TopResults results = new TopResults(limit, enabled, prefix, String.join(" ", words));
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>();
+            for (String word : completeWords) {
+                Postings documentsWithWord = index.postings.get(word);
+                if (documentsWithWord == null) {
+                    return List.of();
+                }
+                lists.add(documentsWithWord);
+            }
+            if (prefix == null) {
+                intersect(lists, null, results);
+                return results.hits();
+            }
+
+            SortedMap<String, Postings> prefixWords = index.postings.subMap(prefix, prefix + Character.MAX_VALUE);
+            if (prefixWords.isEmpty()) {
+                return List.of();
+            }
+            if (lists.isEmpty()) {
+                scanPrefix(prefix, prefixWords, results);
+                return results.hits();
+            }
+            // Join the prefix to the intersection when its words are rarer than the complete words
+            int smallest = lists.stream().mapToInt(list -> list.size).min().getAsInt();
+            long prefixSize = 0;
+            for (Postings documentsWithWord : prefixWords.values()) {
+                prefixSize += documentsWithWord.size;
+                if (prefixSize >= smallest) {
+                    break;
+                }
+            }
+            if (prefixSize < smallest) {
+                lists.add(union(prefixWords.values()));
+                intersect(lists, null, results);
+            } else {
+                intersect(lists, prefix, results);
+            }
+            return results.hits();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Offers the documents present in every list, checking the typed prefix on each if it is not one of the lists.
+     */
+    private void intersect(List<Postings> lists, String uncheckedPrefix, TopResults results) {
+        lists.sort(Comparator.comparingInt(list -> list.size));
+        Postings driver = lists.get(0);
+        List<Postings> others = lists.subList(1, lists.size());
+        int[] positions = new int[others.size()];
+        candidates:
+        for (int i = 0; i < driver.size; i++) {
+            int id = driver.ids[i];
+            for (int j = 0; j < positions.length; j++) {
+                Postings other = others.get(j);
+                positions[j] = other.seek(id, positions[j]);
+                if (positions[j] == other.size) {
+                    return;
+                }
+                if (other.ids[positions[j]] != id) {
+                    continue candidates;
+                }
+            }
+            Document document = index.documentsById.get(id);
+            if (uncheckedPrefix == null || document.hasWordStartingWith(uncheckedPrefix)) {
+                results.offer(document);
+            }
+        }
+    }
+
+    /**
+     * Offers the documents of the words starting with the prefix, the prefix itself first, up to MAX_CANDIDATES.
+     */
+    private void scanPrefix(String prefix, SortedMap<String, Postings> prefixWords, TopResults results) {
+        int candidates = 0;
+        boolean singleWord = prefixWords.size() == 1;
+        for (Map.Entry<String, Postings> entry : prefixWords.entrySet()) {
+            Postings documentsWithWord = entry.getValue();
+            for (int i = 0; i < documentsWithWord.size; i++) {
+                Document document = index.documentsById.get(documentsWithWord.ids[i]);
+                // A name with several words starting with the prefix is only offered under the first of them
+                if (!singleWord && !entry.getKey().equals(document.firstWordFrom(prefix))) {
+                    continue;
+                }
+                if (candidates++ == MAX_CANDIDATES) {
+                    return;
+                }
+                results.offer(document);
+            }
+        }
+    }
+
+    private static Postings union(Collection<Postings> lists) {
+        if (lists.size() == 1) {
+            return lists.iterator().next();
+        }
+        int size = 0;
+        for (Postings list : lists) {
+            size += list.size;
+        }
+        int[] ids = new int[size];
+        int offset = 0;
+        for (Postings list : lists) {
+            System.arraycopy(list.ids, 0, ids, offset, list.size);
+            offset += list.size;
+        }
+        Arrays.sort(ids);
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new Postings(ids, distinct);
+    }
+}
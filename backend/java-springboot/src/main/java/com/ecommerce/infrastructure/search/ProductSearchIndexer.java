@@ -0,0 +1,95 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.port.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Background indexer keeping the search index in sync with the product change feed.
+ * Every interval it reads the changes written after the highest sequence the index holds and applies them, so the
+ * writes of every application instance sharing the database show up in the index within one interval (plus the
+ * replication lag when the feed is read from a replica). Sequences are allocated in commit order, so reading from the
+ * last indexed sequence never skips a change.
+ */
+public class ProductSearchIndexer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndexer.class);
+
+    private final InMemoryProductSearchIndex index;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final long intervalMillis;
+    private volatile boolean running;
+    private Thread indexer;
+
+    public ProductSearchIndexer(InMemoryProductSearchIndex index, ProductRepository productRepository,
+                                PlatformTransactionManager transactionManager, int batchSize, Duration interval) {
+        this.index = index;
+        this.productRepository = productRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setReadOnly(true);
+        this.batchSize = batchSize;
+        this.intervalMillis = interval.toMillis();
+    }
+
+    /**
+     * Starts following the change feed in the background.
+     */
+    public void start() {
+        running = true;
+        indexer = new Thread(this::run, "product-search-indexer");
+        indexer.setDaemon(true);
+        indexer.start();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                catchUp();
+            } catch (RuntimeException e) {
+                log.warn("Could not read the product change feed, retrying in {} ms: {}", intervalMillis, e.getMessage());
+            }
+            synchronized (this) {
+                try {
+                    if (running) {
+                        wait(intervalMillis);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies every change written after the highest sequence the index holds, one batch at a time.
+     */
+    void catchUp() {
+        List<ProductChange> changes;
+        do {
+            long since = index.lastSequence();
+            changes = transaction.execute(status -> productRepository.findChangesSince(since, batchSize));
+            index.apply(changes);
+        } while (changes.size() == batchSize);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // Wake the indexer instead of interrupting it: an interrupt during a query can close H2's file channel
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (indexer != null) {
+            indexer.join();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.ecommerce.infrastructure.security;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Issues and verifies self-contained access tokens.
+ * Tokens use the JWT compact format signed with HMAC-SHA256 and carry the username, the granted authorities
+ * and an expiry, so they can be verified locally without looking the user up. As a consequence a token stays
+ * valid until it expires, which is why the time to live should be kept short.
+ */
+public class AccessTokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final SecretKeySpec signingKey;
+    private final Duration timeToLive;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    public AccessTokenService(byte[] secret, Duration timeToLive, ObjectMapper objectMapper, Clock clock) {
+        if (secret.length < 32) {
+            throw new IllegalArgumentException("Access token secret must be at least 256 bits long");
+        }
+        this.signingKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.timeToLive = timeToLive;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+    }
+
+    /**
+     * Claims carried by an access token.
+     * @param subject the username
+     * @param authorities the granted authorities
+     * @param issuedAt the issue time, in epoch seconds
+     * @param expiresAt the expiry time, in epoch seconds
+     */
+    record Claims(
+            @JsonProperty("sub") String subject,
+            @JsonProperty("authorities") List<String> authorities,
+            @JsonProperty("iat") long issuedAt,
+            @JsonProperty("exp") long expiresAt) {
+    }
+
+    /**
+     * An issued access token.
+     * @param value the encoded token
+     * @param issuedAt when the token was issued
+     * @param expiresAt when the token expires
+     */
+    public record AccessToken(String value, Instant issuedAt, Instant expiresAt) {
+    }
+
+    /**
+     * Issues an access token for an authenticated user.
+     * @param authentication the successful authentication
+     * @return the access token
+     */
+    public AccessToken issue(Authentication authentication) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(timeToLive);
+        Claims claims = new Claims(
+                authentication.getName(),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList(),
+                now.getEpochSecond(),
+                expiresAt.getEpochSecond());
+        try {
+            String unsigned = HEADER + "." + ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+            return new AccessToken(unsigned + "." + ENCODER.encodeToString(sign(unsigned)), now, expiresAt);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode access token", e);
+        }
+    }
+
+    /**
+     * Verifies an access token and rebuilds the authentication it represents.
+     * @param token the encoded token
+     * @return the authentication, or empty if the token is malformed, tampered with or expired
+     */
+    public Optional<Authentication> verify(String token) {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.lastIndexOf('.');
+        if (headerEnd < 0 || payloadEnd <= headerEnd || !token.substring(0, headerEnd).equals(HEADER)) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(payloadEnd + 1));
+            if (!MessageDigest.isEqual(signature, sign(token.substring(0, payloadEnd)))) {
+                return Optional.empty();
+            }
+            Claims claims = objectMapper.readValue(DECODER.decode(token.substring(headerEnd + 1, payloadEnd)), Claims.class);
+            if (claims.subject() == null || clock.instant().getEpochSecond() >= claims.expiresAt()) {
+                return Optional.empty();
+            }
+            Collection<SimpleGrantedAuthority> authorities = claims.authorities() == null ? List.of()
+                    : claims.authorities().stream().map(SimpleGrantedAuthority::new).toList();
+            return Optional.of(UsernamePasswordAuthenticationToken.authenticated(claims.subject(), null, authorities));
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(String content) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign access token", e);
+        }
+    }
+}
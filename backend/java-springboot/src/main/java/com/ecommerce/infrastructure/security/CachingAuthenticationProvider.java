@@ -0,0 +1,122 @@
+package com.ecommerce.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Authentication provider that remembers successfully verified username/password pairs for a short time,
+ * so repeated Basic Auth requests skip the deliberately slow password hash comparison of the delegate.
+ * <p>
+ * Credentials are never stored: entries are keyed by an HMAC of the username and password, computed with a
+ * random key that only lives in this process. On a hit, the user is reloaded and the entry is only honoured if
+ * the stored password hash is unchanged and the account is still usable, so password or account changes take
+ * effect immediately.
+ */
+public class CachingAuthenticationProvider implements AuthenticationProvider, MeterBinder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, String> verifiedCredentials;
+    private final SecretKeySpec digestKey;
+
+    public CachingAuthenticationProvider(AuthenticationProvider delegate, UserDetailsService userDetailsService,
+                                         long maximumSize, Duration timeToLive) {
+        this.delegate = delegate;
+        this.userDetailsService = userDetailsService;
+        this.verifiedCredentials = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String username = authentication.getName();
+        String key = digest(username, authentication.getCredentials().toString());
+
+        // The cached value is the password hash the credentials were verified against
+        String verifiedPasswordHash = verifiedCredentials.getIfPresent(key);
+        if (verifiedPasswordHash != null) {
+            UserDetails user = userDetailsService.loadUserByUsername(username);
+            if (verifiedPasswordHash.equals(user.getPassword()) && isUsable(user)) {
+                UsernamePasswordAuthenticationToken result =
+                        UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities());
+                result.setDetails(authentication.getDetails());
+                return result;
+            }
+            verifiedCredentials.invalidate(key);
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        // Read the hash now: the authentication manager erases the principal's credentials once we return
+        if (result != null && result.isAuthenticated() && result.getPrincipal() instanceof UserDetails user
+                && user.getPassword() != null) {
+            verifiedCredentials.put(key, user.getPassword());
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    /**
+     * Publishes the statistics of the remembered credentials as the "auth-credentials" cache meters.
+     * @param registry the registry to publish them to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedCredentials, "auth-credentials");
+    }
+
+    /**
+     * Removes every remembered credential, forcing the next requests through the delegate.
+     */
+    public void invalidateAll() {
+        verifiedCredentials.invalidateAll();
+    }
+
+    private static boolean isUsable(UserDetails user) {
+        return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired() && user.isCredentialsNonExpired();
+    }
+
+    private String digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot compute credential digest", e);
+        }
+    }
+}
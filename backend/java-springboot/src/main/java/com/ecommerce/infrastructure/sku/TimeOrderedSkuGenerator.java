@@ -0,0 +1,97 @@
+package com.ecommerce.infrastructure.sku;
+
+import com.ecommerce.domain.port.SkuGenerator;
+
+import java.text.Normalizer;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates SKUs made of a name prefix and a time-ordered, Snowflake-style identifier, e.g. {@code WID-0C8ZK3B9R0001}.
+ * The identifier packs the milliseconds since {@link #EPOCH} (41 bits), the node id (10 bits) and a per-millisecond
+ * sequence (12 bits) into 63 bits, written as 13 Crockford base32 digits so SKUs with the same prefix sort in
+ * creation order and are inserted at the end of the primary key index.
+ * <p>
+ * Identifiers are unique as long as every running instance has its own node id. They are strictly increasing per
+ * instance: when the 4,096 sequences of a millisecond are exhausted or the clock moves backwards, the generator
+ * carries on from the last identifier instead of waiting. No random numbers are used, so generation never blocks
+ * on the entropy pool, and it is lock-free.
+ */
+public class TimeOrderedSkuGenerator implements SkuGenerator {
+
+    static final long EPOCH = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    static final int PREFIX_LENGTH = 3;
+    static final String DEFAULT_PREFIX = "PRD";
+
+    private static final char[] DIGITS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long nodeId;
+    private final Clock clock;
+    // The last issued (timestamp << SEQUENCE_BITS | sequence), so incrementing it rolls a full sequence over
+    // into the next millisecond
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedSkuGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    @Override
+    public String generate(String name) {
+        char[] sku = new char[PREFIX_LENGTH + 1 + ENCODED_LENGTH];
+        int length = prefix(name, sku);
+        sku[length++] = '-';
+        long id = nextId();
+        for (int i = length + ENCODED_LENGTH - 1; i >= length; i--) {
+            sku[i] = DIGITS[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(sku, 0, length + ENCODED_LENGTH);
+    }
+
+    /**
+     * Returns the next identifier of this node.
+     * @return a positive identifier, greater than every identifier returned before
+     */
+    long nextId() {
+        long now = (clock.millis() - EPOCH) << SEQUENCE_BITS;
+        long next = last.updateAndGet(previous -> Math.max(previous + 1, now));
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & ((1 << SEQUENCE_BITS) - 1);
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * Writes the first letters and digits of the name, upper-cased and without accents, to the start of the SKU.
+     * @param name the product name
+     * @param sku the SKU being built
+     * @return the length of the prefix
+     */
+    private static int prefix(String name, char[] sku) {
+        int length = 0;
+        if (name != null) {
+            String folded = Normalizer.normalize(name, Normalizer.Form.NFD);
+            for (int i = 0; i < folded.length() && length < PREFIX_LENGTH; i++) {
+                char c = folded.charAt(i);
+                if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                    sku[length++] = c;
+                } else if (c >= 'a' && c <= 'z') {
+                    sku[length++] = (char) (c - 'a' + 'A');
+                }
+            }
+        }
+        if (length == 0) {
+            DEFAULT_PREFIX.getChars(0, PREFIX_LENGTH, sku, 0);
+            length = PREFIX_LENGTH;
+        }
+        return length;
+    }
+}
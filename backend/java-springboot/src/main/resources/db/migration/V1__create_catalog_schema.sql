@@ -0,0 +1,53 @@
+-- Catalog schema as of the first Flyway-managed release; column types match the JPA entities, which Hibernate
+-- validates against this schema in the build (SchemaMigrationTest)
+
+CREATE TABLE products (
+    sku VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    -- Product.normalizeName of the name, unique so equivalent names collide in a single index probe
+    normalized_name VARCHAR(255) NOT NULL,
+    -- In minor units of the currency
+    price BIGINT NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    stock INTEGER NOT NULL,
+    reserved INTEGER NOT NULL,
+    enabled BOOLEAN NOT NULL,
+    version BIGINT NOT NULL,
+    change_sequence BIGINT NOT NULL,
+    PRIMARY KEY (sku),
+    CONSTRAINT uk_products_name UNIQUE (normalized_name)
+);
+
+CREATE INDEX idx_products_change_sequence ON products (change_sequence);
+
+CREATE TABLE product_tombstones (
+    sku VARCHAR(255) NOT NULL,
+    change_sequence BIGINT NOT NULL,
+    PRIMARY KEY (sku)
+);
+
+CREATE INDEX idx_product_tombstones_change_sequence ON product_tombstones (change_sequence);
+
+-- Change feed counter, advanced by every catalog write (see ProductChangeCounterEntity)
+CREATE TABLE product_change_counters (
+    name VARCHAR(255) NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (name)
+);
+
+INSERT INTO product_change_counters (name, last_sequence) VALUES ('products', 0);
+
+CREATE TABLE product_outbox (
+    change_sequence BIGINT NOT NULL,
+    sku VARCHAR(255) NOT NULL,
+    deleted BOOLEAN NOT NULL,
+    payload CLOB NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (change_sequence)
+);
+
+CREATE TABLE stock_ledger_checkpoints (
+    node_id VARCHAR(255) NOT NULL,
+    last_sequence BIGINT NOT NULL,
+    PRIMARY KEY (node_id)
+);
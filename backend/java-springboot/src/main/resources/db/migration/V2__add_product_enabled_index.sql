@@ -0,0 +1,4 @@
+-- Keyset pages filtered on the enabled flag (product listing, batch enable/disable/delete) are ordered by
+-- (enabled, sku) and read this index in order, stopping after the page. Without it a page of the few disabled
+-- products scans the primary key until it has found enough of them.
+CREATE INDEX idx_products_enabled ON products (enabled, sku);
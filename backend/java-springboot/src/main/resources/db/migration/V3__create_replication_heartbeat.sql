@@ -0,0 +1,10 @@
+-- Heartbeat of the primary database, used when read replicas are configured: the lag monitor overwrites beat_at
+-- every heartbeat interval, so a replica is behind the primary by the age of the beat it has received. The initial
+-- beat is the epoch, so a replica that never received a heartbeat is never read from.
+CREATE TABLE replication_heartbeat (
+    id INTEGER NOT NULL,
+    beat_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, TIMESTAMP WITH TIME ZONE '1970-01-01 00:00:00+00');
@@ -0,0 +1,4 @@
+-- Stock movements (reservations, releases, decrements, increments and stock ledger flushes) advance their own
+-- counter instead of the product version, so an If-Match edit of the catalog fields is only compared against
+-- catalog changes and a busy SKU can still be edited. The LocalReplicator copies a row when either one changes.
+ALTER TABLE products ADD COLUMN stock_version BIGINT DEFAULT 0 NOT NULL;
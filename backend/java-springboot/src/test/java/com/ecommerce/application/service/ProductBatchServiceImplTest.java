@@ -0,0 +1,177 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBatchOutcome;
+import com.ecommerce.domain.model.ProductBatchProgress;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductRepricingProgress;
+import com.ecommerce.domain.port.ProductEventPublisher;
+import com.ecommerce.domain.port.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductBatchServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBatchServiceImpl productBatchService;
+
+    @BeforeEach
+    void setUp() {
+        productBatchService = new ProductBatchServiceImpl(productRepository, productEventPublisher, transactionManager, 2);
+    }
+
+    @Test
+    void repriceProducts_ShouldRepriceChunkByChunkAndReportProgress() {
+        // Arrange
+        PriceRule rule = PriceRule.percentage(1000);
+        ProductFilter filter = ProductFilter.builder().skuPrefix("TST-").build();
+        when(productRepository.findSkus(filter, null, 2)).thenReturn(List.of("TST-1", "TST-2"));
+        when(productRepository.findSkus(filter, "TST-2", 2)).thenReturn(List.of("TST-3"));
+        Product repriced = product("TST-1", 1100, 7);
+        when(productRepository.reprice(List.of("TST-1", "TST-2"), rule)).thenReturn(List.of(repriced));
+        when(productRepository.reprice(List.of("TST-3"), rule)).thenReturn(List.of());
+        List<ProductRepricingProgress> progress = new ArrayList<>();
+
+        // Act
+        ProductRepricingProgress result = productBatchService.repriceProducts(rule, filter, null, progress::add);
+
+        // Assert
+        assertEquals(List.of(
+                new ProductRepricingProgress(2, 1, 1, "TST-2", false),
+                new ProductRepricingProgress(3, 1, 2, "TST-3", true)), progress);
+        assertEquals(progress.get(1), result);
+        verify(productEventPublisher).publish(List.of(ProductChange.upsert(repriced)));
+        verifyNoMoreInteractions(productEventPublisher);
+        // Each chunk is committed on its own
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void repriceProducts_WhenResumed_ShouldStartAfterTheGivenSku() {
+        // Arrange
+        PriceRule rule = PriceRule.set(999);
+        when(productRepository.findSkus(any(), eq("TST-2"), anyInt())).thenReturn(List.of());
+
+        // Act
+        ProductRepricingProgress result = productBatchService.repriceProducts(rule,
+                ProductFilter.builder().currency("usd").build(), "TST-2", progress -> { });
+
+        // Assert
+        assertEquals(new ProductRepricingProgress(0, 0, 0, "TST-2", true), result);
+        verify(productRepository).findSkus(argThat(filter -> "USD".equals(filter.getCurrency())), eq("TST-2"), eq(2));
+        verifyNoInteractions(productEventPublisher);
+    }
+
+    @Test
+    void repriceProducts_WithAmountRuleAndNoCurrency_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.absolute(-100), ProductFilter.none(), null, progress -> { }));
+        assertTrue(exception.getMessage().contains("currency"));
+        verifyNoInteractions(productRepository, transactionManager);
+    }
+
+    @Test
+    void repriceProducts_WithInvalidRuleOrFilter_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.percentage(-10_000), null, null, progress -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.set(0), ProductFilter.builder().currency("USD").build(),
+                        null, progress -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.set(Product.MAX_PRICE + 1),
+                        ProductFilter.builder().currency("USD").build(), null, progress -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.absolute(Long.MIN_VALUE),
+                        ProductFilter.builder().currency("USD").build(), null, progress -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.percentage(500),
+                        ProductFilter.builder().minPrice(500L).maxPrice(100L).build(), null, progress -> { }));
+        assertThrows(IllegalArgumentException.class, () ->
+                productBatchService.repriceProducts(PriceRule.percentage(500),
+                        ProductFilter.builder().skus(List.of()).build(), null, progress -> { }));
+        verify(productRepository, never()).findSkus(any(), isNull(), anyInt());
+    }
+
+    @Test
+    void disableProducts_WithSkuList_ShouldReportAnOutcomePerListedSku() {
+        // Arrange
+        ProductFilter filter = ProductFilter.builder().skus(List.of("TST-4", "TST-1", "TST-2", "TST-0")).build();
+        when(productRepository.findSkus(filter, null, 2)).thenReturn(List.of("TST-1", "TST-2"));
+        when(productRepository.findSkus(filter, "TST-2", 2)).thenReturn(List.of());
+        Product disabled = product("TST-1", 100, 5);
+        when(productRepository.updateEnabled(List.of("TST-1", "TST-2"), false)).thenReturn(List.of(disabled));
+        List<ProductBatchProgress> progress = new ArrayList<>();
+
+        // Act
+        ProductBatchProgress result = productBatchService.disableProducts(filter, null, progress::add);
+
+        // Assert: listed SKUs before and after the found ones are reported once the chunks have passed them
+        assertEquals(2, progress.size());
+        assertEquals(List.of(
+                new ProductBatchOutcome("TST-0", ProductBatchOutcome.Status.NOT_FOUND),
+                new ProductBatchOutcome("TST-1", ProductBatchOutcome.Status.CHANGED),
+                new ProductBatchOutcome("TST-2", ProductBatchOutcome.Status.UNCHANGED)), progress.get(0).getOutcomes());
+        assertEquals(List.of(new ProductBatchOutcome("TST-4", ProductBatchOutcome.Status.NOT_FOUND)), result.getOutcomes());
+        assertEquals(new ProductBatchProgress(1, 1, 0, 2, "TST-4", true, result.getOutcomes()), result);
+        verify(productEventPublisher).publish(List.of(ProductChange.upsert(disabled)));
+    }
+
+    @Test
+    void deleteProducts_ShouldPublishTombstonesAndRejectTheOthers() {
+        // Arrange
+        ProductFilter filter = ProductFilter.builder().skuPrefix("TST-").build();
+        when(productRepository.findSkus(filter, null, 2)).thenReturn(List.of("TST-1"));
+        List<ProductChange> tombstones = List.of(ProductChange.tombstone("TST-1", 9));
+        when(productRepository.deleteAllDeletable(List.of("TST-1"))).thenReturn(tombstones);
+
+        // Act
+        ProductBatchProgress result = productBatchService.deleteProducts(filter, null, progress -> { });
+
+        // Assert
+        assertEquals(List.of(new ProductBatchOutcome("TST-1", ProductBatchOutcome.Status.CHANGED)), result.getOutcomes());
+        assertTrue(result.isComplete());
+        verify(productEventPublisher).publish(tombstones);
+
+        // Arrange: the same product, now enabled or stocked
+        when(productRepository.deleteAllDeletable(List.of("TST-1"))).thenReturn(List.of());
+
+        // Act
+        result = productBatchService.deleteProducts(filter, null, progress -> { });
+
+        // Assert
+        assertEquals(List.of(new ProductBatchOutcome("TST-1", ProductBatchOutcome.Status.REJECTED)), result.getOutcomes());
+        assertEquals(1, result.getRejected());
+        verifyNoMoreInteractions(productEventPublisher);
+    }
+
+    private static Product product(String sku, long price, long sequence) {
+        return Product.builder().sku(sku).name("Product " + sku).price(price).stock(1).changeSequence(sequence).build();
+    }
+}
@@ -1,21 +1,46 @@
 package com.ecommerce.application.service;
 
+import com.ecommerce.domain.exception.ProductVersionConflictException;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBulkItem;
+import com.ecommerce.domain.model.ProductBulkResult;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductChangePage;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductPage;
+import com.ecommerce.domain.model.ProductSearchHit;
+import com.ecommerce.domain.port.ProductEventPublisher;
 import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.domain.port.ProductSearchIndex;
+import com.ecommerce.domain.port.SkuGenerator;
+import com.ecommerce.infrastructure.sku.TimeOrderedSkuGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -24,6 +49,18 @@ class ProductServiceImplTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductEventPublisher productEventPublisher;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private SkuGenerator skuGenerator = new TimeOrderedSkuGenerator(0, Clock.systemUTC());
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -34,7 +71,7 @@ class ProductServiceImplTest {
         testProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(5)
                 .enabled(true)
                 .build();
@@ -43,49 +80,97 @@ class ProductServiceImplTest {
     @Test
     void createProduct_ShouldCreateAndReturnProduct() {
         // Arrange
-        when(productRepository.existsByName(anyString())).thenReturn(false);
-        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(productRepository.insert(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        Product result = productService.createProduct("New Product", 15.0, 10);
+        Product result = productService.createProduct("New Product", 1500, null, 10);
 
         // Assert
         assertNotNull(result);
         assertEquals("New Product", result.getName());
-        assertEquals(15.0, result.getPrice());
+        assertEquals(1500, result.getPrice());
+        assertEquals(Product.DEFAULT_CURRENCY, result.getCurrency());
         assertEquals(10, result.getStock());
         assertTrue(result.isEnabled());
         assertTrue(result.getSku().startsWith("NEW-"));
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).insert(any(Product.class));
+        verify(productRepository, never()).existsByName(anyString());
+        verify(productEventPublisher).publish(List.of(ProductChange.upsert(result)));
     }
 
     @Test
     void createProduct_WithExistingName_ShouldThrowException() {
         // Arrange
-        when(productRepository.existsByName("Existing Product")).thenReturn(true);
+        when(productRepository.insert(any(Product.class))).thenThrow(
+                new IllegalArgumentException("A product with name 'Existing Product' already exists"));
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> productService.createProduct("Existing Product", 15.0, 10));
+                () -> productService.createProduct("Existing Product", 1500, null, 10));
         assertEquals("A product with name 'Existing Product' already exists", exception.getMessage());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productEventPublisher, never()).publish(anyList());
+    }
+
+    @Test
+    void createProduct_WithUnknownCurrency_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.createProduct("New Product", 1500, "XYZ", 10));
+        assertEquals("Unknown currency 'XYZ'", exception.getMessage());
+        verify(productRepository, never()).insert(any(Product.class));
+    }
+
+    @Test
+    void createProduct_WithPriceAboveMaximum_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.createProduct("New Product", Product.MAX_PRICE + 1, "USD", 10));
+        assertEquals("Product price cannot exceed " + Product.MAX_PRICE, exception.getMessage());
+        verify(productRepository, never()).insert(any(Product.class));
     }
 
     @Test
     void updateProduct_ShouldUpdateAndReturnProduct() {
         // Arrange
         when(productRepository.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
-        when(productRepository.existsByName("Updated Product")).thenReturn(false);
         when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
-        Product result = productService.updateProduct("TST-12345678", "Updated Product", 20.0);
+        Product result = productService.updateProduct("TST-12345678", "Updated Product", 2000, null);
 
         // Assert
         assertNotNull(result);
         assertEquals("Updated Product", result.getName());
-        assertEquals(20.0, result.getPrice());
+        assertEquals(2000, result.getPrice());
+        assertEquals(Product.DEFAULT_CURRENCY, result.getCurrency());
         verify(productRepository).save(any(Product.class));
+        verify(productRepository, never()).existsByName(anyString());
+    }
+
+    @Test
+    void updateProduct_WithCurrency_ShouldNormalizeCurrencyCode() {
+        // Arrange
+        when(productRepository.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        when(productRepository.save(any(Product.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Product result = productService.updateProduct("TST-12345678", "Test Product", 250_000, "jpy");
+
+        // Assert
+        assertEquals(250_000, result.getPrice());
+        assertEquals("JPY", result.getCurrency());
+    }
+
+    @Test
+    void updateProduct_WithStaleExpectedVersion_ShouldThrowConflict() {
+        // Arrange
+        testProduct.setVersion(4);
+        when(productRepository.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+
+        // Act & Assert
+        assertThrows(ProductVersionConflictException.class,
+                () -> productService.updateProduct("TST-12345678", "Updated Product", 2000, null, 3));
+        verify(productRepository, never()).save(any(Product.class));
     }
 
     @Test
@@ -95,18 +180,118 @@ class ProductServiceImplTest {
 
         // Act & Assert
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
-                () -> productService.updateProduct("NONEXISTENT", "Updated Product", 20.0));
+                () -> productService.updateProduct("NONEXISTENT", "Updated Product", 2000, null));
         assertEquals("Product with SKU 'NONEXISTENT' not found", exception.getMessage());
         verify(productRepository, never()).save(any(Product.class));
     }
 
+    @Test
+    void bulkUpsertProducts_ShouldCreateUpdateAndReportFailuresPerItem() {
+        // Arrange
+        List<ProductBulkItem> items = List.of(
+                ProductBulkItem.builder().name("New Product").price(1500).initialStock(10).build(),
+                ProductBulkItem.builder().sku("TST-12345678").name("Renamed Product").price(2000).build(),
+                ProductBulkItem.builder().name("Existing Product").price(1500).build(),
+                ProductBulkItem.builder().sku("NONEXISTENT").name("Other Product").price(1500).build(),
+                ProductBulkItem.builder().name("").price(1500).build(),
+                ProductBulkItem.builder().name("New Product").price(1500).build());
+
+        when(productRepository.findAllBySkus(Set.of("TST-12345678", "NONEXISTENT"))).thenReturn(List.of(testProduct));
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(Set.of("Existing Product"));
+
+        // Act
+        List<ProductBulkResult> results = productService.bulkUpsertProducts(items);
+
+        // Assert
+        assertEquals(6, results.size());
+        assertEquals(ProductBulkResult.Status.CREATED, results.get(0).getStatus());
+        assertTrue(results.get(0).getSku().startsWith("NEW-"));
+        assertEquals(ProductBulkResult.Status.UPDATED, results.get(1).getStatus());
+        assertEquals("Renamed Product", testProduct.getName());
+        assertEquals(2000, testProduct.getPrice());
+        assertEquals("A product with name 'Existing Product' already exists", results.get(2).getError());
+        assertEquals("Product with SKU 'NONEXISTENT' not found", results.get(3).getError());
+        assertEquals("Product name cannot be empty", results.get(4).getError());
+        assertEquals("Name 'New Product' appears more than once in the request", results.get(5).getError());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        // One set-based lookup per kind and a single batched write for the whole chunk
+        verify(productRepository, times(1)).findAllBySkus(anyCollection());
+        verify(productRepository, times(1)).findExistingNames(anyCollection());
+        verify(productRepository, times(1)).saveBatch(
+                argThat(created -> created.size() == 1 && created.get(0).getName().equals("New Product")),
+                eq(List.of(testProduct)));
+        verify(productRepository, never()).existsByName(anyString());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void bulkUpsertProducts_ShouldCompareNamesInNormalizedForm() {
+        // Arrange
+        List<ProductBulkItem> items = List.of(
+                ProductBulkItem.builder().sku("TST-12345678").name("TEST  product").price(2000).build(),
+                ProductBulkItem.builder().name("Widget").price(1500).build(),
+                ProductBulkItem.builder().name(" widget ").price(1500).build());
+        when(productRepository.findAllBySkus(Set.of("TST-12345678"))).thenReturn(List.of(testProduct));
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(Set.of("TEST  product"));
+
+        // Act
+        List<ProductBulkResult> results = productService.bulkUpsertProducts(items);
+
+        // Assert: respelling a product's own name is not a conflict, but two spellings of one new name are
+        assertEquals(ProductBulkResult.Status.UPDATED, results.get(0).getStatus());
+        assertEquals("TEST  product", testProduct.getName());
+        assertEquals(ProductBulkResult.Status.CREATED, results.get(1).getStatus());
+        assertEquals("Name ' widget ' appears more than once in the request", results.get(2).getError());
+        verify(productRepository).findExistingNames(Set.of("TEST  product", "Widget"));
+    }
+
+    @Test
+    void bulkUpsertProducts_ShouldCommitLargeRequestsChunkByChunk() {
+        // Arrange
+        List<ProductBulkItem> items = new ArrayList<>();
+        for (int i = 0; i < ProductServiceImpl.BULK_CHUNK_SIZE * 2 + 1; i++) {
+            items.add(ProductBulkItem.builder().name("Product " + i).price(100).build());
+        }
+        when(productRepository.findExistingNames(anyCollection())).thenReturn(Set.of());
+
+        // Act
+        List<ProductBulkResult> results = productService.bulkUpsertProducts(items);
+
+        // Assert
+        assertEquals(items.size(), results.size());
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == ProductBulkResult.Status.CREATED));
+        verify(productRepository, times(3)).findExistingNames(anyCollection());
+        verify(productRepository, times(3)).saveBatch(anyList(), anyList());
+        verify(productRepository, never()).findAllBySkus(anyCollection());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void bulkUpsertProducts_WithTooManyItems_ShouldThrowException() {
+        // Arrange
+        List<ProductBulkItem> items = new ArrayList<>();
+        for (int i = 0; i <= ProductServiceImpl.MAX_BULK_ITEMS; i++) {
+            items.add(ProductBulkItem.builder().name("Product " + i).price(100).build());
+        }
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.bulkUpsertProducts(items));
+        assertEquals("A bulk request cannot contain more than " + ProductServiceImpl.MAX_BULK_ITEMS + " products",
+                exception.getMessage());
+        verify(productRepository, never()).saveBatch(anyList(), anyList());
+    }
+
     @Test
     void enableProduct_ShouldEnableAndReturnProduct() {
         // Arrange
         Product disabledProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(5)
                 .enabled(false)
                 .build();
@@ -152,7 +337,7 @@ class ProductServiceImplTest {
         Product deletableProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(0)
                 .enabled(false)
                 .build();
@@ -164,6 +349,7 @@ class ProductServiceImplTest {
 
         // Assert
         verify(productRepository).delete(deletableProduct);
+        verify(productEventPublisher).publish(List.of(ProductChange.tombstone("TST-12345678", deletableProduct.getChangeSequence())));
     }
 
     @Test
@@ -178,6 +364,57 @@ class ProductServiceImplTest {
         verify(productRepository, never()).delete(any(Product.class));
     }
 
+    @Test
+    void reserveStock_ShouldReserveWithConditionalUpdate() {
+        // Arrange
+        Product reservedProduct = testProduct.toBuilder().reserved(2).build();
+        when(productRepository.reserveStock("TST-12345678", 2)).thenReturn(true);
+        when(productRepository.findBySku("TST-12345678")).thenReturn(Optional.of(reservedProduct));
+
+        // Act
+        Product result = productService.reserveStock("TST-12345678", 2);
+
+        // Assert
+        assertEquals(5, result.getStock());
+        assertEquals(2, result.getReserved());
+        assertEquals(3, result.getAvailableStock());
+        verify(productRepository, never()).save(any(Product.class));
+    }
+
+    @Test
+    void reserveStock_WithInsufficientStock_ShouldThrowException() {
+        // Arrange
+        when(productRepository.reserveStock("TST-12345678", 6)).thenReturn(false);
+        when(productRepository.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.reserveStock("TST-12345678", 6));
+        assertEquals("Insufficient available stock for product with SKU 'TST-12345678': requested 6, available 5",
+                exception.getMessage());
+    }
+
+    @Test
+    void decrementStock_FromReservation_WithNonExistingSku_ShouldThrowException() {
+        // Arrange
+        when(productRepository.decrementStock("NONEXISTENT", 1, true)).thenReturn(false);
+        when(productRepository.findBySku("NONEXISTENT")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.decrementStock("NONEXISTENT", 1, true));
+        assertEquals("Product with SKU 'NONEXISTENT' not found", exception.getMessage());
+    }
+
+    @Test
+    void incrementStock_WithNonPositiveQuantity_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.incrementStock("TST-12345678", 0));
+        assertEquals("Quantity must be greater than zero", exception.getMessage());
+        verify(productRepository, never()).incrementStock(anyString(), anyInt());
+    }
+
     @Test
     void getProductBySku_ShouldReturnProduct() {
         // Arrange
@@ -204,21 +441,167 @@ class ProductServiceImplTest {
     }
 
     @Test
-    void getAllProducts_ShouldReturnAllProducts() {
+    void getProducts_WithMoreResults_ShouldReturnPageAndNextToken() {
         // Arrange
         Product product1 = Product.builder().sku("SKU1").name("Product 1").build();
         Product product2 = Product.builder().sku("SKU2").name("Product 2").build();
-        List<Product> products = Arrays.asList(product1, product2);
-        
-        when(productRepository.findAll()).thenReturn(products);
+        Product product3 = Product.builder().sku("SKU3").name("Product 3").build();
+        ProductFilter filter = ProductFilter.builder().enabled(true).build();
+
+        when(productRepository.findPage(filter, null, 3)).thenReturn(Arrays.asList(product1, product2, product3));
 
         // Act
-        List<Product> result = productService.getAllProducts();
+        ProductPage result = productService.getProducts(filter, null, 2);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("Product 1", result.get(0).getName());
-        assertEquals("Product 2", result.get(1).getName());
+        assertEquals(2, result.getItems().size());
+        assertEquals("SKU1", result.getItems().get(0).getSku());
+        assertEquals("SKU2", result.getItems().get(1).getSku());
+        assertNotNull(result.getNextPageToken());
+
+        // The token must resume the listing right after the last returned SKU
+        when(productRepository.findPage(filter, "SKU2", 3)).thenReturn(List.of(product3));
+        ProductPage nextPage = productService.getProducts(filter, result.getNextPageToken(), 2);
+        assertEquals(1, nextPage.getItems().size());
+        assertEquals("SKU3", nextPage.getItems().get(0).getSku());
+        assertNull(nextPage.getNextPageToken());
+    }
+
+    @Test
+    void getProducts_WithoutPageSize_ShouldUseDefaultPageSize() {
+        // Arrange
+        when(productRepository.findPage(any(ProductFilter.class), isNull(), eq(ProductServiceImpl.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(testProduct));
+
+        // Act
+        ProductPage result = productService.getProducts(null, null, null);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextPageToken());
+    }
+
+    @Test
+    void getProducts_WithPageSizeAboveMaximum_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.getProducts(null, null, ProductServiceImpl.MAX_PAGE_SIZE + 1));
+        assertEquals("Page size must be between 1 and " + ProductServiceImpl.MAX_PAGE_SIZE, exception.getMessage());
+        verify(productRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void getProducts_WithInvalidPageToken_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.getProducts(null, "not a token!", 10));
+        assertEquals("Invalid page token", exception.getMessage());
+    }
+
+    @Test
+    void getProducts_WithInvertedPriceRange_ShouldThrowException() {
+        // Arrange
+        ProductFilter filter = ProductFilter.builder().minPrice(2000L).maxPrice(1000L).build();
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.getProducts(filter, null, 10));
+        assertEquals("Minimum price cannot be greater than maximum price", exception.getMessage());
+    }
+
+    @Test
+    void exportProducts_ShouldPassEveryProductToConsumerAndCloseStream() {
+        // Arrange
+        Product product1 = Product.builder().sku("SKU1").name("Product 1").build();
+        Product product2 = Product.builder().sku("SKU2").name("Product 2").build();
+        AtomicBoolean closed = new AtomicBoolean(false);
+        when(productRepository.streamAll()).thenReturn(Stream.of(product1, product2).onClose(() -> closed.set(true)));
+        List<Product> exported = new ArrayList<>();
+
+        // Act
+        productService.exportProducts(exported::add);
+
+        // Assert
+        assertEquals(List.of(product1, product2), exported);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void getChanges_WithMoreChanges_ShouldReturnLimitAndAdvanceWatermark() {
+        // Arrange
+        Product product1 = Product.builder().sku("SKU1").name("Product 1").changeSequence(11).build();
+        Product product3 = Product.builder().sku("SKU3").name("Product 3").changeSequence(13).build();
+        when(productRepository.findChangesSince(10, 3)).thenReturn(new ArrayList<>(List.of(
+                ProductChange.upsert(product1), ProductChange.tombstone("SKU2", 12), ProductChange.upsert(product3))));
+
+        // Act
+        ProductChangePage result = productService.getChanges(10, 2);
+
+        // Assert
+        assertEquals(2, result.getChanges().size());
+        assertFalse(result.getChanges().get(0).isDeleted());
+        assertTrue(result.getChanges().get(1).isDeleted());
+        assertEquals("SKU2", result.getChanges().get(1).getSku());
+        assertEquals(12, result.getWatermark());
+        assertTrue(result.isHasMore());
+    }
+
+    @Test
+    void getChanges_WithoutChanges_ShouldKeepWatermark() {
+        // Arrange
+        when(productRepository.findChangesSince(42, ProductServiceImpl.DEFAULT_CHANGE_LIMIT + 1)).thenReturn(List.of());
+
+        // Act
+        ProductChangePage result = productService.getChanges(42, null);
+
+        // Assert
+        assertTrue(result.getChanges().isEmpty());
+        assertEquals(42, result.getWatermark());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getChanges_WithNegativeWatermark_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.getChanges(-1, null));
+        assertEquals("Watermark cannot be negative", exception.getMessage());
+        verify(productRepository, never()).findChangesSince(anyLong(), anyInt());
+    }
+
+    @Test
+    void searchProducts_ShouldReturnProductsInRankingOrderAndSkipDeletedOnes() {
+        // Arrange
+        Product other = Product.builder().sku("TST-2").name("Test Product Deluxe").price(2000).stock(1).enabled(true).build();
+        when(productSearchIndex.search("test pro", null, ProductServiceImpl.DEFAULT_SEARCH_LIMIT)).thenReturn(List.of(
+                new ProductSearchHit("TST-2", "Test Product Deluxe"),
+                new ProductSearchHit("GONE-1", "Test Product Old"),
+                new ProductSearchHit("TST-12345678", "Test Product")));
+        when(productRepository.findAllBySkus(List.of("TST-2", "GONE-1", "TST-12345678")))
+                .thenReturn(List.of(testProduct, other));
+
+        // Act
+        List<Product> result = productService.searchProducts("test pro", null, null);
+
+        // Assert
+        assertEquals(List.of(other, testProduct), result);
+    }
+
+    @Test
+    void suggestProducts_WithBlankQuery_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.suggestProducts("  ", true, null));
+        assertEquals("Search query cannot be empty", exception.getMessage());
+        verifyNoInteractions(productSearchIndex);
+    }
+
+    @Test
+    void suggestProducts_WithTooLargeLimit_ShouldThrowException() {
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> productService.suggestProducts("test", null, ProductServiceImpl.MAX_SEARCH_LIMIT + 1));
+        assertEquals("Search limit must be between 1 and 100", exception.getMessage());
+        verifyNoInteractions(productSearchIndex);
     }
-}
\ No newline at end of file
+}
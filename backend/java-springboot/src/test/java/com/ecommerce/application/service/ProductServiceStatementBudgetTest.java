@@ -0,0 +1,148 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBulkItem;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.port.ProductBatchService;
+import com.ecommerce.domain.port.ProductService;
+import com.ecommerce.infrastructure.persistence.monitoring.StatementMonitor;
+import com.ecommerce.infrastructure.persistence.monitoring.StatementRecording;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Database round-trip budgets of the product use cases, run against the real persistence stack.
+ * A JDBC batch counts as one statement. A budget that fails means a change added statements to a use case, e.g. a
+ * SELECT before a write or a query per item: either remove them or raise the budget knowingly.
+ */
+@SpringBootTest
+class ProductServiceStatementBudgetTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductBatchService productBatchService;
+
+    @Autowired
+    private StatementMonitor statementMonitor;
+
+    @Test
+    void createProduct_ShouldAllocateASequenceAndInsert() {
+        // Act & Assert
+        assertStatements(2, () -> productService.createProduct(uniqueName(), 1000, "USD", 5));
+    }
+
+    @Test
+    void getProductBySku_ShouldQueryOnceAndThenServeFromTheCache() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+
+        // Act & Assert
+        assertStatements(1, () -> productService.getProductBySku(product.getSku()));
+        assertStatements(0, () -> productService.getProductBySku(product.getSku()));
+    }
+
+    @Test
+    void getProducts_ShouldQueryOncePerPage() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            productService.createProduct(uniqueName(), 1000, "USD", 5);
+        }
+
+        // Act & Assert
+        assertStatements(1, () -> productService.getProducts(ProductFilter.none(), null, 2));
+    }
+
+    @Test
+    void updateProduct_ShouldNotSelectTheRowTwice() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+
+        // Act & Assert: read, sequence allocation, update
+        assertStatements(3, () -> productService.updateProduct(product.getSku(), uniqueName(), 1500, null));
+    }
+
+    @Test
+    void deleteProduct_ShouldWriteTheTombstoneWithoutReadingIt() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 0);
+        productService.disableProduct(product.getSku());
+
+        // Act & Assert: read, sequence allocation, delete, tombstone
+        assertStatements(4, () -> {
+            productService.deleteProduct(product.getSku());
+            return null;
+        });
+    }
+
+    @Test
+    void reserveStock_ShouldUpdateAtomicallyAndReload() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+
+        // Act & Assert
+        assertStatements(2, () -> productService.reserveStock(product.getSku(), 2));
+    }
+
+    @Test
+    void bulkUpsertProducts_ShouldNotIssueStatementsPerItem() {
+        // Arrange
+        List<String> skus = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            skus.add(productService.createProduct(uniqueName(), 1000, "USD", 5).getSku());
+        }
+        List<ProductBulkItem> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new ProductBulkItem(skus.get(i), uniqueName(), 2000, null, 0));
+            items.add(new ProductBulkItem(null, uniqueName(), 1000, "USD", 5));
+        }
+
+        // Act & Assert: existing products, taken names, sequence allocation, insert batch, update batch
+        assertStatements(5, () -> productService.bulkUpsertProducts(items));
+    }
+
+    @Test
+    void repriceProducts_ShouldNotIssueStatementsPerProduct() {
+        // Arrange
+        List<String> skus = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            skus.add(productService.createProduct(uniqueName(), 1000, "USD", 5).getSku());
+        }
+        ProductFilter filter = ProductFilter.builder().skus(skus).build();
+
+        // Act & Assert: one chunk, whatever its size: SKUs, sequence allocation, update, reload
+        StatementRecording recording = assertStatements(4, () ->
+                productBatchService.repriceProducts(PriceRule.percentage(1000), filter, null, progress -> { }));
+        assertTrue(recording.statements().stream().anyMatch(sql -> sql.startsWith("MERGE INTO products")),
+                recording.toString());
+    }
+
+    /**
+     * Runs a use case and asserts that it does not exceed its statement budget.
+     * @param budget the maximum number of statements
+     * @param useCase the use case
+     * @return the recorded statements
+     */
+    private StatementRecording assertStatements(int budget, Supplier<?> useCase) {
+        try (StatementRecording recording = statementMonitor.record()) {
+            useCase.get();
+            assertTrue(recording.count() <= budget,
+                    "Expected at most " + budget + " statements, but got " + recording);
+            return recording;
+        }
+    }
+
+    private static String uniqueName() {
+        return "Budget " + UUID.randomUUID();
+    }
+}
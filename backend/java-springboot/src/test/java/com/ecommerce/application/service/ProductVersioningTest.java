@@ -0,0 +1,70 @@
+package com.ecommerce.application.service;
+
+import com.ecommerce.domain.exception.ProductVersionConflictException;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conditional updates against the real persistence stack: the version only counts catalog changes,
+ * so stock movements between a client's read and its If-Match update do not make the update fail.
+ */
+@SpringBootTest
+class ProductVersioningTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void stockMovements_ShouldNotChangeTheVersion() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 10);
+
+        // Act
+        productService.reserveStock(product.getSku(), 2);
+        productService.releaseStock(product.getSku(), 1);
+        productService.decrementStock(product.getSku(), 1, true);
+        productService.incrementStock(product.getSku(), 5);
+        Product moved = productService.getProductBySku(product.getSku());
+
+        // Assert
+        assertEquals(product.getVersion(), moved.getVersion());
+        assertEquals(14, moved.getStock());
+        assertEquals(0, moved.getReserved());
+    }
+
+    @Test
+    void updateProduct_WithVersionReadBeforeAReservation_ShouldSucceed() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 10);
+        productService.reserveStock(product.getSku(), 1);
+
+        // Act
+        Product updated = productService.updateProduct(product.getSku(), uniqueName(), 1500, null, product.getVersion());
+
+        // Assert
+        assertEquals(1500, updated.getPrice());
+        assertEquals(1, updated.getReserved());
+    }
+
+    @Test
+    void updateProduct_WithVersionReadBeforeACatalogChange_ShouldConflict() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 10);
+        productService.updateProduct(product.getSku(), uniqueName(), 1200, null);
+
+        // Act & Assert
+        assertThrows(ProductVersionConflictException.class, () -> productService.updateProduct(
+                product.getSku(), uniqueName(), 1500, null, product.getVersion()));
+    }
+
+    private static String uniqueName() {
+        return "Versioning " + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,60 @@
+package com.ecommerce.infrastructure.config;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void prometheus_ShouldExposeEndpointServiceRepositoryDatabaseAndCacheMeters() throws Exception {
+        // Arrange
+        Product product = productService.createProduct("Metrics Test Product", 1000, null, 5);
+        mockMvc.perform(get("/api/products/" + product.getSku()).with(httpBasic("user", "user")))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "admin")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/api/products/{sku}\""),
+                        matchesPattern("(?s).*product_service_seconds_count\\{[^}]*method=\"getProductBySku\".*"),
+                        matchesPattern("(?s).*product_repository_seconds_count\\{[^}]*method=\"insert\".*"),
+                        containsString("hikaricp_connections_active{"),
+                        containsString("hibernate_statements_total{"),
+                        containsString("cache_gets_total{"),
+                        containsString("cache=\"products\""),
+                        containsString("cache=\"auth-credentials\""))));
+    }
+
+    @Test
+    void prometheus_ShouldOnlyBeScrapedByAdmins() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("user", "user")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.infrastructure.outbox;
+
+import com.ecommerce.infrastructure.persistence.entity.ProductOutboxEntity;
+import com.ecommerce.infrastructure.persistence.repository.JpaProductOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductOutboxDispatcherTest {
+
+    @Mock
+    private JpaProductOutboxRepository outboxRepository;
+
+    @Captor
+    private ArgumentCaptor<Iterable<Long>> deletedIds;
+
+    private ProductOutboxDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        dispatcher.close();
+    }
+
+    @Test
+    void dispatchBatch_ShouldDeliverEventsOfEachSkuInOrderAndDeleteThem() {
+        // Arrange
+        List<ProductOutboxEvent> received = Collections.synchronizedList(new ArrayList<>());
+        dispatcher = new ProductOutboxDispatcher(outboxRepository, received::addAll, 100, 3, Duration.ofSeconds(1));
+        when(outboxRepository.findAllByOrderByChangeSequence(Limit.of(100))).thenReturn(List.of(
+                row(1, "SKU-A"), row(2, "SKU-B"), row(3, "SKU-A"), row(4, "SKU-C"), row(5, "SKU-B"), row(6, "SKU-A")));
+
+        // Act
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(6, dispatched);
+        assertEquals(List.of(1L, 3L, 6L), sequencesOf(received, "SKU-A"));
+        assertEquals(List.of(2L, 5L), sequencesOf(received, "SKU-B"));
+        verify(outboxRepository).deleteAllByIdInBatch(deletedIds.capture());
+        List<Long> deleted = new ArrayList<>();
+        deletedIds.getValue().forEach(deleted::add);
+        Collections.sort(deleted);
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L), deleted);
+    }
+
+    @Test
+    void dispatchBatch_WhenSinkFailsForPartition_ShouldKeepItsEventsInOutbox() {
+        // Arrange
+        ProductEventSink sink = events -> {
+            if (events.stream().anyMatch(event -> event.sku().equals("SKU-A"))) {
+                throw new IOException("Receiver unavailable");
+            }
+        };
+        dispatcher = new ProductOutboxDispatcher(outboxRepository, sink, 100, 1, Duration.ofSeconds(1));
+        when(outboxRepository.findAllByOrderByChangeSequence(Limit.of(100))).thenReturn(List.of(row(1, "SKU-A"), row(2, "SKU-B")));
+
+        // Act
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(0, dispatched);
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void dispatchBatch_WithEmptyOutbox_ShouldNotCallSink() throws Exception {
+        // Arrange
+        ProductEventSink sink = mock(ProductEventSink.class);
+        dispatcher = new ProductOutboxDispatcher(outboxRepository, sink, 100, 2, Duration.ofSeconds(1));
+        when(outboxRepository.findAllByOrderByChangeSequence(Limit.of(100))).thenReturn(List.of());
+
+        // Act
+        int dispatched = dispatcher.dispatchBatch();
+
+        // Assert
+        assertEquals(0, dispatched);
+        verify(sink, never()).send(anyList());
+    }
+
+    private static ProductOutboxEntity row(long sequence, String sku) {
+        return new ProductOutboxEntity(sequence, sku, false, "{\"sequence\":" + sequence + "}", Instant.now());
+    }
+
+    private static List<Long> sequencesOf(List<ProductOutboxEvent> events, String sku) {
+        return events.stream()
+                .filter(event -> event.sku().equals(sku))
+                .map(ProductOutboxEvent::sequence)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.infrastructure.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The schema is created by the Flyway migrations only: the context starting with ddl-auto=validate proves the JPA
+ * entities match the migrated tables, so a mapping change without its migration fails the build.
+ */
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrate_ShouldApplyEveryMigration() {
+        // Act & Assert
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void migrate_ShouldCreateTheProductIndexes() {
+        // Act
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'PRODUCTS'", String.class);
+
+        // Assert
+        assertTrue(indexes.containsAll(List.of("IDX_PRODUCTS_CHANGE_SEQUENCE", "IDX_PRODUCTS_ENABLED")),
+                indexes.toString());
+    }
+
+    @Test
+    void enabledPage_ShouldReadTheEnabledIndexInOrder() {
+        // Act
+        String plan = jdbcTemplate.queryForObject("EXPLAIN SELECT sku FROM products WHERE enabled = FALSE "
+                + "AND sku > 'A' ORDER BY enabled, sku FETCH FIRST 50 ROWS ONLY", String.class);
+
+        // Assert: no sort of the matching rows before the page is cut
+        assertNotNull(plan);
+        assertTrue(plan.contains("IDX_PRODUCTS_ENABLED") && plan.contains("index sorted"), plan);
+    }
+}
@@ -0,0 +1,244 @@
+package com.ecommerce.infrastructure.persistence.adapter;
+
+import com.ecommerce.domain.model.PriceRule;
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingProductRepositoryTest {
+
+    @Mock
+    private ProductRepository delegate;
+
+    private CachingProductRepository repository;
+
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingProductRepository(delegate, 100, Duration.ofMinutes(5));
+        testProduct = Product.builder()
+                .sku("TST-12345678")
+                .name("Test Product")
+                .price(1000)
+                .stock(5)
+                .enabled(true)
+                .build();
+    }
+
+    @Test
+    void findBySku_ShouldServeRepeatedReadsFromCache() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+
+        // Act
+        Product first = repository.findBySku("TST-12345678").orElseThrow();
+        Product second = repository.findBySku("TST-12345678").orElseThrow();
+
+        // Assert
+        assertEquals(testProduct, first);
+        assertEquals(testProduct, second);
+        verify(delegate, times(1)).findBySku("TST-12345678");
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    void findBySku_ShouldNotCacheMissingProducts() {
+        // Arrange
+        when(delegate.findBySku("NONEXISTENT")).thenReturn(Optional.empty());
+
+        // Act
+        repository.findBySku("NONEXISTENT");
+        repository.findBySku("NONEXISTENT");
+
+        // Assert
+        verify(delegate, times(2)).findBySku("NONEXISTENT");
+    }
+
+    @Test
+    void findBySku_ShouldReturnCopiesSoCallersCannotCorruptTheCache() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678").orElseThrow().setName("Mutated");
+
+        // Act
+        Product cached = repository.findBySku("TST-12345678").orElseThrow();
+
+        // Assert
+        assertEquals("Test Product", cached.getName());
+    }
+
+    @Test
+    void save_ShouldInvalidateCachedProduct() {
+        // Arrange
+        Product updated = testProduct.toBuilder().name("Updated Product").build();
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct)).thenReturn(Optional.of(updated));
+        when(delegate.save(updated)).thenReturn(updated);
+        repository.findBySku("TST-12345678");
+
+        // Act
+        repository.save(updated);
+        Product result = repository.findBySku("TST-12345678").orElseThrow();
+
+        // Assert
+        assertEquals("Updated Product", result.getName());
+        verify(delegate, times(2)).findBySku("TST-12345678");
+    }
+
+    @Test
+    void saveBatch_ShouldInvalidateChangedProducts() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678");
+
+        // Act
+        repository.saveBatch(List.of(), List.of(testProduct));
+        repository.findBySku("TST-12345678");
+
+        // Assert
+        verify(delegate, times(2)).findBySku("TST-12345678");
+    }
+
+    @Test
+    void reprice_ShouldInvalidateRepricedProducts() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678");
+
+        // Act
+        repository.reprice(List.of("TST-12345678"), PriceRule.percentage(1000));
+        repository.findBySku("TST-12345678");
+
+        // Assert
+        verify(delegate, times(2)).findBySku("TST-12345678");
+    }
+
+    @Test
+    void delete_ShouldInvalidateCachedProduct() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct)).thenReturn(Optional.empty());
+        repository.findBySku("TST-12345678");
+
+        // Act
+        repository.delete(testProduct);
+
+        // Assert
+        assertTrue(repository.findBySku("TST-12345678").isEmpty());
+        verify(delegate).delete(testProduct);
+    }
+
+    @Test
+    void findBySku_ShouldNotRecacheWrittenProductDuringReplicationDelay() {
+        // Arrange: a replica could still return the product as it was before the save
+        repository = new CachingProductRepository(delegate, 100, Duration.ofMinutes(5), Duration.ofMinutes(1));
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            repository.save(testProduct);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Act
+        repository.findBySku("TST-12345678");
+        repository.findBySku("TST-12345678");
+
+        // Assert
+        verify(delegate, times(2)).findBySku("TST-12345678");
+    }
+
+    @Test
+    void findBySku_ShouldReadFromDelegateInReadWriteTransaction() {
+        // Arrange: the cached copy may be older than the row the transaction is about to change
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            // Act
+            repository.findBySku("TST-12345678");
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Assert
+        verify(delegate, times(2)).findBySku("TST-12345678");
+        assertEquals(0, repository.stats().hitCount());
+    }
+
+    @Test
+    void invalidate_ShouldDropProductsChangedBehindTheCache() {
+        // Arrange
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678");
+
+        // Act
+        repository.invalidate(List.of("TST-12345678"));
+        repository.findBySku("TST-12345678");
+
+        // Assert
+        verify(delegate, times(2)).findBySku("TST-12345678");
+    }
+
+    @Test
+    void findBySku_ShouldNotRecacheARowReadBeforeAnEviction() throws Exception {
+        // Arrange: the reader reads the row, then a write commits and evicts before the reader is done
+        Product updated = testProduct.toBuilder().name("Updated Product").build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(delegate.findBySku("TST-12345678")).thenAnswer(invocation -> {
+            loading.countDown();
+            committed.await();
+            return Optional.of(testProduct);
+        }).thenReturn(Optional.of(updated));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Optional<Product>> reader = executor.submit(() -> repository.findBySku("TST-12345678"));
+            loading.await();
+            Future<?> eviction = executor.submit(() -> repository.invalidate(List.of("TST-12345678")));
+
+            // Act
+            Thread.sleep(100);
+            committed.countDown();
+            reader.get(5, TimeUnit.SECONDS);
+            eviction.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals("Updated Product", repository.findBySku("TST-12345678").orElseThrow().getName());
+    }
+
+    @Test
+    void existsBySku_ShouldAskTheDelegateEvenForCachedProducts() {
+        // Arrange: the product may have been deleted through another instance
+        when(delegate.findBySku("TST-12345678")).thenReturn(Optional.of(testProduct));
+        repository.findBySku("TST-12345678");
+
+        // Act & Assert
+        assertFalse(repository.existsBySku("TST-12345678"));
+        verify(delegate).existsBySku("TST-12345678");
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecommerce.infrastructure.persistence.ledger;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+
+    private static final String HOT_SKU = "HOT-00000001";
+
+    @TempDir
+    private Path journalDirectory;
+
+    private ProductRepository productRepository;
+    private StockLedgerStore store;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        store = mock(StockLedgerStore.class);
+        when(productRepository.findBySku(HOT_SKU)).thenReturn(Optional.of(
+                Product.builder().sku(HOT_SKU).name("Hot Product").price(1000).stock(100).enabled(true).build()));
+    }
+
+    @Test
+    void concurrentReservations_ShouldNeverOversell() throws Exception {
+        StockLedger ledger = newLedger();
+        ledger.start();
+        AtomicInteger reserved = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                futures.add(executor.submit(() -> {
+                    if (ledger.reserve(HOT_SKU, 1)) {
+                        reserved.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        Product product = ledger.overlay(Product.builder().sku(HOT_SKU).build());
+        assertEquals(100, reserved.get());
+        assertEquals(100, product.getStock());
+        assertEquals(100, product.getReserved());
+        ledger.close();
+    }
+
+    @Test
+    void close_ShouldFlushNetDeltasWithCheckpoint() throws Exception {
+        StockLedger ledger = newLedger();
+        ledger.start();
+
+        assertTrue(ledger.reserve(HOT_SKU, 5));
+        assertTrue(ledger.decrement(HOT_SKU, 3, true));
+        assertTrue(ledger.increment(HOT_SKU, 10));
+        assertFalse(ledger.release(HOT_SKU, 3));
+        ledger.close();
+
+        Map<String, StockDelta> deltas = captureAppliedDeltas(3L);
+        assertEquals(7, deltas.get(HOT_SKU).getStock());
+        assertEquals(2, deltas.get(HOT_SKU).getReserved());
+    }
+
+    @Test
+    void start_ShouldReplayJournaledAdjustmentsThatWereNotFlushed() throws Exception {
+        // The first run cannot reach the database, so its adjustments only survive in the journal
+        doThrow(new IllegalStateException("database unavailable")).when(store).apply(anyMap(), anyLong());
+        StockLedger crashed = newLedger();
+        crashed.start();
+        assertTrue(crashed.reserve(HOT_SKU, 4));
+        assertTrue(crashed.decrement(HOT_SKU, 1, false));
+        crashed.close();
+
+        reset(store);
+        when(store.lastAppliedSequence()).thenReturn(0L);
+        StockLedger restarted = newLedger();
+        restarted.start();
+
+        Map<String, StockDelta> deltas = captureAppliedDeltas(2L);
+        assertEquals(-1, deltas.get(HOT_SKU).getStock());
+        assertEquals(4, deltas.get(HOT_SKU).getReserved());
+        restarted.close();
+    }
+
+    @Test
+    void start_ShouldSkipJournaledAdjustmentsCoveredByCheckpoint() throws Exception {
+        StockLedger ledger = newLedger();
+        ledger.start();
+        assertTrue(ledger.reserve(HOT_SKU, 4));
+        ledger.close();
+
+        reset(store);
+        when(store.lastAppliedSequence()).thenReturn(1L);
+        StockLedger restarted = newLedger();
+        restarted.start();
+
+        verify(store, never()).apply(anyMap(), anyLong());
+        restarted.close();
+    }
+
+    @Test
+    void forget_ShouldRefuseAdjustmentsOfDeletedProduct() throws Exception {
+        StockLedger ledger = newLedger();
+        ledger.start();
+        assertTrue(ledger.reserve(HOT_SKU, 1));
+
+        when(productRepository.findBySku(HOT_SKU)).thenReturn(Optional.empty());
+        ledger.forget(HOT_SKU);
+
+        assertFalse(ledger.reserve(HOT_SKU, 1));
+        assertFalse(ledger.increment(HOT_SKU, 1));
+        ledger.close();
+        Map<String, StockDelta> deltas = captureAppliedDeltas(1L);
+        assertEquals(1, deltas.get(HOT_SKU).getReserved());
+    }
+
+    @Test
+    void flush_ShouldForgetProductsThatNoLongerExist() throws Exception {
+        // The product is deleted between the first and the second adjustment
+        when(store.apply(anyMap(), anyLong())).thenReturn(Set.of(HOT_SKU));
+        StockLedger ledger = newLedger();
+        ledger.start();
+        assertTrue(ledger.reserve(HOT_SKU, 1));
+        when(productRepository.findBySku(HOT_SKU)).thenReturn(Optional.empty());
+        ledger.close();
+
+        assertFalse(ledger.reserve(HOT_SKU, 1));
+    }
+
+    private StockLedger newLedger() {
+        return new StockLedger(productRepository, store, List.of(HOT_SKU), journalDirectory, Duration.ofMinutes(1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, StockDelta> captureAppliedDeltas(long upToSequence) {
+        ArgumentCaptor<Map<String, StockDelta>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(store).apply(captor.capture(), eq(upToSequence));
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.infrastructure.persistence.routing;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing between an in-memory primary and two in-memory replicas kept in sync by the local replicator.
+ * The background rounds are pushed out of the way so each test replicates and measures the lag itself.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "product.read-replicas.enabled=true",
+        "product.read-replicas.urls=jdbc:h2:mem:routing-replica-1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:routing-replica-2;DB_CLOSE_DELAY=-1",
+        "product.read-replicas.max-lag=300ms",
+        "product.read-replicas.heartbeat-interval=1h",
+        "product.read-replicas.local-replication.enabled=true",
+        "product.read-replicas.local-replication.interval=1h",
+        "product.cache.enabled=false"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReplicaRouter router;
+
+    @Autowired
+    private ReplicaLagMonitor monitor;
+
+    @Autowired
+    private LocalReplicator replicator;
+
+    @Test
+    void readOnlyTransactions_ShouldReadFromTheReplicas() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+        catchUp();
+        renameOnReplicas(product.getSku());
+
+        // Act
+        Product read = productService.getProductBySku(product.getSku());
+
+        // Assert
+        assertTrue(read.getName().startsWith("On replica-"), read.getName());
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldTakeTheReplicasInTurn() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+        catchUp();
+        renameOnReplicas(product.getSku());
+
+        // Act
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            names.add(productService.getProductBySku(product.getSku()).getName());
+        }
+
+        // Assert
+        assertEquals(2, names.stream().filter("On replica-1"::equals).count(), names.toString());
+        assertEquals(2, names.stream().filter("On replica-2"::equals).count(), names.toString());
+    }
+
+    @Test
+    void writes_ShouldGoToThePrimary() {
+        // Arrange
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+        catchUp();
+
+        // Act
+        productService.updateProduct(product.getSku(), "Updated " + product.getName(), 1500, null);
+
+        // Assert: the replicas only have the change once it is replicated
+        assertEquals("Updated " + product.getName(), nameOn(new JdbcTemplate(router.getPrimary()), product.getSku()));
+        for (Replica replica : router.getReplicas()) {
+            assertEquals(product.getName(), nameOn(new JdbcTemplate(replica.getDataSource()), product.getSku()));
+        }
+        catchUp();
+        assertEquals("Updated " + product.getName(), productService.getProductBySku(product.getSku()).getName());
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldReadFromThePrimaryWhenTheReplicasLag() throws InterruptedException {
+        // Arrange: the update is not replicated, and the replicas fall behind by more than max-lag
+        Product product = productService.createProduct(uniqueName(), 1000, "USD", 5);
+        catchUp();
+        productService.updateProduct(product.getSku(), "Updated " + product.getName(), 1500, null);
+        Thread.sleep(500);
+
+        // Act
+        monitor.check();
+        Product read = productService.getProductBySku(product.getSku());
+
+        // Assert
+        assertTrue(router.getReplicas().stream().noneMatch(Replica::isInSync));
+        assertEquals("Updated " + product.getName(), read.getName());
+    }
+
+    @Test
+    void leastConnections_ShouldPickTheLeastBusyReplica() throws Exception {
+        // Arrange
+        catchUp();
+        ReplicaRouter leastConnections = new ReplicaRouter(router.getPrimary(), router.getReplicas(),
+                ReplicaSelection.LEAST_CONNECTIONS, new SimpleMeterRegistry());
+
+        // Act & Assert
+        try (Connection busy = router.getReplicas().get(0).getDataSource().getConnection()) {
+            for (int i = 0; i < 4; i++) {
+                assertSame(router.getReplicas().get(1), leastConnections.select());
+            }
+        }
+    }
+
+    /**
+     * Replicates the primary and measures the lag right after, so every replica is in sync.
+     */
+    private void catchUp() {
+        monitor.check();
+        replicator.replicate();
+        monitor.check();
+        assertTrue(router.getReplicas().stream().allMatch(Replica::isInSync));
+    }
+
+    /**
+     * Renames a product on each replica after the replica, to tell which one a read came from.
+     * @param sku the SKU of the product
+     */
+    private void renameOnReplicas(String sku) {
+        for (Replica replica : router.getReplicas()) {
+            new JdbcTemplate(replica.getDataSource())
+                    .update("UPDATE products SET name = ? WHERE sku = ?", "On " + replica.getName(), sku);
+        }
+    }
+
+    private static String nameOn(JdbcTemplate jdbcTemplate, String sku) {
+        return jdbcTemplate.queryForObject("SELECT name FROM products WHERE sku = ?", String.class, sku);
+    }
+
+    private static String uniqueName() {
+        return "Routing " + UUID.randomUUID();
+    }
+}
@@ -1,23 +1,43 @@
 package com.ecommerce.infrastructure.rest.controller;
 
+import com.ecommerce.domain.exception.ProductVersionConflictException;
+import com.ecommerce.domain.model.PriceRule;
 import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductBatchOutcome;
+import com.ecommerce.domain.model.ProductBatchProgress;
+import com.ecommerce.domain.model.ProductBulkResult;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductChangePage;
+import com.ecommerce.domain.model.ProductFilter;
+import com.ecommerce.domain.model.ProductPage;
+import com.ecommerce.domain.model.ProductRepricingProgress;
+import com.ecommerce.domain.model.ProductSearchHit;
+import com.ecommerce.domain.port.ProductBatchService;
 import com.ecommerce.domain.port.ProductService;
+import com.ecommerce.infrastructure.rest.dto.ProductBulkRequest;
 import com.ecommerce.infrastructure.rest.dto.ProductRequest;
+import com.ecommerce.infrastructure.rest.dto.StockAdjustmentRequest;
+import com.ecommerce.infrastructure.rest.events.ProductEventBroadcaster;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.*;
-import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -37,6 +57,12 @@ class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBatchService productBatchService;
+
+    @MockBean
+    private ProductEventBroadcaster productEventBroadcaster;
+
     private Product testProduct;
     private ProductRequest productRequest;
 
@@ -45,37 +71,44 @@ class ProductControllerTest {
         testProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(5)
                 .enabled(true)
                 .build();
 
         productRequest = ProductRequest.builder()
                 .name("New Product")
-                .price(15.0)
+                .price(1500L)
                 .initialStock(10)
                 .build();
     }
 
     @Test
     @WithMockUser(roles = "USER")
-    void getAllProducts_ShouldReturnProducts() throws Exception {
+    void getProducts_ShouldReturnPageOfProducts() throws Exception {
         // Arrange
-        Product product1 = Product.builder().sku("SKU1").name("Product 1").price(10.0).stock(5).enabled(true).build();
-        Product product2 = Product.builder().sku("SKU2").name("Product 2").price(20.0).stock(10).enabled(true).build();
+        Product product1 = Product.builder().sku("SKU1").name("Product 1").price(1000).stock(5).enabled(true).build();
+        Product product2 = Product.builder().sku("SKU2").name("Product 2").price(2000).stock(10).enabled(true).build();
         List<Product> products = Arrays.asList(product1, product2);
-        
-        when(productService.getAllProducts()).thenReturn(products);
+        ProductFilter expectedFilter = ProductFilter.builder().enabled(true).minPrice(500L).build();
+
+        when(productService.getProducts(eq(expectedFilter), eq("U0tVMA"), eq(2)))
+                .thenReturn(new ProductPage(products, "U0tVMg"));
 
         // Act & Assert
-        mockMvc.perform(get("/api/products"))
+        mockMvc.perform(get("/api/products")
+                .param("enabled", "true")
+                .param("minPrice", "500")
+                .param("pageToken", "U0tVMA")
+                .param("pageSize", "2"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].sku", is("SKU1")))
-                .andExpect(jsonPath("$[0].name", is("Product 1")))
-                .andExpect(jsonPath("$[1].sku", is("SKU2")))
-                .andExpect(jsonPath("$[1].name", is("Product 2")));
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].sku", is("SKU1")))
+                .andExpect(jsonPath("$.items[0].name", is("Product 1")))
+                .andExpect(jsonPath("$.items[1].sku", is("SKU2")))
+                .andExpect(jsonPath("$.items[1].name", is("Product 2")))
+                .andExpect(jsonPath("$.nextPageToken", is("U0tVMg")));
     }
 
     @Test
@@ -90,16 +123,44 @@ class ProductControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.sku", is("TST-12345678")))
                 .andExpect(jsonPath("$.name", is("Test Product")))
-                .andExpect(jsonPath("$.price", is(10.0)))
+                .andExpect(jsonPath("$.price", is(1000)))
+                .andExpect(jsonPath("$.currency", is("USD")))
                 .andExpect(jsonPath("$.stock", is(5)))
                 .andExpect(jsonPath("$.enabled", is(true)));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getProduct_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+        // Arrange
+        when(productService.getProductBySku("TST-12345678")).thenReturn(testProduct.toBuilder().version(3).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/TST-12345678").header(HttpHeaders.IF_NONE_MATCH, "\"3-5-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-5-0\""))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getProduct_WithStockChangedSinceIfNoneMatch_ShouldReturnProduct() throws Exception {
+        // Arrange: stock movements do not change the version
+        when(productService.getProductBySku("TST-12345678"))
+                .thenReturn(testProduct.toBuilder().version(3).reserved(1).build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/TST-12345678").header(HttpHeaders.IF_NONE_MATCH, "\"3-5-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-5-1\""))
+                .andExpect(jsonPath("$.reserved", is(1)));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void createProduct_ShouldCreateAndReturnProduct() throws Exception {
         // Arrange
-        when(productService.createProduct(anyString(), anyDouble(), anyInt())).thenReturn(testProduct);
+        when(productService.createProduct(anyString(), anyLong(), isNull(), anyInt())).thenReturn(testProduct);
 
         // Act & Assert
         mockMvc.perform(post("/api/products")
@@ -112,6 +173,118 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.name", is("Test Product")));
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void reserveStock_ShouldReturnProductWithReservedStock() throws Exception {
+        // Arrange
+        Product reservedProduct = testProduct.toBuilder().reserved(2).build();
+        when(productService.reserveStock("TST-12345678", 2)).thenReturn(reservedProduct);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/TST-12345678/stock/reserve")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(StockAdjustmentRequest.builder().quantity(2).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stock", is(5)))
+                .andExpect(jsonPath("$.reserved", is(2)))
+                .andExpect(jsonPath("$.availableStock", is(3)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void decrementStock_FromReservation_ShouldPassFlagToService() throws Exception {
+        // Arrange
+        when(productService.decrementStock("TST-12345678", 1, true)).thenReturn(testProduct);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/TST-12345678/stock/decrement")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                        StockAdjustmentRequest.builder().quantity(1).fromReservation(true).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sku", is("TST-12345678")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkUpsertProducts_ShouldReturnSummaryAndPerItemResults() throws Exception {
+        // Arrange
+        List<ProductBulkRequest> requests = List.of(
+                ProductBulkRequest.builder().name("New Product").price(1500L).currency("EUR").initialStock(10).build(),
+                ProductBulkRequest.builder().sku("TST-12345678").name("Test Product").price(1200L).build(),
+                ProductBulkRequest.builder().name("").price(1500L).build());
+
+        when(productService.bulkUpsertProducts(argThat(items -> items.size() == 3
+                && items.get(0).getSku() == null
+                && items.get(0).getInitialStock() == 10
+                && items.get(0).getCurrency().equals("EUR")
+                && items.get(1).getPrice() == 1200
+                && items.get(1).getSku().equals("TST-12345678")))).thenReturn(List.of(
+                        ProductBulkResult.created(0, "NEW-00000001"),
+                        ProductBulkResult.updated(1, "TST-12345678"),
+                        ProductBulkResult.failed(2, null, "Product name cannot be empty")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/bulk")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.updated", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results", hasSize(3)))
+                .andExpect(jsonPath("$.results[0].sku", is("NEW-00000001")))
+                .andExpect(jsonPath("$.results[2].status", is("FAILED")))
+                .andExpect(jsonPath("$.results[2].error", is("Product name cannot be empty")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkUpsertProducts_FromNdjson_ShouldReadOneProductPerLine() throws Exception {
+        // Arrange
+        when(productService.bulkUpsertProducts(argThat(items -> items.size() == 2
+                && items.get(0).getName().equals("First")
+                && items.get(1).getName().equals("Second")))).thenReturn(List.of(
+                        ProductBulkResult.created(0, "FIR-00000001"),
+                        ProductBulkResult.created(1, "SEC-00000002")));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/bulk")
+                .with(csrf())
+                .contentType("application/x-ndjson")
+                .content("{\"name\":\"First\",\"price\":150}\n{\"name\":\"Second\",\"price\":250}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.results[1].sku", is("SEC-00000002")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkUpsertProducts_FromNdjson_WithFractionalPrice_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/bulk")
+                .with(csrf())
+                .contentType("application/x-ndjson")
+                .content("{\"name\":\"First\",\"price\":19.99}\n"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void createProduct_WithFractionalPrice_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert: prices are in minor units, so 19.99 must not be truncated to 19
+        mockMvc.perform(post("/api/products")
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Test Product\",\"price\":19.99}"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(productService);
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void updateProduct_ShouldUpdateAndReturnProduct() throws Exception {
@@ -119,12 +292,12 @@ class ProductControllerTest {
         Product updatedProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Updated Product")
-                .price(20.0)
+                .price(2000)
                 .stock(5)
                 .enabled(true)
                 .build();
         
-        when(productService.updateProduct(eq("TST-12345678"), anyString(), anyDouble())).thenReturn(updatedProduct);
+        when(productService.updateProduct(eq("TST-12345678"), anyString(), anyLong(), isNull())).thenReturn(updatedProduct);
 
         // Act & Assert
         mockMvc.perform(put("/api/products/TST-12345678")
@@ -135,7 +308,23 @@ class ProductControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.sku", is("TST-12345678")))
                 .andExpect(jsonPath("$.name", is("Updated Product")))
-                .andExpect(jsonPath("$.price", is(20.0)));
+                .andExpect(jsonPath("$.price", is(2000)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void updateProduct_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        // Arrange
+        when(productService.updateProduct("TST-12345678", "New Product", 1500, null, 2L))
+                .thenThrow(new ProductVersionConflictException("TST-12345678"));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/products/TST-12345678")
+                .with(csrf())
+                .header(HttpHeaders.IF_MATCH, "\"2-5-0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(productRequest)))
+                .andExpect(status().isPreconditionFailed());
     }
 
     @Test
@@ -145,7 +334,7 @@ class ProductControllerTest {
         Product enabledProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(5)
                 .enabled(true)
                 .build();
@@ -167,7 +356,7 @@ class ProductControllerTest {
         Product disabledProduct = Product.builder()
                 .sku("TST-12345678")
                 .name("Test Product")
-                .price(10.0)
+                .price(1000)
                 .stock(5)
                 .enabled(false)
                 .build();
@@ -195,4 +384,173 @@ class ProductControllerTest {
         
         verify(productService).deleteProduct("TST-12345678");
     }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getChanges_ShouldReturnChangesWithTombstonesAndWatermark() throws Exception {
+        // Arrange
+        testProduct.setChangeSequence(7);
+        when(productService.getChanges(5, 100)).thenReturn(new ProductChangePage(
+                List.of(ProductChange.upsert(testProduct), ProductChange.tombstone("OLD-1", 8)), 8, false));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes").param("since", "5").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.watermark", is(8)))
+                .andExpect(jsonPath("$.hasMore", is(false)))
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].sequence", is(7)))
+                .andExpect(jsonPath("$.changes[0].deleted", is(false)))
+                .andExpect(jsonPath("$.changes[0].product.name", is("Test Product")))
+                .andExpect(jsonPath("$.changes[1].sku", is("OLD-1")))
+                .andExpect(jsonPath("$.changes[1].deleted", is(true)))
+                .andExpect(jsonPath("$.changes[1].product").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchProducts_ShouldReturnMatchingProducts() throws Exception {
+        // Arrange
+        when(productService.searchProducts("test pro", true, 5)).thenReturn(List.of(testProduct));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search").param("q", "test pro").param("enabled", "true").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].sku", is("TST-12345678")))
+                .andExpect(jsonPath("$[0].name", is("Test Product")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void suggestProducts_ShouldReturnSkusAndNames() throws Exception {
+        // Arrange
+        when(productService.suggestProducts("tes", null, null))
+                .thenReturn(List.of(new ProductSearchHit("TST-12345678", "Test Product")));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/search/suggest").param("q", "tes"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"sku\":\"TST-12345678\",\"name\":\"Test Product\"}]", true));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void streamEvents_ShouldOpenEventStream() throws Exception {
+        // Arrange
+        when(productEventBroadcaster.subscribe()).thenReturn(Optional.of(new SseEmitter()));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void streamEvents_WithTooManySubscribers_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        when(productEventBroadcaster.subscribe()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void repriceProducts_ShouldStreamProgressLines() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<ProductRepricingProgress> listener = invocation.getArgument(3);
+            listener.accept(new ProductRepricingProgress(1000, 998, 2, "TST-0999", false));
+            listener.accept(new ProductRepricingProgress(1500, 1497, 3, "TST-1499", true));
+            return null;
+        }).when(productBatchService).repriceProducts(any(), any(), any(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/repricing")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"PERCENTAGE\",\"percentage\":-12.5,\"skuPrefix\":\"TST-\",\"enabled\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"matched\":1000,\"repriced\":998,\"skipped\":2,\"lastSku\":\"TST-0999\",\"complete\":false}\n"
+                        + "{\"matched\":1500,\"repriced\":1497,\"skipped\":3,\"lastSku\":\"TST-1499\",\"complete\":true}\n"));
+
+        verify(productBatchService).repriceProducts(eq(PriceRule.percentage(-1250)),
+                argThat(filter -> "TST-".equals(filter.getSkuPrefix()) && Boolean.TRUE.equals(filter.getEnabled())),
+                isNull(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteProducts_ShouldStreamOutcomesPerSku() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<ProductBatchProgress> listener = invocation.getArgument(2);
+            listener.accept(new ProductBatchProgress(1, 0, 1, 1, "SKU3", true, List.of(
+                    new ProductBatchOutcome("SKU1", ProductBatchOutcome.Status.CHANGED),
+                    new ProductBatchOutcome("SKU2", ProductBatchOutcome.Status.REJECTED),
+                    new ProductBatchOutcome("SKU3", ProductBatchOutcome.Status.NOT_FOUND))));
+            return null;
+        }).when(productBatchService).deleteProducts(any(), any(), any());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch/delete")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"skus\":[\"SKU1\",\"SKU2\",\"SKU3\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"changed\":1,\"unchanged\":0,\"rejected\":1,\"notFound\":1,"
+                        + "\"lastSku\":\"SKU3\",\"complete\":true,\"results\":[{\"sku\":\"SKU1\",\"status\":\"CHANGED\"},"
+                        + "{\"sku\":\"SKU2\",\"status\":\"REJECTED\"},{\"sku\":\"SKU3\",\"status\":\"NOT_FOUND\"}]}\n"));
+
+        verify(productBatchService).deleteProducts(
+                argThat(filter -> List.of("SKU1", "SKU2", "SKU3").equals(filter.getSkus())), isNull(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportProducts_ShouldStreamNdjson() throws Exception {
+        // Arrange
+        Product product2 = Product.builder().sku("SKU2").name("Product 2").price(2000).stock(10).enabled(false).build();
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(testProduct);
+            consumer.accept(product2);
+            return null;
+        }).when(productService).exportProducts(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson;charset=UTF-8"))
+                .andExpect(content().string(
+                        "{\"sku\":\"TST-12345678\",\"name\":\"Test Product\",\"price\":1000,\"currency\":\"USD\",\"stock\":5,\"reserved\":0,\"availableStock\":5,\"enabled\":true,\"version\":0}\n"
+                        + "{\"sku\":\"SKU2\",\"name\":\"Product 2\",\"price\":2000,\"currency\":\"USD\",\"stock\":10,\"reserved\":0,\"availableStock\":10,\"enabled\":false,\"version\":0}\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportProducts_AsCsv_ShouldStreamCsvWithEscapedFields() throws Exception {
+        // Arrange
+        testProduct.setPrice(1005);
+        Product product2 = Product.builder().sku("SKU2").name("Widget, \"Deluxe\"").price(2000).currency("JPY").stock(10).enabled(false).build();
+        doAnswer(invocation -> {
+            Consumer<Product> consumer = invocation.getArgument(0);
+            consumer.accept(testProduct);
+            consumer.accept(product2);
+            return null;
+        }).when(productService).exportProducts(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/export").param("format", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().string("sku,name,price,currency,stock,enabled\r\n"
+                        + "TST-12345678,Test Product,10.05,USD,5,true\r\n"
+                        + "SKU2,\"Widget, \"\"Deluxe\"\"\",2000,JPY,10,false\r\n"));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,109 @@
+package com.ecommerce.infrastructure.rest.events;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductEventSubscriberTest {
+
+    private RecordingEmitter emitter;
+    private List<Runnable> queuedTasks;
+    private Executor queuedExecutor;
+
+    @BeforeEach
+    void setUp() {
+        emitter = new RecordingEmitter();
+        queuedTasks = new ArrayList<>();
+        // Tasks only run when the test says so, like a client that has not read anything yet
+        queuedExecutor = queuedTasks::add;
+    }
+
+    @Test
+    void offer_ShouldCoalesceChangesOfTheSameSku() {
+        // Arrange
+        ProductEventSubscriber subscriber = new ProductEventSubscriber(emitter, 10);
+
+        // Act
+        subscriber.offer(List.of(upsert("SKU-A", 1), upsert("SKU-B", 2)), queuedExecutor);
+        subscriber.offer(List.of(upsert("SKU-A", 3)), queuedExecutor);
+        runQueuedTasks();
+
+        // Assert
+        assertEquals(List.of("product:2", "product:3"), emitter.events);
+    }
+
+    @Test
+    void offer_WhenBufferOverflows_ShouldSendSingleResyncEvent() {
+        // Arrange
+        ProductEventSubscriber subscriber = new ProductEventSubscriber(emitter, 2);
+
+        // Act
+        subscriber.offer(List.of(upsert("SKU-A", 1), upsert("SKU-B", 2), ProductChange.tombstone("SKU-C", 3)), queuedExecutor);
+        subscriber.offer(List.of(upsert("SKU-D", 4)), queuedExecutor);
+        runQueuedTasks();
+        subscriber.offer(List.of(upsert("SKU-E", 5)), queuedExecutor);
+        runQueuedTasks();
+
+        // Assert
+        assertEquals(List.of("resync:4", "product:5"), emitter.events);
+        assertFalse(emitter.completed);
+    }
+
+    @Test
+    void offer_WhenClientStaysBehindAfterResync_ShouldDropSubscriber() {
+        // Arrange
+        ProductEventSubscriber subscriber = new ProductEventSubscriber(emitter, 2);
+
+        // Act
+        for (int sequence = 1; sequence <= 6; sequence++) {
+            subscriber.offer(List.of(upsert("SKU-" + sequence, sequence)), queuedExecutor);
+        }
+        runQueuedTasks();
+
+        // Assert
+        assertTrue(emitter.completed);
+        assertTrue(emitter.events.isEmpty());
+    }
+
+    private static ProductChange upsert(String sku, long sequence) {
+        return ProductChange.upsert(Product.builder().sku(sku).name(sku).changeSequence(sequence).build());
+    }
+
+    private void runQueuedTasks() {
+        while (!queuedTasks.isEmpty()) {
+            queuedTasks.remove(0).run();
+        }
+    }
+
+    /**
+     * Records the name and id of each event instead of writing it to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .reduce("", String::concat);
+            String name = text.replaceAll("(?s).*event:([^\\n]*)\\n.*", "$1");
+            String id = text.replaceAll("(?s).*id:([^\\n]*)\\n.*", "$1");
+            events.add(name + ":" + id);
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryProductSearchIndexTest {
+
+    private InMemoryProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryProductSearchIndex();
+        index.rebuild(Stream.of(
+                product("SKU-1", "Crème Brûlée Torch", true, 1),
+                product("SKU-2", "Chef's Torch", true, 2),
+                product("SKU-3", "Torchiere Floor Lamp", true, 3),
+                product("SKU-4", "Blow Torch Deluxe", false, 4)));
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        // Act
+        List<ProductSearchHit> hits = index.search("CREME brulee ", null, 10);
+
+        // Assert
+        assertEquals(List.of("SKU-1"), skus(hits));
+        assertEquals("Crème Brûlée Torch", hits.get(0).getName());
+    }
+
+    @Test
+    void search_ShouldMatchLastWordAsPrefixAndRankWholeWordsAndShortNamesFirst() {
+        // Act
+        List<ProductSearchHit> hits = index.search("torch", null, 10);
+
+        // Assert: whole word "torch" before the "torchiere" prefix match; names starting with the query first
+        assertEquals(List.of("SKU-2", "SKU-4", "SKU-1", "SKU-3"), skus(hits));
+        assertEquals(List.of("SKU-2", "SKU-4"), skus(index.search("torch", null, 2)));
+    }
+
+    @Test
+    void search_WithTrailingSpace_ShouldOnlyMatchWholeWords() {
+        // Act & Assert
+        assertEquals(List.of(), skus(index.search("torchi ", null, 10)));
+        assertEquals(List.of("SKU-3"), skus(index.search("torchi", null, 10)));
+    }
+
+    @Test
+    void search_ShouldFilterByEnabled() {
+        // Act & Assert
+        assertEquals(List.of("SKU-4"), skus(index.search("torch", false, 10)));
+        assertEquals(List.of("SKU-2", "SKU-1", "SKU-3"), skus(index.search("torch", true, 10)));
+    }
+
+    @Test
+    void apply_ShouldReindexUpdatedProductsAndRemoveDeletedOnes() {
+        // Act
+        index.apply(List.of(
+                ProductChange.upsert(product("SKU-2", "Kitchen Lighter", true, 5)),
+                ProductChange.tombstone("SKU-3", 6),
+                ProductChange.upsert(product("SKU-5", "Pocket Torch", true, 7))));
+
+        // Assert
+        assertEquals(List.of("SKU-2"), skus(index.search("kitchen", null, 10)));
+        assertEquals(List.of("SKU-5", "SKU-4", "SKU-1"), skus(index.search("torch", null, 10)));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void apply_WithStaleChange_ShouldKeepNewerDocument() {
+        // Arrange
+        index.apply(List.of(ProductChange.upsert(product("SKU-2", "Kitchen Lighter", true, 10))));
+
+        // Act
+        index.apply(List.of(
+                ProductChange.upsert(product("SKU-2", "Chef's Torch", true, 9)),
+                ProductChange.tombstone("SKU-2", 8)));
+
+        // Assert
+        assertEquals(List.of("SKU-2"), skus(index.search("lighter", null, 10)));
+    }
+
+    @Test
+    void apply_WithUnchangedNameAndEnabled_ShouldStillTrackTheNewSequence() {
+        // Arrange: a repricing only changes the price
+        index.apply(List.of(ProductChange.upsert(product("SKU-2", "Chef's Torch", true, 10))));
+
+        // Act: a rename that committed before the repricing is stale
+        index.apply(List.of(ProductChange.upsert(product("SKU-2", "Kitchen Lighter", true, 9))));
+
+        // Assert
+        assertEquals(List.of(), skus(index.search("lighter", null, 10)));
+        assertEquals(List.of("SKU-2"), skus(index.search("chef", null, 10)));
+    }
+
+    @Test
+    void lastSequence_ShouldFollowRebuildAndAppliedChanges() {
+        // Arrange
+        assertEquals(4, index.lastSequence());
+
+        // Act
+        index.apply(List.of(ProductChange.tombstone("SKU-9", 7), ProductChange.upsert(product("SKU-2", "Torch", true, 1))));
+
+        // Assert: a stale change does not move the sequence back
+        assertEquals(7, index.lastSequence());
+    }
+
+    private static Product product(String sku, String name, boolean enabled, long sequence) {
+        Product product = Product.builder().sku(sku).name(name).price(100).stock(1).enabled(enabled).build();
+        product.setChangeSequence(sequence);
+        return product;
+    }
+
+    private static List<String> skus(List<ProductSearchHit> hits) {
+        return hits.stream().map(ProductSearchHit::getSku).toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.infrastructure.search;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.model.ProductChange;
+import com.ecommerce.domain.model.ProductSearchHit;
+import com.ecommerce.domain.port.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchIndexerTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void catchUp_ShouldApplyChangesFromTheLastIndexedSequenceUntilTheFeedIsDrained() {
+        // Arrange: another instance renamed SKU-1, created SKU-2 and deleted SKU-3
+        InMemoryProductSearchIndex index = new InMemoryProductSearchIndex();
+        index.rebuild(Stream.of(product("SKU-1", "Chef's Torch", 4), product("SKU-3", "Floor Lamp", 5)));
+        ProductSearchIndexer indexer = new ProductSearchIndexer(
+                index, productRepository, transactionManager, 2, Duration.ofSeconds(1));
+        when(productRepository.findChangesSince(5, 2)).thenReturn(List.of(
+                ProductChange.upsert(product("SKU-1", "Kitchen Lighter", 6)),
+                ProductChange.upsert(product("SKU-2", "Pocket Torch", 7))));
+        when(productRepository.findChangesSince(7, 2)).thenReturn(List.of(ProductChange.tombstone("SKU-3", 8)));
+
+        // Act
+        indexer.catchUp();
+
+        // Assert
+        assertEquals(8, index.lastSequence());
+        assertEquals(2, index.size());
+        assertEquals(List.of("SKU-1"), index.search("lighter", null, 10).stream().map(ProductSearchHit::getSku).toList());
+        assertEquals(List.of(), index.search("lamp", null, 10));
+        verify(productRepository, times(2)).findChangesSince(anyLong(), eq(2));
+    }
+
+    private static Product product(String sku, String name, long sequence) {
+        Product product = Product.builder().sku(sku).name(name).price(100).stock(1).enabled(true).build();
+        product.setChangeSequence(sequence);
+        return product;
+    }
+}
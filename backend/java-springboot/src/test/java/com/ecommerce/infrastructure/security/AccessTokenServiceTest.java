@@ -0,0 +1,104 @@
+package com.ecommerce.infrastructure.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenServiceTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AccessTokenService accessTokenService;
+    private Authentication admin;
+
+    @BeforeEach
+    void setUp() {
+        accessTokenService = serviceAt(NOW, SECRET);
+        admin = UsernamePasswordAuthenticationToken.authenticated("admin", null,
+                AuthorityUtils.createAuthorityList("ROLE_ADMIN", "ROLE_USER"));
+    }
+
+    @Test
+    void verify_WithIssuedToken_ShouldRestoreAuthentication() {
+        // Arrange
+        AccessTokenService.AccessToken token = accessTokenService.issue(admin);
+
+        // Act
+        Authentication result = accessTokenService.verify(token.value()).orElseThrow();
+
+        // Assert
+        assertEquals(NOW.plus(Duration.ofMinutes(15)), token.expiresAt());
+        assertTrue(result.isAuthenticated());
+        assertEquals("admin", result.getName());
+        assertEquals(admin.getAuthorities(), result.getAuthorities());
+    }
+
+    @Test
+    void verify_WithTamperedClaims_ShouldRejectToken() {
+        // Arrange
+        String[] parts = accessTokenService.issue(
+                UsernamePasswordAuthenticationToken.authenticated("user", null, AuthorityUtils.createAuthorityList("ROLE_USER")))
+                .value().split("\\.");
+        String forgedClaims = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8)
+                        .replace("ROLE_USER", "ROLE_ADMIN").getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertTrue(accessTokenService.verify(parts[0] + "." + forgedClaims + "." + parts[2]).isEmpty());
+    }
+
+    @Test
+    void verify_WithTokenSignedByAnotherSecret_ShouldRejectToken() {
+        // Arrange
+        byte[] otherSecret = Arrays.copyOf(SECRET, SECRET.length);
+        otherSecret[0] ^= 1;
+        String token = serviceAt(NOW, otherSecret).issue(admin).value();
+
+        // Act & Assert
+        assertTrue(accessTokenService.verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldRejectToken() {
+        // Arrange
+        String token = accessTokenService.issue(admin).value();
+
+        // Act & Assert
+        assertTrue(serviceAt(NOW.plus(Duration.ofMinutes(14)), SECRET).verify(token).isPresent());
+        assertTrue(serviceAt(NOW.plus(Duration.ofMinutes(15)), SECRET).verify(token).isEmpty());
+    }
+
+    @Test
+    void verify_WithMalformedToken_ShouldRejectToken() {
+        assertTrue(accessTokenService.verify("").isEmpty());
+        assertTrue(accessTokenService.verify("not-a-token").isEmpty());
+        assertTrue(accessTokenService.verify("a.b.c").isEmpty());
+        assertTrue(accessTokenService.verify(accessTokenService.issue(admin).value() + "!").isEmpty());
+    }
+
+    @Test
+    void constructor_WithShortSecret_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AccessTokenService(new byte[16], Duration.ofMinutes(15), objectMapper, Clock.systemUTC()));
+    }
+
+    private AccessTokenService serviceAt(Instant instant, byte[] secret) {
+        return new AccessTokenService(secret, Duration.ofMinutes(15), objectMapper, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+}
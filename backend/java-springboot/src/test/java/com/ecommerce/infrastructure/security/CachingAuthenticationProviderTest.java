@@ -0,0 +1,98 @@
+package com.ecommerce.infrastructure.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class CachingAuthenticationProviderTest {
+
+    private PasswordEncoder passwordEncoder;
+    private InMemoryUserDetailsManager userDetailsManager;
+    private CachingAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(4));
+        userDetailsManager = new InMemoryUserDetailsManager(User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("admin"))
+                .roles("ADMIN", "USER")
+                .build());
+        DaoAuthenticationProvider daoAuthenticationProvider = new DaoAuthenticationProvider(passwordEncoder);
+        daoAuthenticationProvider.setUserDetailsService(userDetailsManager);
+        provider = new CachingAuthenticationProvider(daoAuthenticationProvider, userDetailsManager, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void authenticate_ShouldVerifyPasswordOnlyOnceForRepeatedRequests() {
+        // Act
+        Authentication first = provider.authenticate(credentials("admin", "admin"));
+        Authentication second = provider.authenticate(credentials("admin", "admin"));
+
+        // Assert
+        assertTrue(first.isAuthenticated());
+        assertTrue(second.isAuthenticated());
+        assertEquals("admin", second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        verify(passwordEncoder, times(1)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_WithWrongPassword_ShouldFailEveryTime() {
+        // Arrange
+        provider.authenticate(credentials("admin", "admin"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("admin", "wrong")));
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("admin", "wrong")));
+        verify(passwordEncoder, times(3)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void authenticate_AfterPasswordChange_ShouldRejectOldPassword() {
+        // Arrange
+        provider.authenticate(credentials("admin", "admin"));
+
+        // Act
+        userDetailsManager.updateUser(User.builder()
+                .username("admin")
+                .password(passwordEncoder.encode("changed"))
+                .roles("ADMIN", "USER")
+                .build());
+
+        // Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(credentials("admin", "admin")));
+        assertTrue(provider.authenticate(credentials("admin", "changed")).isAuthenticated());
+    }
+
+    @Test
+    void authenticate_AfterAccountDisabled_ShouldNotUseCachedCredentials() {
+        // Arrange
+        provider.authenticate(credentials("admin", "admin"));
+
+        // Act
+        userDetailsManager.updateUser(User.withUserDetails(userDetailsManager.loadUserByUsername("admin"))
+                .disabled(true)
+                .build());
+
+        // Assert
+        assertThrows(Exception.class, () -> provider.authenticate(credentials("admin", "admin")));
+    }
+
+    private static UsernamePasswordAuthenticationToken credentials(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
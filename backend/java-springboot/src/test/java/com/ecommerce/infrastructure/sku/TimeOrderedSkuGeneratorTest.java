@@ -0,0 +1,86 @@
+package com.ecommerce.infrastructure.sku;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedSkuGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    @Test
+    void generate_ShouldPrefixTimeOrderedIdWithFoldedNameLetters() {
+        // Arrange
+        TimeOrderedSkuGenerator generator = new TimeOrderedSkuGenerator(5, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act & Assert
+        assertTrue(generator.generate("Crème brûlée").matches("CRE-[0-9A-HJKMNP-TV-Z]{13}"));
+        assertTrue(generator.generate("a 1 b").startsWith("A1B-"));
+        assertTrue(generator.generate("Ü").startsWith("U-"));
+        assertTrue(generator.generate("!!!").startsWith("PRD-"));
+        assertTrue(generator.generate(null).startsWith("PRD-"));
+    }
+
+    @Test
+    void nextId_ShouldEncodeTimestampNodeAndSequence() {
+        // Arrange
+        TimeOrderedSkuGenerator generator = new TimeOrderedSkuGenerator(5, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        long first = generator.nextId();
+        long second = generator.nextId();
+
+        // Assert
+        assertEquals(NOW.toEpochMilli() - TimeOrderedSkuGenerator.EPOCH,
+                first >>> (TimeOrderedSkuGenerator.NODE_BITS + TimeOrderedSkuGenerator.SEQUENCE_BITS));
+        assertEquals(5, (first >>> TimeOrderedSkuGenerator.SEQUENCE_BITS) & TimeOrderedSkuGenerator.MAX_NODE_ID);
+        assertEquals(first + 1, second);
+    }
+
+    @Test
+    void generate_WithExhaustedSequenceOrClockGoingBack_ShouldStayUniqueAndOrdered() {
+        // Arrange: a clock that jumps back one second halfway through
+        Instant[] now = {NOW};
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now[0];
+            }
+        };
+        TimeOrderedSkuGenerator generator = new TimeOrderedSkuGenerator(0, clock);
+        int count = 3 * (1 << TimeOrderedSkuGenerator.SEQUENCE_BITS);
+
+        // Act
+        List<String> skus = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i == count / 2) {
+                now[0] = NOW.minusSeconds(1);
+            }
+            skus.add(generator.generate("Widget"));
+        }
+
+        // Assert
+        Set<String> distinct = new HashSet<>(skus);
+        assertEquals(count, distinct.size());
+        assertEquals(skus.stream().sorted().toList(), skus);
+    }
+}
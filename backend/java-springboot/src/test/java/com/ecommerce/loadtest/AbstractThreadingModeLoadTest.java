@@ -0,0 +1,150 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.domain.model.Product;
+import com.ecommerce.domain.port.ProductRepository;
+import com.ecommerce.domain.port.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load scenario comparing the request threading modes under a slow-database burst.
+ * <p>
+ * A crowd of clients keeps calling GET /api/products/{sku} while every SKU lookup is slowed down by
+ * {@link #DB_LATENCY}, holding a pooled connection the whole time. Meanwhile a probe measures the latency of
+ * GET /health, which needs no database. With platform threads the slow requests occupy every Tomcat thread and
+ * the probe queues behind them; with virtual threads the slow requests only wait for the connection pool and
+ * the probe stays fast. Subclasses select the threading mode; results are printed to standard output.
+ */
+@Tag("loadtest")
+abstract class AbstractThreadingModeLoadTest {
+
+    static final String CACHE_DISABLED = "product.cache.enabled=false";
+    static final String SQL_LOGGING_DISABLED = "product.sql-log.enabled=false";
+    static final int TOMCAT_MAX_THREADS = 50;
+
+    private static final Duration DB_LATENCY = Duration.ofMillis(50);
+    private static final int SLOW_CLIENTS = 200;
+    private static final int PROBES = 100;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ProductService productService;
+
+    /**
+     * Adds a fixed latency to every SKU lookup of the product repository, simulating a slow database.
+     */
+    @TestConfiguration
+    static class SlowDatabaseConfig {
+
+        @Bean
+        static BeanPostProcessor slowProductRepository() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof ProductRepository)) {
+                        return bean;
+                    }
+                    return Proxy.newProxyInstance(ProductRepository.class.getClassLoader(),
+                            new Class<?>[]{ProductRepository.class}, (proxy, method, args) -> {
+                                if (method.getName().equals("findBySku")) {
+                                    Thread.sleep(DB_LATENCY.toMillis());
+                                }
+                                try {
+                                    return method.invoke(bean, args);
+                                } catch (InvocationTargetException e) {
+                                    throw e.getCause();
+                                }
+                            });
+                }
+            };
+        }
+    }
+
+    /**
+     * Name of the threading mode, used in the printed results.
+     * @return the threading mode
+     */
+    abstract String mode();
+
+    @Test
+    void slowDatabaseBurst_ShouldKeepDatabaseFreeRequestsResponsive() throws Exception {
+        Product product = productService.createProduct("Load Test Product " + mode(), 1000, null, 100);
+        String authorization = "Basic " + Base64.getEncoder().encodeToString("user:user".getBytes(StandardCharsets.UTF_8));
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient httpClient = HttpClient.newBuilder().executor(clients).build();
+            HttpRequest slowRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/" + product.getSku()))
+                    .header("Authorization", authorization)
+                    .build();
+            HttpRequest probeRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/health")).build();
+
+            // Warm up the server, the HTTP client and the credential cache
+            for (int i = 0; i < 20; i++) {
+                httpClient.send(slowRequest, HttpResponse.BodyHandlers.discarding());
+                httpClient.send(probeRequest, HttpResponse.BodyHandlers.discarding());
+            }
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicInteger slowCompleted = new AtomicInteger();
+            AtomicInteger slowFailed = new AtomicInteger();
+            for (int i = 0; i < SLOW_CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (running.get()) {
+                        try {
+                            int status = httpClient.send(slowRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? slowCompleted : slowFailed).incrementAndGet();
+                        } catch (Exception e) {
+                            slowFailed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            // Let the burst saturate the server before probing
+            Thread.sleep(500);
+            int completedBefore = slowCompleted.get();
+            long start = System.nanoTime();
+            long[] probeLatencies = new long[PROBES];
+            for (int i = 0; i < PROBES; i++) {
+                long probeStart = System.nanoTime();
+                HttpResponse<Void> response = httpClient.send(probeRequest, HttpResponse.BodyHandlers.discarding());
+                probeLatencies[i] = System.nanoTime() - probeStart;
+                assertEquals(200, response.statusCode());
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            int slowDuringProbes = slowCompleted.get() - completedBefore;
+            running.set(false);
+
+            Arrays.sort(probeLatencies);
+            System.out.printf("[loadtest] %-16s slow lookups: %6.0f req/s (%d failed) | /health p50 %7.2f ms, p99 %7.2f ms%n",
+                    mode(), slowDuringProbes / elapsedSeconds, slowFailed.get(),
+                    probeLatencies[PROBES / 2] / 1e6, probeLatencies[PROBES * 99 / 100] / 1e6);
+            assertTrue(slowCompleted.get() > 0);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.loadtest;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+            AbstractThreadingModeLoadTest.CACHE_DISABLED,
+            AbstractThreadingModeLoadTest.SQL_LOGGING_DISABLED,
+            "server.tomcat.threads.max=" + AbstractThreadingModeLoadTest.TOMCAT_MAX_THREADS,
+            "spring.threads.virtual.enabled=true"
+        })
+@Import(AbstractThreadingModeLoadTest.SlowDatabaseConfig.class)
+class VirtualThreadsLoadTest extends AbstractThreadingModeLoadTest {
+
+    @Override
+    String mode() {
+        return "virtual threads";
+    }
+}
@@ -2,6 +2,7 @@
 
 import React, { useState, useEffect } from 'react';
 import { useRouter } from 'next/navigation';
+import axios from 'axios';
 import { Product, ProductRequest } from '@/types';
 import ProtectedRoute from '@/components/ProtectedRoute';
 import ProductForm from '@/components/ProductForm';
@@ -47,11 +48,15 @@ export default function EditProductPage({ params }: EditProductPageProps) {
     setError(null);
     
     try {
-      await productService.updateProduct(sku, data);
+      await productService.updateProduct(sku, data, product.version);
       router.push('/products');
     } catch (err) {
       console.error('Error updating product:', err);
-      setError('Failed to update product. Please try again.');
+      if (axios.isAxiosError(err) && err.response?.status === 412) {
+        setError('This product was changed by someone else. Reload the page to see the latest version.');
+      } else {
+        setError('Failed to update product. Please try again.');
+      }
     } finally {
       setIsSubmitting(false);
     }
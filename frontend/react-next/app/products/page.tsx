@@ -1,9 +1,9 @@
 'use client'
 
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useRouter } from 'next/navigation';
 import Link from 'next/link';
-import { Product } from '@/types';
+import { Product, ProductChange } from '@/types';
 import { useAuth } from '@/hooks/useAuth';
 import ProtectedRoute from '@/components/ProtectedRoute';
 import ProductCard from '@/components/ProductCard';
@@ -11,6 +11,11 @@ import * as productService from '@/services/productService';
 
 export default function ProductsPage() {
   const [products, setProducts] = useState<Product[]>([]);
+  const [nextPageToken, setNextPageToken] = useState<string | null>(null);
+  // Read by the event stream handler, which is registered once
+  const nextPageTokenRef = useRef<string | null>(null);
+  nextPageTokenRef.current = nextPageToken;
+  const [loadingMore, setLoadingMore] = useState(false);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState<string | null>(null);
   const { isAdmin } = useAuth();
@@ -21,8 +26,9 @@ export default function ProductsPage() {
     const fetchProducts = async () => {
       try {
         setLoading(true);
-        const data = await productService.getAllProducts();
-        setProducts(data);
+        const page = await productService.getProducts();
+        setProducts(page.items);
+        setNextPageToken(page.nextPageToken);
         setError(null);
       } catch (err) {
         console.error('Error fetching products:', err);
@@ -35,6 +41,58 @@ export default function ProductsPage() {
     fetchProducts();
   }, []);
 
+  // Apply pushed changes to the loaded products instead of refetching the list
+  useEffect(() => {
+    const applyChange = (change: ProductChange) => {
+      setProducts(current => {
+        if (change.deleted || !change.product) {
+          return current.filter(product => product.sku !== change.sku);
+        }
+        const updated = change.product;
+        if (current.some(product => product.sku === updated.sku)) {
+          return current.map(product => (product.sku === updated.sku ? updated : product));
+        }
+        // New products are shown when their SKU falls within the loaded (SKU-ordered) pages
+        const lastSku = current.length > 0 ? current[current.length - 1].sku : null;
+        if (nextPageTokenRef.current && lastSku !== null && updated.sku > lastSku) {
+          return current;
+        }
+        return [...current, updated].sort((a, b) => (a.sku < b.sku ? -1 : 1));
+      });
+    };
+
+    const reload = async () => {
+      try {
+        const page = await productService.getProducts();
+        setProducts(page.items);
+        setNextPageToken(page.nextPageToken);
+      } catch (err) {
+        console.error('Error reloading products:', err);
+      }
+    };
+
+    return productService.subscribeToProductEvents(applyChange, reload);
+  }, []);
+
+  // Fetch the next page of products and append it to the list
+  const handleLoadMore = async () => {
+    if (!nextPageToken) {
+      return;
+    }
+
+    try {
+      setLoadingMore(true);
+      const page = await productService.getProducts(nextPageToken);
+      setProducts([...products, ...page.items]);
+      setNextPageToken(page.nextPageToken);
+    } catch (err) {
+      console.error('Error fetching products:', err);
+      alert('Failed to load more products.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   // Handle product deletion
   const handleDelete = async (sku: string) => {
     // Verificar se estamos no navegador
@@ -103,16 +161,25 @@ export default function ProductsPage() {
             )}
           </div>
         ) : (
-          <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
-            {products.map(product => (
-              <ProductCard
-                key={product.sku}
-                product={product}
-                onDelete={handleDelete}
-                onToggleStatus={handleToggleStatus}
-              />
-            ))}
-          </div>
+          <>
+            <div className="grid grid-cols-1 md:grid-cols-2 lg:grid-cols-3 gap-6">
+              {products.map(product => (
+                <ProductCard
+                  key={product.sku}
+                  product={product}
+                  onDelete={handleDelete}
+                  onToggleStatus={handleToggleStatus}
+                />
+              ))}
+            </div>
+            {nextPageToken && (
+              <div className="text-center mt-6">
+                <button onClick={handleLoadMore} disabled={loadingMore} className="btn btn-primary">
+                  {loadingMore ? 'Loading...' : 'Load More'}
+                </button>
+              </div>
+            )}
+          </>
         )}
       </div>
     </ProtectedRoute>
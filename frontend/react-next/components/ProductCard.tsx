@@ -4,6 +4,7 @@ import React from 'react';
 import Link from 'next/link';
 import { Product } from '@/types';
 import { useAuth } from '@/hooks/useAuth';
+import { formatPrice } from '@/services/price';
 
 interface ProductCardProps {
   product: Product;
@@ -40,7 +41,7 @@ const ProductCard: React.FC<ProductCardProps> = ({
         
         <div className="mt-4">
           <p className="text-gray-700 font-medium">
-            ${product.price.toFixed(2)}
+            {formatPrice(product.price, product.currency)}
           </p>
           <p className="text-sm text-gray-600 mt-1">
             Stock: {product.stock} units
@@ -3,6 +3,7 @@
 import React from 'react';
 import { useForm } from 'react-hook-form';
 import { Product, ProductRequest } from '@/types';
+import { DEFAULT_CURRENCY, fromMinorUnits, toMinorUnits } from '@/services/price';
 
 interface ProductFormProps {
   initialData?: Product;
@@ -25,13 +26,17 @@ const ProductForm: React.FC<ProductFormProps> = ({
     defaultValues: isEditMode
       ? {
           name: initialData.name,
-          price: initialData.price,
+          price: fromMinorUnits(initialData.price, initialData.currency),
         }
       : undefined
   });
 
+  // The form edits the price in dollars; the API takes it in cents
   const submitHandler = async (data: ProductRequest) => {
-    await onSubmit(data);
+    await onSubmit({
+      ...data,
+      price: toMinorUnits(data.price, initialData?.currency ?? DEFAULT_CURRENCY),
+    });
   };
 
   return (
@@ -11,7 +11,7 @@ api.interceptors.request.use(
   (config) => {
     const token = Cookies.get('auth_token');
     if (token) {
-      config.headers.Authorization = `Basic ${token}`;
+      config.headers.Authorization = `Bearer ${token}`;
     }
     return config;
   },
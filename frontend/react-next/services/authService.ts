@@ -1,32 +1,28 @@
+import axios from 'axios';
 import Cookies from 'js-cookie';
-import { User } from '@/types';
-
-// Function to encode credentials for Basic Auth
-const encodeCredentials = (username: string, password: string): string => {
-  return btoa(`${username}:${password}`);
-};
+import api from './api';
+import { TokenResponse, User } from '@/types';
 
 // Login function
 export const login = async (username: string, password: string): Promise<User> => {
   try {
-    // Encode credentials
-    const token = encodeCredentials(username, password);
-    
-    // Store token in cookie
-    Cookies.set('auth_token', token, { expires: 1 }); // Expires in 1 day
+    // Exchange the credentials for a short-lived access token
+    // (plain axios, so a 401 here is reported instead of triggering the global redirect)
+    const response = await axios.post<TokenResponse>(`${api.defaults.baseURL}/auth/login`, { username, password });
+    const { accessToken, expiresIn, roles } = response.data;
+    const expires = new Date(Date.now() + expiresIn * 1000);
     
-    // For Basic Auth, we need to determine user roles based on username
-    // In a real app, you would fetch this from the server
-    const roles = username === 'admin' ? ['ADMIN', 'USER'] : ['USER'];
+    // Store token in cookie, expiring together with the token
+    Cookies.set('auth_token', accessToken, { expires });
     
-    // Create user object
+    // Create user object from the roles granted by the server
     const user: User = {
-      username,
+      username: response.data.username,
       roles,
     };
     
     // Store user info in cookie
-    Cookies.set('user_info', JSON.stringify(user), { expires: 1 });
+    Cookies.set('user_info', JSON.stringify(user), { expires });
     
     return user;
   } catch (error) {
@@ -0,0 +1,15 @@
+// Prices travel as integers in the minor unit of their currency (cents for USD, yen for JPY)
+
+export const DEFAULT_CURRENCY = 'USD';
+
+const fractionDigits = (currency: string): number =>
+  new Intl.NumberFormat('en', { style: 'currency', currency }).resolvedOptions().maximumFractionDigits ?? 2;
+
+export const fromMinorUnits = (amount: number, currency: string): number =>
+  amount / 10 ** fractionDigits(currency);
+
+export const toMinorUnits = (amount: number, currency: string): number =>
+  Math.round(amount * 10 ** fractionDigits(currency));
+
+export const formatPrice = (amount: number, currency: string): string =>
+  new Intl.NumberFormat(undefined, { style: 'currency', currency }).format(fromMinorUnits(amount, currency));
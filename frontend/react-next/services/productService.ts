@@ -1,9 +1,10 @@
+import Cookies from 'js-cookie';
 import api from './api';
-import { Product, ProductRequest } from '@/types';
+import { Product, ProductChange, ProductPage, ProductRequest } from '@/types';
 
-// Get all products
-export const getAllProducts = async (): Promise<Product[]> => {
-  const response = await api.get<Product[]>('/products');
+// Get a page of products (pass the previous page's nextPageToken to continue)
+export const getProducts = async (pageToken?: string, pageSize?: number): Promise<ProductPage> => {
+  const response = await api.get<ProductPage>('/products', { params: { pageToken, pageSize } });
   return response.data;
 };
 
@@ -19,9 +20,10 @@ export const createProduct = async (productData: ProductRequest): Promise<Produc
   return response.data;
 };
 
-// Update product (admin only)
-export const updateProduct = async (sku: string, productData: ProductRequest): Promise<Product> => {
-  const response = await api.put<Product>(`/products/${sku}`, productData);
+// Update product (admin only); with a version, the update fails with 412 if someone changed the product since
+export const updateProduct = async (sku: string, productData: ProductRequest, version?: number): Promise<Product> => {
+  const headers = version !== undefined ? { 'If-Match': `"${version}"` } : undefined;
+  const response = await api.put<Product>(`/products/${sku}`, productData, { headers });
   return response.data;
 };
 
@@ -40,4 +42,71 @@ export const disableProduct = async (sku: string): Promise<Product> => {
 // Delete product (admin only)
 export const deleteProduct = async (sku: string): Promise<void> => {
   await api.delete(`/products/${sku}`);
-};
\ No newline at end of file
+};
+
+// Listen to the product event stream until the returned function is called.
+// EventSource cannot send the Authorization header, so the stream is read with fetch.
+// onResync is called when events were skipped (or the stream had to be reopened) and the caller should reload.
+export const subscribeToProductEvents = (
+  onChange: (change: ProductChange) => void,
+  onResync: () => void,
+): (() => void) => {
+  const controller = new AbortController();
+
+  const readStream = async () => {
+    const token = Cookies.get('auth_token');
+    const response = await fetch(`${api.defaults.baseURL}/products/events`, {
+      headers: { Accept: 'text/event-stream', ...(token ? { Authorization: `Bearer ${token}` } : {}) },
+      signal: controller.signal,
+    });
+    if (!response.ok || !response.body) {
+      throw new Error(`Event stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += value;
+      // Events are separated by a blank line; comments (keep-alives) start with ':'
+      let end;
+      while ((end = buffer.indexOf('\n\n')) >= 0) {
+        const lines = buffer.slice(0, end).split('\n');
+        buffer = buffer.slice(end + 2);
+        const event = lines.find(line => line.startsWith('event:'))?.slice(6);
+        const data = lines.filter(line => line.startsWith('data:')).map(line => line.slice(5)).join('\n');
+        if (event === 'product') {
+          onChange(JSON.parse(data));
+        } else if (event === 'resync') {
+          onResync();
+        }
+      }
+    }
+  };
+
+  const run = async () => {
+    let reconnecting = false;
+    while (!controller.signal.aborted) {
+      if (reconnecting) {
+        // Changes made while disconnected were missed
+        onResync();
+      }
+      try {
+        await readStream();
+      } catch (err) {
+        if (controller.signal.aborted) {
+          return;
+        }
+        console.error('Product event stream error:', err);
+        await new Promise(resolve => setTimeout(resolve, 5000));
+      }
+      reconnecting = true;
+    }
+  };
+
+  run();
+  return () => controller.abort();
+};
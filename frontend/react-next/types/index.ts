@@ -1,14 +1,33 @@
 export interface Product {
   sku: string;
   name: string;
+  // In minor units of the currency (cents for USD)
   price: number;
+  currency: string;
   stock: number;
+  reserved: number;
+  availableStock: number;
   enabled: boolean;
+  version: number;
+}
+
+export interface ProductPage {
+  items: Product[];
+  nextPageToken: string | null;
+}
+
+export interface ProductChange {
+  sequence: number;
+  sku: string;
+  deleted: boolean;
+  product: Product | null;
 }
 
 export interface ProductRequest {
   name: string;
+  // In minor units of the currency (cents for USD)
   price: number;
+  currency?: string;
   initialStock?: number;
 }
 
@@ -17,6 +36,14 @@ export interface User {
   roles: string[];
 }
 
+export interface TokenResponse {
+  accessToken: string;
+  tokenType: string;
+  expiresIn: number;
+  username: string;
+  roles: string[];
+}
+
 export type AuthUser = User | null;
 
 export interface AuthState {